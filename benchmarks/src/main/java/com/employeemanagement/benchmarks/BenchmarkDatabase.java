@@ -0,0 +1,198 @@
+package com.employeemanagement.benchmarks;
+
+import com.employeemanagement.config.DatabaseConnection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * In-memory H2 database in MySQL mode standing in for the server, with the tables of setup.sql
+ * (read from the benchmark jar, without the delete triggers, the purge event and the initial rows,
+ * which H2 does not support or the benchmarks do not want) and generated rows.
+ * The application reaches it through its usual DatabaseConnection pool, configured with system properties.
+ */
+public final class BenchmarkDatabase {
+    public static final int YEAR = 2024;
+
+    private static final String SCHEMA_RESOURCE = "/setup.sql"; // packaged from the parent directory
+
+    private static final String[] NOMS = {"Alaoui", "Bennani", "Chraibi", "El Idrissi", "Fassi", "Lahlou", "Tazi", "Berrada"};
+    private static final String[] PRENOMS = {"Amine", "Salma", "Youssef", "Khadija", "Omar", "Imane", "Mehdi", "Nadia"};
+
+    private static boolean started;
+
+    private BenchmarkDatabase() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Creates and fills the database once per JVM (each JMH fork has its own)
+     * @param employees Active employees, each with 12 monthly salaries in {@link #YEAR} and 20 pointages in January
+     */
+    public static synchronized void start(int employees) throws SQLException {
+        if (started) {
+            return;
+        }
+        System.setProperty("db.url", "jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        System.setProperty("db.user", "sa");
+        System.setProperty("db.password", "");
+        System.setProperty("db.pool.minIdle", "1");
+        // H2 refuses the MySQL streaming fetch size (Integer.MIN_VALUE): stream with a positive fetch size
+        System.setProperty("db.useCursorFetch", "true");
+        System.setProperty("db.streamFetchSize", "500");
+        System.setProperty("log.consoleLevel", "WARNING");
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                for (String ddl : readSchema()) {
+                    stmt.execute(ddl);
+                }
+            }
+            conn.setAutoCommit(false);
+            insertServices(conn);
+            insertEmployees(conn, employees);
+            insertSalaries(conn, employees);
+            insertPointages(conn, employees);
+            conn.commit();
+            conn.setAutoCommit(true);
+        }
+        started = true;
+    }
+
+    /**
+     * Generated names only hold letters, as Employe.setNom requires: 0 gives "A", 25 "Z", 26 "Ab"...
+     */
+    public static String letters(int n) {
+        StringBuilder name = new StringBuilder();
+        do {
+            name.append((char) ((name.length() == 0 ? 'A' : 'a') + n % 26));
+            n /= 26;
+        } while (n > 0);
+        return name.toString();
+    }
+
+    /**
+     * @return The table and index statements of setup.sql
+     */
+    private static List<String> readSchema() throws SQLException {
+        String script;
+        try (InputStream in = BenchmarkDatabase.class.getResourceAsStream(SCHEMA_RESOURCE)) {
+            if (in == null) {
+                throw new SQLException("Schéma introuvable: " + SCHEMA_RESOURCE);
+            }
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new SQLException("Lecture impossible du schéma " + SCHEMA_RESOURCE, e);
+        }
+        List<String> statements = new ArrayList<>();
+        StringBuilder statement = new StringBuilder();
+        for (String line : script.split("\\R")) {
+            if (line.trim().startsWith("--")) {
+                continue;
+            }
+            statement.append(line).append('\n');
+            if (line.trim().endsWith(";")) {
+                String sql = statement.toString().trim();
+                statement.setLength(0);
+                sql = sql.substring(0, sql.length() - 1);
+                String upper = sql.toUpperCase(Locale.ROOT);
+                if (upper.startsWith("CREATE TABLE") || upper.startsWith("CREATE INDEX")) {
+                    statements.add(sql);
+                }
+            }
+        }
+        return statements;
+    }
+
+    private static void insertServices(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO service (nom, description) VALUES (?, ?)")) {
+            for (int i = 1; i <= 10; i++) {
+                stmt.setString(1, "Service " + i);
+                stmt.setString(2, "Service de test " + i);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private static void insertEmployees(Connection conn, int count) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO employe (nom, prenom, poste, idService, dateEmbauche, salaireDeBase, cin, cnss, " +
+                        "telephone, email, adresse, statut, typeDeContrat, actif) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'ACTIF', 'CDI', true)")) {
+            for (int i = 1; i <= count; i++) {
+                stmt.setString(1, NOMS[i % NOMS.length] + " " + letters(i));
+                stmt.setString(2, PRENOMS[i % PRENOMS.length]);
+                stmt.setString(3, "Poste " + (i % 20));
+                stmt.setInt(4, 1 + i % 10);
+                stmt.setDate(5, java.sql.Date.valueOf(LocalDate.of(2015, 1, 1).plusDays(i % 3000)));
+                stmt.setDouble(6, 4000 + (i % 50) * 250);
+                stmt.setString(7, "AB" + (100000 + i));
+                stmt.setString(8, String.valueOf(10000000 + i));
+                stmt.setString(9, "06" + (10000000 + i));
+                stmt.setString(10, "employe" + i + "@example.com");
+                stmt.setString(11, i + " rue de Test, Casablanca");
+                stmt.addBatch();
+                if (i % 500 == 0) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private static void insertSalaries(Connection conn, int employees) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO salaire (idEmploye, mois, annee, salaireBrut, deductions, salaireNet, datePaiement) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            int rows = 0;
+            for (int id = 1; id <= employees; id++) {
+                for (int mois = 1; mois <= 12; mois++) {
+                    double brut = 4000 + (id % 50) * 250;
+                    stmt.setInt(1, id);
+                    stmt.setInt(2, mois);
+                    stmt.setInt(3, YEAR);
+                    stmt.setDouble(4, brut);
+                    stmt.setDouble(5, brut * 0.25);
+                    stmt.setDouble(6, brut * 0.75);
+                    stmt.setDate(7, java.sql.Date.valueOf(LocalDate.of(YEAR, mois, 28)));
+                    stmt.addBatch();
+                    if (++rows % 500 == 0) {
+                        stmt.executeBatch();
+                    }
+                }
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private static void insertPointages(Connection conn, int employees) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO pointage (idEmploye, date, heureArrivee, heureDepart) VALUES (?, ?, ?, ?)")) {
+            int rows = 0;
+            for (int id = 1; id <= employees; id++) {
+                for (int day = 1; day <= 20; day++) {
+                    stmt.setInt(1, id);
+                    stmt.setDate(2, java.sql.Date.valueOf(LocalDate.of(YEAR, 1, day)));
+                    stmt.setTime(3, Time.valueOf("08:30:00"));
+                    stmt.setTime(4, Time.valueOf(day % 5 == 0 ? "19:00:00" : "17:30:00"));
+                    stmt.addBatch();
+                    if (++rows % 500 == 0) {
+                        stmt.executeBatch();
+                    }
+                }
+            }
+            stmt.executeBatch();
+        }
+    }
+}
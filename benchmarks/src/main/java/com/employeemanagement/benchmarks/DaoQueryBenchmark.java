@@ -0,0 +1,90 @@
+package com.employeemanagement.benchmarks;
+
+import com.employeemanagement.dao.EmployeDAO;
+import com.employeemanagement.dao.Page;
+import com.employeemanagement.dao.PointageDAO;
+import com.employeemanagement.dao.SalaireDAO;
+import com.employeemanagement.models.Employe;
+import com.employeemanagement.models.Pointage;
+import com.employeemanagement.models.Salaire;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * DAO queries through the application's connection pool and statement cache, against the in-memory
+ * database. Absolute numbers differ from a MySQL server over the network; what matters is their change
+ * between two versions (mapping, SQL shape, pooling overhead).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DaoQueryBenchmark {
+    private static final int EMPLOYEES = 2_000;
+    private static final int PAGE_SIZE = 100;
+
+    private final EmployeDAO employeDAO = new EmployeDAO();
+    private final SalaireDAO salaireDAO = new SalaireDAO();
+    private final PointageDAO pointageDAO = new PointageDAO();
+    private String secondEmployeePage;
+
+    @Setup
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.start(EMPLOYEES);
+        secondEmployeePage = employeDAO.findPage(null, PAGE_SIZE).getNextCursor();
+    }
+
+    @Benchmark
+    public Page<Employe> employeFirstPage() throws SQLException {
+        return employeDAO.findPage(null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<Employe> employeNextPage() throws SQLException {
+        return employeDAO.findPage(secondEmployeePage, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Optional<Employe> employeFindById() throws SQLException {
+        return employeDAO.findById(EMPLOYEES / 2);
+    }
+
+    @Benchmark
+    public long employeStreamAllActive() throws SQLException {
+        try (Stream<Employe> employes = employeDAO.streamAllActive()) {
+            return employes.count();
+        }
+    }
+
+    @Benchmark
+    public Page<Salaire> salaireFirstPage() throws SQLException {
+        return salaireDAO.findPage(null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public long salaireStreamByPeriod() throws SQLException {
+        try (Stream<Salaire> salaires = salaireDAO.streamByPeriod(1, BenchmarkDatabase.YEAR)) {
+            return salaires.count();
+        }
+    }
+
+    @Benchmark
+    public Page<Pointage> pointageFirstPage() throws SQLException {
+        return pointageDAO.findPage(null, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,50 @@
+package com.employeemanagement.benchmarks;
+
+import com.employeemanagement.utils.PasswordUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt hashing (user creation, re-hash at login) and verification (every login) per work factor
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PasswordBenchmark {
+    private static final String PASSWORD = "Motdepasse#2024";
+
+    @Param({"10", "12"})
+    public int cost;
+
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("security.bcryptCost", String.valueOf(cost));
+        hash = PasswordUtil.hashPassword(PASSWORD);
+    }
+
+    @Benchmark
+    public String hashPassword() {
+        return PasswordUtil.hashPassword(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verifyPassword() {
+        return PasswordUtil.verifyPassword(PASSWORD, hash);
+    }
+}
@@ -0,0 +1,120 @@
+package com.employeemanagement.benchmarks;
+
+import com.employeemanagement.models.Employe;
+import com.employeemanagement.models.Salaire;
+import com.employeemanagement.utils.PayslipGenerator;
+import com.employeemanagement.utils.PdfExporter;
+import com.employeemanagement.utils.SalaryCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * PDF generation: one payslip, and the employee list export for several list sizes, from a list
+ * and from a cursor.
+ * Files are written to a temporary directory, so the timings include the disk writes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PdfBenchmark {
+    @Param({"100", "1000"})
+    public int employees;
+
+    private Path directory;
+    private String payslipPath;
+    private String listPath;
+    private Employe employe;
+    private Salaire salaire;
+    private List<Employe> list;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("pdf-benchmark");
+        payslipPath = directory.resolve("fiche.pdf").toString();
+        listPath = directory.resolve("employes.pdf").toString();
+
+        list = new ArrayList<>(employees);
+        for (int i = 1; i <= employees; i++) {
+            list.add(employee(i));
+        }
+        employe = list.get(0);
+        salaire = SalaryCalculator.calculateSalary(new Salaire.Builder()
+                .forEmployee(employe.getIdEmploye(), employe.getFullName())
+                .forPeriod(1, BenchmarkDatabase.YEAR)
+                .withBaseSalary(employe.getSalaireDeBase())
+                .withOvertime(8, SalaryCalculator.getOvertimeHourlyRate(employe.getSalaireDeBase(), 1, BenchmarkDatabase.YEAR))
+                .withBonuses(300, 0)
+                .build());
+        salaire.setDatePaiement(LocalDate.of(BenchmarkDatabase.YEAR, 1, 28));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void generatePayslip() throws Exception {
+        PayslipGenerator.generatePayslip(employe, salaire, payslipPath);
+    }
+
+    @Benchmark
+    public void exportEmployees() throws Exception {
+        PdfExporter.exportEmployees(list, listPath);
+    }
+
+    @Benchmark
+    public void exportEmployeesStreamed() throws Exception {
+        // Rows built on the fly, as a DAO cursor would: only the unflushed table rows are held in memory
+        PdfExporter.exportEmployees(IntStream.rangeClosed(1, employees).mapToObj(PdfBenchmark::employee).iterator(), listPath);
+    }
+
+    private static Employe employee(int id) {
+        Employe e = new Employe();
+        e.setIdEmploye(id);
+        e.setNom("Alaoui " + BenchmarkDatabase.letters(id));
+        e.setPrenom("Amine");
+        e.setPoste("Comptable");
+        e.setServiceId(1 + id % 10);
+        e.setServiceName("Service " + (1 + id % 10));
+        e.setDateEmbauche(LocalDate.of(2015, 1, 1).plusDays(id % 3000));
+        e.setSalaireDeBase(4000 + (id % 50) * 250);
+        e.setCin("AB" + (100000 + id));
+        e.setCnss(String.valueOf(10000000 + id));
+        e.setTelephone("06" + (10000000 + id));
+        e.setEmail("employe" + id + "@example.com");
+        e.setAdresse(id + " rue de Test, Casablanca");
+        e.setStatut("ACTIF");
+        e.setTypeContrat("CDI");
+        e.setActif(true);
+        return e;
+    }
+}
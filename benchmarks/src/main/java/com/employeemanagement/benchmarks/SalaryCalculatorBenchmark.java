@@ -0,0 +1,57 @@
+package com.employeemanagement.benchmarks;
+
+import com.employeemanagement.models.Salaire;
+import com.employeemanagement.utils.Money;
+import com.employeemanagement.utils.SalaryCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Salary computation of one employee, run once per employee by the payroll, and amount formatting
+ * with Money against the String.format it replaced
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SalaryCalculatorBenchmark {
+    private Salaire salaire;
+
+    @Setup
+    public void setUp() {
+        salaire = new Salaire.Builder()
+                .forEmployee(1, "Amine Alaoui")
+                .forPeriod(1, BenchmarkDatabase.YEAR)
+                .withBaseSalary(8500)
+                .withOvertime(12, SalaryCalculator.getOvertimeHourlyRate(8500, 1, BenchmarkDatabase.YEAR))
+                .withBonuses(500, 250)
+                .build();
+    }
+
+    @Benchmark
+    public Salaire calculateSalary() {
+        return SalaryCalculator.calculateSalary(salaire);
+    }
+
+    @Benchmark
+    public String formatMoney() {
+        return Money.format(Money.ofDouble(salaire.getStoredSalaireNet()), Money.MAD);
+    }
+
+    @Benchmark
+    public String formatStringFormat() {
+        return String.format("%,.2f MAD", salaire.getStoredSalaireNet());
+    }
+}
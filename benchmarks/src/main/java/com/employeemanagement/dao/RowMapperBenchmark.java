@@ -0,0 +1,96 @@
+package com.employeemanagement.dao;
+
+import com.employeemanagement.benchmarks.BenchmarkDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per row of the DAO row mappers, on result sets read once from the in-memory database and
+ * scrolled back for each invocation. Uses a plain JDBC connection so that only the mapping is measured.
+ * In the dao package to reach the package-private mappers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RowMapperBenchmark {
+    private static final int ROWS = 1_000;
+
+    private final EmployeDAO employeDAO = new EmployeDAO();
+    private final SalaireDAO salaireDAO = new SalaireDAO();
+    private final PointageDAO pointageDAO = new PointageDAO();
+
+    private Connection conn;
+    private ResultSet employes;
+    private ResultSet salaires;
+    private ResultSet pointages;
+
+    @Setup
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.start(ROWS);
+        conn = DriverManager.getConnection(System.getProperty("db.url"), "sa", "");
+        employes = query("SELECT e.*, s.nom as service_nom FROM employe e " +
+                "LEFT JOIN service s ON e.idService = s.idService LIMIT " + ROWS);
+        salaires = query("SELECT s.*, CONCAT(e.prenom, ' ', e.nom) as employe_nom FROM salaire s " +
+                "JOIN employe e ON s.idEmploye = e.idEmploye LIMIT " + ROWS);
+        pointages = query("SELECT p.*, CONCAT(e.prenom, ' ', e.nom) as employe_nom FROM pointage p " +
+                "JOIN employe e ON p.idEmploye = e.idEmploye LIMIT " + ROWS);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void mapToEmploye(Blackhole blackhole) throws SQLException {
+        employes.beforeFirst();
+        while (employes.next()) {
+            blackhole.consume(employeDAO.mapToEmploye(employes));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void mapToSalaire(Blackhole blackhole) throws SQLException {
+        salaires.beforeFirst();
+        while (salaires.next()) {
+            blackhole.consume(salaireDAO.mapToSalaire(salaires));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void mapToPointage(Blackhole blackhole) throws SQLException {
+        pointages.beforeFirst();
+        while (pointages.next()) {
+            blackhole.consume(pointageDAO.mapToPointage(pointages));
+        }
+    }
+
+    private ResultSet query(String sql) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        return stmt.executeQuery(); // closed with the connection
+    }
+}
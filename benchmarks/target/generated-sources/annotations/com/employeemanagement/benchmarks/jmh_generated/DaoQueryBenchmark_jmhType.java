@@ -0,0 +1,4 @@
+package com.employeemanagement.benchmarks.jmh_generated;
+public class DaoQueryBenchmark_jmhType extends DaoQueryBenchmark_jmhType_B3 {
+}
+
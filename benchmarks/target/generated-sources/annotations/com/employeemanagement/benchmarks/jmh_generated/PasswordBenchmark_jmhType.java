@@ -0,0 +1,4 @@
+package com.employeemanagement.benchmarks.jmh_generated;
+public class PasswordBenchmark_jmhType extends PasswordBenchmark_jmhType_B3 {
+}
+
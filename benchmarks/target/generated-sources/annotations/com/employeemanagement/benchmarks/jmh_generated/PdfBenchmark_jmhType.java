@@ -0,0 +1,4 @@
+package com.employeemanagement.benchmarks.jmh_generated;
+public class PdfBenchmark_jmhType extends PdfBenchmark_jmhType_B3 {
+}
+
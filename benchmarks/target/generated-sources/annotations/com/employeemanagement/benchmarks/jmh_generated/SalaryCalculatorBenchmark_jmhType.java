@@ -0,0 +1,4 @@
+package com.employeemanagement.benchmarks.jmh_generated;
+public class SalaryCalculatorBenchmark_jmhType extends SalaryCalculatorBenchmark_jmhType_B3 {
+}
+
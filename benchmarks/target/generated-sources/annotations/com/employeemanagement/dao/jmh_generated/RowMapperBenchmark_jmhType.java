@@ -0,0 +1,4 @@
+package com.employeemanagement.dao.jmh_generated;
+public class RowMapperBenchmark_jmhType extends RowMapperBenchmark_jmhType_B3 {
+}
+
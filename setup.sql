@@ -5,6 +5,8 @@ USE employee_management;
 -- Drop existing tables if they exist (in correct order)
 SET FOREIGN_KEY_CHECKS = 0;
 DROP TABLE IF EXISTS password_reset_tokens;
+DROP TABLE IF EXISTS paie_execution;
+DROP TABLE IF EXISTS suppression;
 DROP TABLE IF EXISTS pointage;
 DROP TABLE IF EXISTS salaire;
 DROP TABLE IF EXISTS utilisateur;
@@ -16,7 +18,10 @@ SET FOREIGN_KEY_CHECKS = 1;
 CREATE TABLE service (
     idService INT PRIMARY KEY AUTO_INCREMENT,
     nom VARCHAR(100) NOT NULL,
-    description TEXT
+    description TEXT,
+    dateModification TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    KEY idx_service_nom (nom, idService),
+    KEY idx_service_modification (dateModification)
 );
 
 CREATE TABLE employe (
@@ -35,6 +40,9 @@ CREATE TABLE employe (
     adresse VARCHAR(255),
     statut VARCHAR(255),
     typeDeContrat VARCHAR(255),
+    dateModification TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    KEY idx_employe_statut_nom (statut, nom, prenom, idEmploye),
+    KEY idx_employe_modification (dateModification),
     FOREIGN KEY (idService) REFERENCES service(idService)
 );
 
@@ -44,6 +52,8 @@ CREATE TABLE utilisateur (
     motDePasse VARCHAR(255) NOT NULL,
     role VARCHAR(20) NOT NULL,
     idEmploye INT,
+    dateModification TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    KEY idx_utilisateur_modification (dateModification),
     FOREIGN KEY (idEmploye) REFERENCES employe(idEmploye)
 );
 
@@ -56,6 +66,10 @@ CREATE TABLE salaire (
     deductions DECIMAL(10,2) NOT NULL,
     salaireNet DECIMAL(10,2) NOT NULL,
     datePaiement DATE NOT NULL,
+    dateModification TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    UNIQUE KEY uk_salaire_employe_periode (idEmploye, annee, mois),
+    KEY idx_salaire_periode (annee, mois, idSalaire),
+    KEY idx_salaire_modification (dateModification),
     FOREIGN KEY (idEmploye) REFERENCES employe(idEmploye)
 );
 
@@ -65,9 +79,53 @@ CREATE TABLE pointage (
     date DATE NOT NULL,
     heureArrivee TIME NOT NULL,
     heureDepart TIME,
+    dateModification TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    UNIQUE KEY uk_pointage_employe_date (idEmploye, date),
+    KEY idx_pointage_date (date, idPointage),
+    KEY idx_pointage_modification (dateModification),
     FOREIGN KEY (idEmploye) REFERENCES employe(idEmploye)
 );
 
+-- Payroll run journal: a run interrupted before TERMINEE is resumed after dernierEmploye (see PayrollRunner)
+CREATE TABLE paie_execution (
+    idExecution INT PRIMARY KEY AUTO_INCREMENT,
+    mois INT NOT NULL,
+    annee INT NOT NULL,
+    statut VARCHAR(20) NOT NULL,
+    dernierEmploye INT NOT NULL DEFAULT 0,
+    traites INT NOT NULL DEFAULT 0,
+    echecs INT NOT NULL DEFAULT 0,
+    dateDebut TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    dateModification TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    dateFin TIMESTAMP(3) NULL,
+    KEY idx_paie_execution_periode (annee, mois, idExecution)
+);
+
+-- Deleted rows, so that tables can be refreshed with the changes only (see DAO findChangesSince)
+CREATE TABLE suppression (
+    idSuppression BIGINT PRIMARY KEY AUTO_INCREMENT,
+    nomTable VARCHAR(30) NOT NULL,
+    idLigne INT NOT NULL,
+    dateSuppression TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    KEY idx_suppression_table_date (nomTable, dateSuppression)
+);
+
+CREATE TRIGGER trg_service_suppression AFTER DELETE ON service
+    FOR EACH ROW INSERT INTO suppression (nomTable, idLigne) VALUES ('service', OLD.idService);
+CREATE TRIGGER trg_employe_suppression AFTER DELETE ON employe
+    FOR EACH ROW INSERT INTO suppression (nomTable, idLigne) VALUES ('employe', OLD.idEmploye);
+CREATE TRIGGER trg_utilisateur_suppression AFTER DELETE ON utilisateur
+    FOR EACH ROW INSERT INTO suppression (nomTable, idLigne) VALUES ('utilisateur', OLD.idUtilisateur);
+CREATE TRIGGER trg_salaire_suppression AFTER DELETE ON salaire
+    FOR EACH ROW INSERT INTO suppression (nomTable, idLigne) VALUES ('salaire', OLD.idSalaire);
+CREATE TRIGGER trg_pointage_suppression AFTER DELETE ON pointage
+    FOR EACH ROW INSERT INTO suppression (nomTable, idLigne) VALUES ('pointage', OLD.idPointage);
+
+-- Keep deletions for db.changeRetentionDays (7): older refreshes reload the whole table
+DROP EVENT IF EXISTS evt_purge_suppression;
+CREATE EVENT evt_purge_suppression ON SCHEDULE EVERY 1 DAY
+    DO DELETE FROM suppression WHERE dateSuppression < NOW(3) - INTERVAL 7 DAY;
+
 -- Insert initial data
 INSERT INTO service (nom, description) 
 VALUES ('Administration', 'Service administratif principal');
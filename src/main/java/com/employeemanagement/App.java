@@ -1,10 +1,14 @@
 package com.employeemanagement;
 
+import com.employeemanagement.config.AppConfig;
 import com.employeemanagement.config.DatabaseConnection;
 import com.employeemanagement.models.Utilisateur;
 import com.employeemanagement.views.dialogs.LoginDialog;
 import com.employeemanagement.views.MainWindow;
 import com.employeemanagement.utils.AppLogger;
+import com.employeemanagement.utils.BackgroundTasks;
+import com.employeemanagement.utils.MetricsExporter;
+import com.employeemanagement.utils.PasswordUtil;
 import com.employeemanagement.utils.UIStyleManager;
 
 import javax.swing.*;
@@ -27,18 +31,25 @@ public final class App {
         // System.out.println("BCrypt hash for 'abdo1234': " + com.employeemanagement.utils.PasswordUtil.hashPassword("abdo1234")); // Commented out temporary line
 
         configureEnvironment();
+        calibratePasswordHashing();
         showLoginAndLaunchApp();
     }
 
     private static void configureEnvironment() {
         // Add these system properties early
-        System.setProperty("java.util.logging.SimpleFormatter.format",
-                "[%1$tF %1$tT] [%4$-7s] %5$s %n");
         System.setProperty("sun.java2d.uiScale", "1.0"); // Fix HiDPI scaling
 
         configureLookAndFeel();
         configureGlobalExceptionHandling();
         createLogsDirectory();
+        // Return pooled connections to the server when the JVM exits (EXIT_ON_CLOSE, System.exit...)
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            MetricsExporter.stop();
+            BackgroundTasks.shutdown();
+            DatabaseConnection.shutdown();
+            AppLogger.shutdown(); // last, so that the events above are written
+        }, "db-shutdown"));
+        MetricsExporter.start();
         logger.log(Level.INFO, String.format(
                 "Environnement initialisé - Java %s (%s) | Mémoire max: %d MB",
                 System.getProperty("java.version"),
@@ -110,6 +121,16 @@ public final class App {
         });
     }
 
+    /**
+     * Times BCrypt in the background while the login dialog opens, unless the work factor is configured
+     */
+    private static void calibratePasswordHashing() {
+        if (AppConfig.getInt("security.bcryptCost", 0) <= 0) {
+            BackgroundTasks.getInstance().submit(null, PasswordUtil::calibrateWorkload, workload -> { },
+                    e -> logger.log(Level.WARNING, "Calibration BCrypt impossible", e));
+        }
+    }
+
     private static void showLoginAndLaunchApp() {
         EventQueue.invokeLater(() -> {
             int attempts = 0;
@@ -160,6 +181,7 @@ public final class App {
     private static void shutdown() {
         try {
             // Clean up resources
+            BackgroundTasks.shutdown();
             DatabaseConnection.shutdown();
             logger.log(Level.INFO, "Application fermée proprement");
         } catch (Exception e) {
@@ -0,0 +1,176 @@
+package com.employeemanagement.config;
+
+import com.employeemanagement.utils.AppLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Application configuration.
+ * Values are looked up, by decreasing priority, in system properties (-Ddb.pool.maxSize=20),
+ * environment variables (DB_POOL_MAXSIZE=20), an external properties file and finally the
+ * application.properties bundled in the jar.
+ * The external file is re-read when it changes and registered listeners are notified,
+ * so performance settings can be tuned without restarting.
+ */
+public final class AppConfig {
+    private static final String BUNDLED_RESOURCE = "/application.properties";
+    private static final String EXTERNAL_FILE_PROPERTY = "app.config"; // -Dapp.config=/path/to/file.properties
+    private static final String DEFAULT_EXTERNAL_FILE = "application.properties"; // in the working directory
+
+    private static final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private static volatile Properties properties = load();
+    private static long externalLastModified = externalLastModified();
+    private static ScheduledExecutorService watcher;
+
+    private AppConfig() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static String get(String key) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = System.getenv(toEnvName(key));
+        }
+        if (value == null) {
+            value = properties.getProperty(key);
+        }
+        return value != null ? value.trim() : null;
+    }
+
+    public static String get(String key, String defaultValue) {
+        String value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            AppLogger.getInstance().log(Level.WARNING,
+                    String.format("Valeur entière invalide pour %s: '%s', utilisation de %d", key, value, defaultValue));
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            AppLogger.getInstance().log(Level.WARNING,
+                    String.format("Valeur entière invalide pour %s: '%s', utilisation de %d", key, value, defaultValue));
+            return defaultValue;
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key);
+        return value == null || value.isEmpty() ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Registers a callback run after each reload. Callbacks should re-read the keys they use.
+     */
+    public static void addReloadListener(Runnable listener) {
+        listeners.add(listener);
+        startWatching();
+    }
+
+    /**
+     * Re-reads the configuration files and notifies listeners
+     */
+    public static void reload() {
+        properties = load();
+        AppLogger.getInstance().log(Level.INFO, "Configuration rechargée");
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                AppLogger.getInstance().log(Level.WARNING, "Erreur lors de l'application de la configuration", e);
+            }
+        }
+    }
+
+    private static synchronized void startWatching() {
+        if (watcher != null) {
+            return;
+        }
+        long interval = Math.max(1, getLong("config.reloadIntervalSeconds", 10));
+        watcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "config-watcher");
+            t.setDaemon(true);
+            return t;
+        });
+        watcher.scheduleWithFixedDelay(AppConfig::checkForChanges, interval, interval, TimeUnit.SECONDS);
+    }
+
+    private static void checkForChanges() {
+        long lastModified = externalLastModified();
+        synchronized (AppConfig.class) {
+            if (lastModified == externalLastModified) {
+                return;
+            }
+            externalLastModified = lastModified;
+        }
+        reload();
+    }
+
+    private static Properties load() {
+        Properties merged = new Properties();
+        try (InputStream in = AppConfig.class.getResourceAsStream(BUNDLED_RESOURCE)) {
+            if (in != null) {
+                merged.load(in);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read bundled configuration: " + e.getMessage());
+        }
+
+        Path external = externalFile();
+        if (Files.isRegularFile(external)) {
+            try (Reader reader = Files.newBufferedReader(external, StandardCharsets.UTF_8)) {
+                merged.load(reader);
+            } catch (IOException e) {
+                System.err.println("Failed to read configuration file " + external + ": " + e.getMessage());
+            }
+        }
+        return merged;
+    }
+
+    private static Path externalFile() {
+        return Paths.get(System.getProperty(EXTERNAL_FILE_PROPERTY, DEFAULT_EXTERNAL_FILE));
+    }
+
+    private static long externalLastModified() {
+        try {
+            Path external = externalFile();
+            return Files.isRegularFile(external) ? Files.getLastModifiedTime(external).toMillis() : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static String toEnvName(String key) {
+        return key.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_');
+    }
+}
@@ -0,0 +1,513 @@
+package com.employeemanagement.config;
+
+import com.employeemanagement.utils.AppLogger;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+
+/**
+ * Bounded JDBC connection pool.
+ * Borrowed connections are handed out behind a proxy whose close() gives the
+ * physical connection back to the pool, so DAOs keep using try-with-resources.
+ */
+public final class ConnectionPool {
+    private final String url;
+    private final Properties driverProperties;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<PooledConnection> idle = new ArrayDeque<>(); // most recently used first
+    private final ScheduledExecutorService housekeeper;
+
+    // Sizing and timeouts, guarded by lock
+    private int minIdle;
+    private int maxSize;
+    private long connectionTimeoutMs;
+    private long idleTimeoutMs;
+    private long validateAfterMs;
+    private int validationTimeoutSeconds;
+    private volatile int statementCacheSize;
+
+    private int total; // physical connections, idle + active + being created
+    private int active;
+    private boolean closed;
+
+    // Metrics
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong waitCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+
+    public ConnectionPool(String url, Properties driverProperties, int minIdle, int maxSize,
+                          long connectionTimeoutMs, long idleTimeoutMs,
+                          long validateAfterMs, int validationTimeoutSeconds) {
+        this.url = url;
+        this.driverProperties = driverProperties;
+        resize(minIdle, maxSize);
+        setTimeouts(connectionTimeoutMs, idleTimeoutMs, validateAfterMs, validationTimeoutSeconds);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, 0, 30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Borrows a connection, waiting up to the connection timeout when the pool is exhausted
+     * @return A connection whose close() returns it to the pool
+     * @throws SQLException if no connection could be obtained in time or the database is unreachable
+     */
+    public Connection borrow() throws SQLException {
+        long start = System.nanoTime();
+        PooledConnection pooled = null;
+        boolean mustCreate = false;
+        boolean waited = false;
+
+        lock.lock();
+        try {
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(connectionTimeoutMs);
+            while (true) {
+                if (closed) {
+                    throw new SQLException("Le pool de connexions est fermé");
+                }
+                pooled = idle.pollFirst();
+                if (pooled != null) {
+                    break;
+                }
+                if (total < maxSize) {
+                    total++;
+                    mustCreate = true;
+                    break;
+                }
+                if (remainingNanos <= 0L) {
+                    timeoutCount.incrementAndGet();
+                    throw new SQLTransientConnectionException(String.format(
+                            "Aucune connexion disponible après %d ms (actives: %d, max: %d)",
+                            connectionTimeoutMs, active, maxSize));
+                }
+                waited = true;
+                remainingNanos = available.awaitNanos(remainingNanos);
+            }
+            active++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompu en attente d'une connexion", e);
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            if (mustCreate) {
+                pooled = create();
+            } else if (!isUsable(pooled)) {
+                discard(pooled); // the replacement reuses the stale connection's slot
+                pooled = create();
+            }
+        } catch (SQLException | RuntimeException e) {
+            lock.lock();
+            try {
+                active--;
+                total--;
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        recordWait(System.nanoTime() - start, waited);
+        borrowCount.incrementAndGet();
+        return pooled.lease();
+    }
+
+    /**
+     * Changes pool bounds at runtime. Surplus connections are closed as they come back.
+     */
+    public void resize(int newMinIdle, int newMaxSize) {
+        if (newMaxSize < 1 || newMinIdle < 0 || newMinIdle > newMaxSize) {
+            throw new IllegalArgumentException(String.format(
+                    "Taille de pool invalide (minIdle=%d, maxSize=%d)", newMinIdle, newMaxSize));
+        }
+        lock.lock();
+        try {
+            this.minIdle = newMinIdle;
+            this.maxSize = newMaxSize;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void setTimeouts(long newConnectionTimeoutMs, long newIdleTimeoutMs,
+                            long newValidateAfterMs, int newValidationTimeoutSeconds) {
+        lock.lock();
+        try {
+            this.connectionTimeoutMs = newConnectionTimeoutMs;
+            this.idleTimeoutMs = newIdleTimeoutMs;
+            this.validateAfterMs = newValidateAfterMs;
+            this.validationTimeoutSeconds = newValidationTimeoutSeconds;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sets how many prepared statements each connection keeps open, 0 disables the cache
+     */
+    public void setStatementCacheSize(int size) {
+        this.statementCacheSize = Math.max(0, size);
+    }
+
+    /**
+     * Returns a snapshot of the pool state and counters
+     */
+    public Stats getStats() {
+        lock.lock();
+        try {
+            return new Stats(active, idle.size(), total, maxSize,
+                    borrowCount.get(), waitCount.get(), totalWaitNanos.get(), maxWaitNanos.get(),
+                    timeoutCount.get(), createdCount.get(), destroyedCount.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes idle connections and refuses new borrows. Active connections are closed when returned.
+     */
+    public void close() {
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        housekeeper.shutdownNow();
+        toClose.forEach(this::destroy);
+    }
+
+    private PooledConnection create() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, driverProperties);
+        createdCount.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        long idleFor = System.currentTimeMillis() - pooled.lastUsed;
+        if (idleFor < validateAfterMs) {
+            return true; // recently used, skip the round trip
+        }
+        try {
+            return pooled.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(PooledConnection pooled) {
+        boolean healthy = reset(pooled);
+        pooled.lastUsed = System.currentTimeMillis();
+
+        boolean keep;
+        lock.lock();
+        try {
+            active--;
+            keep = healthy && !closed && total <= maxSize;
+            if (keep) {
+                idle.addFirst(pooled);
+            }
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (!keep) {
+            destroy(pooled);
+        }
+    }
+
+    private boolean reset(PooledConnection pooled) {
+        try {
+            Connection physical = pooled.physical;
+            if (physical.isClosed()) {
+                return false;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback(); // never leak an open transaction to the next borrower
+                physical.setAutoCommit(true);
+            }
+            if (physical.isReadOnly()) {
+                physical.setReadOnly(false);
+            }
+            physical.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            AppLogger.getInstance().log(Level.WARNING, "Connexion écartée du pool: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Closes the physical connection and frees its slot. The caller must not hold the lock.
+     */
+    private void destroy(PooledConnection pooled) {
+        lock.lock();
+        try {
+            total--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+        discard(pooled);
+    }
+
+    /**
+     * Closes the physical connection without touching the pool accounting
+     */
+    private void discard(PooledConnection pooled) {
+        destroyedCount.incrementAndGet();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            // Connection already broken, nothing left to release
+        }
+    }
+
+    /**
+     * Evicts connections idle for longer than the idle timeout and tops the pool back up to minIdle
+     */
+    private void housekeep() {
+        List<PooledConnection> evicted = new ArrayList<>();
+        int missing;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            Iterator<PooledConnection> oldestFirst = idle.descendingIterator();
+            while (oldestFirst.hasNext() && total - evicted.size() > minIdle) {
+                PooledConnection pooled = oldestFirst.next();
+                if (now - pooled.lastUsed < idleTimeoutMs) {
+                    break;
+                }
+                oldestFirst.remove();
+                evicted.add(pooled);
+            }
+            missing = Math.max(0, Math.min(minIdle - idle.size(), maxSize - (total - evicted.size())));
+            total += missing;
+        } finally {
+            lock.unlock();
+        }
+        evicted.forEach(this::destroy);
+
+        for (int i = 0; i < missing; i++) {
+            try {
+                PooledConnection pooled = create();
+                lock.lock();
+                try {
+                    idle.addLast(pooled);
+                    available.signal();
+                } finally {
+                    lock.unlock();
+                }
+            } catch (SQLException e) {
+                lock.lock();
+                try {
+                    total -= missing - i;
+                } finally {
+                    lock.unlock();
+                }
+                AppLogger.getInstance().log(Level.WARNING,
+                        "Impossible de préouvrir une connexion: {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void recordWait(long nanos, boolean waited) {
+        if (waited) {
+            waitCount.incrementAndGet();
+        }
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * A physical connection owned by the pool
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private final StatementCache statements;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statements = new StatementCache(physical);
+        }
+
+        /**
+         * Wraps the physical connection in a single-use handle for one borrower
+         */
+        private Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new LeaseHandler(this));
+        }
+    }
+
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean released;
+
+        private LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return released || pooled.physical.isClosed();
+                case "prepareStatement":
+                    PreparedStatement prepared;
+                    if (!released && isCacheable(method)) {
+                        int autoGeneratedKeys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                        prepared = pooled.statements.prepare((Connection) proxy, (String) args[0],
+                                autoGeneratedKeys, statementCacheSize);
+                    } else {
+                        prepared = (PreparedStatement) delegate(method, args);
+                    }
+                    return TimedStatement.isEnabled()
+                            ? TimedStatement.wrap(prepared, PreparedStatement.class, (String) args[0]) : prepared;
+                case "createStatement":
+                    Statement created = (Statement) delegate(method, args);
+                    return TimedStatement.isEnabled() ? TimedStatement.wrap(created, Statement.class, null) : created;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    return delegate(method, args);
+            }
+        }
+
+        private Object delegate(Method method, Object[] args) throws Throwable {
+            if (released) {
+                throw new SQLException("Connexion déjà rendue au pool");
+            }
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * Only prepareStatement(sql) and prepareStatement(sql, autoGeneratedKeys) go through the cache;
+         * statements with custom cursor types (streaming) are prepared directly
+         */
+        private boolean isCacheable(Method method) {
+            Class<?>[] types = method.getParameterTypes();
+            return types.length == 1 || (types.length == 2 && types[1] == int.class);
+        }
+    }
+
+    /**
+     * Immutable snapshot of pool metrics
+     */
+    public static final class Stats {
+        private final int active;
+        private final int idle;
+        private final int total;
+        private final int maxSize;
+        private final long borrowCount;
+        private final long waitCount;
+        private final long totalWaitNanos;
+        private final long maxWaitNanos;
+        private final long timeoutCount;
+        private final long createdCount;
+        private final long destroyedCount;
+
+        private Stats(int active, int idle, int total, int maxSize, long borrowCount, long waitCount,
+                      long totalWaitNanos, long maxWaitNanos, long timeoutCount,
+                      long createdCount, long destroyedCount) {
+            this.active = active;
+            this.idle = idle;
+            this.total = total;
+            this.maxSize = maxSize;
+            this.borrowCount = borrowCount;
+            this.waitCount = waitCount;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.timeoutCount = timeoutCount;
+            this.createdCount = createdCount;
+            this.destroyedCount = destroyedCount;
+        }
+
+        public int getActive() { return active; }
+        public int getIdle() { return idle; }
+        public int getTotal() { return total; }
+        public int getMaxSize() { return maxSize; }
+        public long getBorrowCount() { return borrowCount; }
+        public long getWaitCount() { return waitCount; }
+        public long getTimeoutCount() { return timeoutCount; }
+        public long getCreatedCount() { return createdCount; }
+        public long getDestroyedCount() { return destroyedCount; }
+
+        public double getAverageWaitMillis() {
+            return borrowCount == 0 ? 0 : totalWaitNanos / 1_000_000.0 / borrowCount;
+        }
+
+        public double getMaxWaitMillis() {
+            return maxWaitNanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "Pool [actives=%d, inactives=%d, total=%d/%d, emprunts=%d, attentes=%d, " +
+                            "attente moy=%.2f ms, attente max=%.2f ms, timeouts=%d, créées=%d, fermées=%d]",
+                    active, idle, total, maxSize, borrowCount, waitCount,
+                    getAverageWaitMillis(), getMaxWaitMillis(), timeoutCount, createdCount, destroyedCount);
+        }
+    }
+}
@@ -1,56 +1,125 @@
 package com.employeemanagement.config;
 
+import com.employeemanagement.utils.AppLogger;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Properties;
+import java.util.logging.Level;
 
 /**
  * Manages database connections with connection pooling and proper resource handling.
- * Implements auto-reconnect and connection validation.
+ * Connections are borrowed from a bounded {@link ConnectionPool}; closing them returns them to the pool.
+ * Datasource and pool settings come from {@link AppConfig}; pool settings are applied again on reload.
  */
 public final class DatabaseConnection {
-    // Configuration - should ideally come from external config
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/employee_management";
-    private static final String USER = "root";
-    private static final String PASSWORD = "abdo1234";
-    private static Connection connection;
+    private static final String DEFAULT_DB_URL = "jdbc:mysql://localhost:3306/employee_management";
+
+    private static ConnectionPool pool;
 
     private DatabaseConnection() {
         // Private constructor to prevent instantiation
     }
 
     /**
-     * Gets a validated database connection with retry logic
-     * @return Connection object
+     * Borrows a validated database connection from the pool
+     * @return Connection object, to be closed by the caller to give it back
      * @throws SQLException if connection cannot be established
      */
     public static Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            System.out.println("Attempting to establish new database connection...");
+        return getPool().borrow();
+    }
+
+    /**
+     * Returns current pool metrics (active, idle, wait time...)
+     */
+    public static ConnectionPool.Stats getPoolStats() {
+        return getPool().getStats();
+    }
+
+    /**
+     * Returns prepared statement cache counters (hits, misses, evictions)
+     */
+    public static String getStatementCacheStats() {
+        return StatementCache.describe();
+    }
+
+    /**
+     * @return Pool metrics, or null when no connection was requested yet (does not start the pool)
+     */
+    static synchronized ConnectionPool.Stats currentPoolStats() {
+        return pool == null ? null : pool.getStats();
+    }
+
+    private static synchronized ConnectionPool getPool() {
+        if (pool == null) {
             Properties props = new Properties();
-            props.setProperty("user", USER);
-            props.setProperty("password", PASSWORD);
-            props.setProperty("useSSL", "false");
+            props.setProperty("user", AppConfig.get("db.user", "root"));
+            props.setProperty("password", AppConfig.get("db.password", ""));
+            props.setProperty("useSSL", AppConfig.get("db.useSSL", "false"));
             props.setProperty("allowPublicKeyRetrieval", "true");
-            
-            connection = DriverManager.getConnection(DB_URL, props);
-            System.out.println("Database connection established successfully.");
+            props.setProperty("tcpKeepAlive", "true");
+            // Server-side prepared statements, with the driver caching the ones we close
+            props.setProperty("useServerPrepStmts", AppConfig.get("db.useServerPrepStmts", "true"));
+            props.setProperty("cachePrepStmts", AppConfig.get("db.cachePrepStmts", "true"));
+            props.setProperty("prepStmtCacheSize", AppConfig.get("db.prepStmtCacheSize", "250"));
+            props.setProperty("prepStmtCacheSqlLimit", AppConfig.get("db.prepStmtCacheSqlLimit", "2048"));
+            // Server cursors for streamed queries read db.streamFetchSize rows at a time (see ResultStreams)
+            props.setProperty("useCursorFetch", AppConfig.get("db.useCursorFetch", "false"));
+            // Let the driver collapse JDBC batches into multi-row INSERT statements
+            props.setProperty("rewriteBatchedStatements", AppConfig.get("db.rewriteBatchedStatements", "true"));
+
+            pool = new ConnectionPool(AppConfig.get("db.url", DEFAULT_DB_URL), props,
+                    AppConfig.getInt("db.pool.minIdle", 2),
+                    AppConfig.getInt("db.pool.maxSize", 10),
+                    AppConfig.getLong("db.pool.connectionTimeoutMs", 10_000),
+                    AppConfig.getLong("db.pool.idleTimeoutMs", 300_000),
+                    AppConfig.getLong("db.pool.validateAfterMs", 30_000),
+                    AppConfig.getInt("db.pool.validationTimeoutSeconds", 2));
+            pool.setStatementCacheSize(AppConfig.getInt("db.statementCache.size", 64));
+            configureQueryMetrics();
+            AppConfig.addReloadListener(DatabaseConnection::applyPoolSettings);
+            AppLogger.getInstance().log(Level.INFO, "Pool de connexions initialisé - " + pool.getStats());
+        }
+        return pool;
+    }
+
+    /**
+     * Re-applies the reloadable pool settings. The URL and credentials require a restart.
+     */
+    private static synchronized void applyPoolSettings() {
+        if (pool == null) {
+            return;
         }
-        return connection;
+        try {
+            pool.resize(AppConfig.getInt("db.pool.minIdle", 2), AppConfig.getInt("db.pool.maxSize", 10));
+        } catch (IllegalArgumentException e) {
+            AppLogger.getInstance().log(Level.WARNING, "Taille de pool ignorée: " + e.getMessage());
+        }
+        pool.setTimeouts(AppConfig.getLong("db.pool.connectionTimeoutMs", 10_000),
+                AppConfig.getLong("db.pool.idleTimeoutMs", 300_000),
+                AppConfig.getLong("db.pool.validateAfterMs", 30_000),
+                AppConfig.getInt("db.pool.validationTimeoutSeconds", 2));
+        pool.setStatementCacheSize(AppConfig.getInt("db.statementCache.size", 64));
+        configureQueryMetrics();
+        AppLogger.getInstance().log(Level.INFO, "Paramètres du pool appliqués - " + pool.getStats());
+    }
+
+    private static void configureQueryMetrics() {
+        TimedStatement.configure(AppConfig.getBoolean("db.metrics.enabled", true),
+                AppConfig.getLong("db.slowQueryMillis", 500));
     }
 
     /**
      * Closes all resources (for application shutdown)
      */
-    public static void shutdown() {
-        if (connection != null) {
-            try {
-                connection.close();
-                System.out.println("Database connection closed.");
-            } catch (SQLException e) {
-                System.err.println("Error closing database connection: " + e.getMessage());
-            }
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            AppLogger.getInstance().log(Level.INFO, "Fermeture du pool de connexions - " + pool.getStats()
+                    + " - " + StatementCache.describe());
+            AppLogger.getInstance().log(Level.INFO, QueryMetrics.describe());
+            pool.close();
+            pool = null;
         }
     }
-}
\ No newline at end of file
+}
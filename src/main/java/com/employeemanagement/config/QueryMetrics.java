@@ -0,0 +1,272 @@
+package com.employeemanagement.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution metrics of the SQL statements, grouped by the DAO method that ran them
+ * (e.g. EmployeDAO.findPage). Recorded by {@link TimedStatement} for every statement prepared
+ * on a pooled connection; statements over db.slowQueryMillis are also written to the log
+ * with their SQL and parameters.
+ * <p>
+ * Latencies go into fixed buckets, from which percentiles are estimated and which are exported
+ * as-is in the Prometheus text format.
+ */
+public final class QueryMetrics {
+    /** Upper bounds of the latency buckets, in microseconds; the last bucket is unbounded */
+    private static final long[] BUCKET_BOUNDS_MICROS = {
+            250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000,
+            250_000, 500_000, 1_000_000, 2_500_000, 5_000_000, 10_000_000
+    };
+
+    private static final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    private QueryMetrics() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Metrics of one DAO method, created on first use
+     */
+    static Operation operation(String dao, String method) {
+        return operations.computeIfAbsent(dao + "." + method, key -> new Operation(dao, method));
+    }
+
+    /**
+     * @return Current metrics of every DAO method that ran a statement, sorted by name
+     */
+    public static List<Snapshot> snapshot() {
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (Operation operation : operations.values()) {
+            snapshots.add(operation.snapshot());
+        }
+        snapshots.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return snapshots;
+    }
+
+    /**
+     * Clears all counters
+     */
+    public static void reset() {
+        operations.clear();
+    }
+
+    /**
+     * @return One line per DAO method, slowest p95 first, for the log
+     */
+    public static String describe() {
+        List<Snapshot> snapshots = snapshot();
+        snapshots.sort((a, b) -> Double.compare(b.getP95Millis(), a.getP95Millis()));
+        StringBuilder text = new StringBuilder("Requêtes par méthode DAO:");
+        for (Snapshot s : snapshots) {
+            text.append(System.lineSeparator()).append("  ").append(s);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Writes the query metrics and the connection pool gauges in the Prometheus text format
+     */
+    public static void writePrometheus(StringBuilder out) {
+        out.append("# HELP employee_db_query_duration_seconds Durée d'exécution des requêtes par méthode DAO\n");
+        out.append("# TYPE employee_db_query_duration_seconds histogram\n");
+        List<Snapshot> snapshots = snapshot();
+        for (Snapshot s : snapshots) {
+            String labels = "dao=\"" + s.dao + "\",method=\"" + s.method + "\"";
+            long cumulative = 0;
+            for (int i = 0; i < s.buckets.length; i++) {
+                cumulative += s.buckets[i];
+                String le = i < BUCKET_BOUNDS_MICROS.length ? seconds(BUCKET_BOUNDS_MICROS[i] * 1_000) : "+Inf";
+                out.append("employee_db_query_duration_seconds_bucket{").append(labels)
+                        .append(",le=\"").append(le).append("\"} ").append(cumulative).append('\n');
+            }
+            out.append("employee_db_query_duration_seconds_sum{").append(labels).append("} ")
+                    .append(seconds(s.totalNanos)).append('\n');
+            out.append("employee_db_query_duration_seconds_count{").append(labels).append("} ")
+                    .append(s.calls).append('\n');
+        }
+        counter(out, "employee_db_query_rows_total", "Lignes lues ou modifiées par méthode DAO", snapshots, CounterValue.ROWS);
+        counter(out, "employee_db_query_errors_total", "Requêtes en erreur par méthode DAO", snapshots, CounterValue.ERRORS);
+        counter(out, "employee_db_query_slow_total", "Requêtes au-delà de db.slowQueryMillis", snapshots, CounterValue.SLOW);
+
+        ConnectionPool.Stats pool = DatabaseConnection.currentPoolStats();
+        if (pool != null) {
+            gauge(out, "employee_db_pool_active", "Connexions empruntées", pool.getActive());
+            gauge(out, "employee_db_pool_idle", "Connexions disponibles", pool.getIdle());
+            gauge(out, "employee_db_pool_max", "Taille maximale du pool", pool.getMaxSize());
+            gauge(out, "employee_db_pool_borrows_total", "Emprunts de connexion", pool.getBorrowCount());
+            gauge(out, "employee_db_pool_timeouts_total", "Emprunts expirés", pool.getTimeoutCount());
+        }
+        gauge(out, "employee_db_statement_cache_hits_total", "Requêtes préparées réutilisées", StatementCache.getHitCount());
+        gauge(out, "employee_db_statement_cache_misses_total", "Requêtes préparées créées", StatementCache.getMissCount());
+    }
+
+    private enum CounterValue { ROWS, ERRORS, SLOW }
+
+    private static void counter(StringBuilder out, String name, String help, List<Snapshot> snapshots, CounterValue value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        for (Snapshot s : snapshots) {
+            long v = value == CounterValue.ROWS ? s.rows : value == CounterValue.ERRORS ? s.errors : s.slow;
+            out.append(name).append("{dao=\"").append(s.dao).append("\",method=\"").append(s.method)
+                    .append("\"} ").append(v).append('\n');
+        }
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, long value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(name.endsWith("_total") ? " counter\n" : " gauge\n");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.6f", nanos / 1e9);
+    }
+
+    /**
+     * Counters of one DAO method
+     */
+    static final class Operation {
+        private final String dao;
+        private final String method;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder slow = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MICROS.length + 1];
+
+        private Operation(String dao, String method) {
+            this.dao = dao;
+            this.method = method;
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        String getName() {
+            return dao + "." + method;
+        }
+
+        void record(long nanos, boolean failed) {
+            calls.increment();
+            if (failed) {
+                errors.increment();
+            }
+            totalNanos.add(nanos);
+            if (nanos > maxNanos.get()) {
+                maxNanos.accumulateAndGet(nanos, Math::max);
+            }
+            long micros = nanos / 1_000;
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MICROS.length && micros > BUCKET_BOUNDS_MICROS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+        }
+
+        void addRows(long count) {
+            rows.add(count);
+        }
+
+        void slow() {
+            slow.increment();
+        }
+
+        private Snapshot snapshot() {
+            long[] counts = new long[buckets.length];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets[i].sum();
+            }
+            return new Snapshot(dao, method, calls.sum(), errors.sum(), rows.sum(), slow.sum(),
+                    totalNanos.sum(), maxNanos.get(), counts);
+        }
+    }
+
+    /**
+     * Metrics of one DAO method at a point in time
+     */
+    public static final class Snapshot {
+        private final String dao;
+        private final String method;
+        private final long calls;
+        private final long errors;
+        private final long rows;
+        private final long slow;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long[] buckets;
+
+        private Snapshot(String dao, String method, long calls, long errors, long rows, long slow,
+                         long totalNanos, long maxNanos, long[] buckets) {
+            this.dao = dao;
+            this.method = method;
+            this.calls = calls;
+            this.errors = errors;
+            this.rows = rows;
+            this.slow = slow;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.buckets = buckets;
+        }
+
+        public String getName() { return dao + "." + method; }
+        public String getDao() { return dao; }
+        public String getMethod() { return method; }
+        public long getCalls() { return calls; }
+        public long getErrors() { return errors; }
+        public long getRows() { return rows; }
+        public long getSlowCount() { return slow; }
+
+        public double getMeanMillis() {
+            return calls == 0 ? 0 : totalNanos / 1e6 / calls;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos / 1e6;
+        }
+
+        public double getP50Millis() { return percentileMillis(0.50); }
+        public double getP95Millis() { return percentileMillis(0.95); }
+        public double getP99Millis() { return percentileMillis(0.99); }
+
+        /**
+         * Estimates a percentile by interpolating inside the bucket that contains it
+         */
+        public double percentileMillis(double quantile) {
+            long total = 0;
+            for (long count : buckets) {
+                total += count;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            double rank = quantile * total;
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                if (buckets[i] > 0 && seen + buckets[i] >= rank) {
+                    double lower = i == 0 ? 0 : BUCKET_BOUNDS_MICROS[i - 1] / 1000.0;
+                    double upper = i < BUCKET_BOUNDS_MICROS.length ? BUCKET_BOUNDS_MICROS[i] / 1000.0 : getMaxMillis();
+                    double estimate = lower + (upper - lower) * (rank - seen) / buckets[i];
+                    return Math.min(estimate, getMaxMillis());
+                }
+                seen += buckets[i];
+            }
+            return getMaxMillis();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s [appels=%d, erreurs=%d, lignes=%d, lentes=%d, moy=%.2f ms, " +
+                            "p50=%.2f ms, p95=%.2f ms, p99=%.2f ms, max=%.2f ms]",
+                    getName(), calls, errors, rows, slow, getMeanMillis(),
+                    getP50Millis(), getP95Millis(), getP99Millis(), getMaxMillis());
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.employeemanagement.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache of prepared statements for one physical connection, keyed by SQL text.
+ * Statements handed out are proxies whose close() puts the statement back in the cache,
+ * so the DAOs keep their try-with-resources blocks and each static SQL is prepared
+ * once per connection. Combined with the driver's useServerPrepStmts, the server-side
+ * prepare is reused as well.
+ * <p>
+ * Each SQL has a single slot. Preparing it again while the cached statement is still open on the same
+ * connection (nested use) is counted as a miss and gets a one-off statement, handed out through the same
+ * kind of proxy and closed when given back, so it is neither shared nor kept.
+ * <p>
+ * Not thread-safe: a connection is only used by the thread that borrowed it.
+ */
+public final class StatementCache {
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder evictions = new LongAdder();
+
+    private final Connection physical;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(32, 0.75f, true); // access order
+
+    StatementCache(Connection physical) {
+        this.physical = physical;
+    }
+
+    /**
+     * Returns a cached statement for this SQL or prepares and caches a new one
+     * @param lease The connection handle seen by the caller, returned by getConnection()
+     * @param capacity Maximum number of cached statements, 0 disables caching
+     */
+    PreparedStatement prepare(Connection lease, String sql, int autoGeneratedKeys, int capacity) throws SQLException {
+        if (capacity <= 0) {
+            return prepareUncached(sql, autoGeneratedKeys);
+        }
+
+        Key key = new Key(sql, autoGeneratedKeys);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.inUse) {
+                misses.increment();
+                return oneOff(lease, key);
+            }
+            hits.increment();
+            entry.inUse = true;
+            return entry.checkout(lease);
+        }
+
+        misses.increment();
+        PreparedStatement statement = prepareUncached(sql, autoGeneratedKeys);
+        try {
+            entry = new Entry(key, statement);
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+        entry.inUse = true;
+        entries.put(key, entry);
+        evictOverflow(capacity);
+        return entry.checkout(lease);
+    }
+
+    /**
+     * A statement outside the cache for a nested use of the same SQL, closed on checkin
+     */
+    private PreparedStatement oneOff(Connection lease, Key key) throws SQLException {
+        PreparedStatement statement = prepareUncached(key.sql, key.autoGeneratedKeys);
+        Entry entry;
+        try {
+            entry = new Entry(key, statement);
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+        entry.inUse = true;
+        entry.evicted = true;
+        return entry.checkout(lease);
+    }
+
+    public static long getHitCount() {
+        return hits.sum();
+    }
+
+    public static long getMissCount() {
+        return misses.sum();
+    }
+
+    public static long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public static double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    public static String describe() {
+        return String.format("Cache de requêtes [succès=%d, échecs=%d, évictions=%d, taux=%.1f%%]",
+                getHitCount(), getMissCount(), getEvictionCount(), getHitRate() * 100);
+    }
+
+    private PreparedStatement prepareUncached(String sql, int autoGeneratedKeys) throws SQLException {
+        return autoGeneratedKeys == Statement.NO_GENERATED_KEYS
+                ? physical.prepareStatement(sql)
+                : physical.prepareStatement(sql, autoGeneratedKeys);
+    }
+
+    private void evictOverflow(int capacity) {
+        Iterator<Entry> eldestFirst = entries.values().iterator();
+        while (entries.size() > capacity && eldestFirst.hasNext()) {
+            Entry eldest = eldestFirst.next();
+            eldestFirst.remove();
+            evictions.increment();
+            eldest.evicted = true;
+            if (!eldest.inUse) {
+                eldest.closeQuietly(); // in-use statements are closed when given back
+            }
+        }
+    }
+
+    private static final class Key {
+        private final String sql;
+        private final int autoGeneratedKeys;
+        private final int hash;
+
+        private Key(String sql, int autoGeneratedKeys) {
+            this.sql = sql;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+            this.hash = 31 * sql.hashCode() + autoGeneratedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return autoGeneratedKeys == other.autoGeneratedKeys && sql.equals(other.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Entry {
+        private final Key key;
+        private final PreparedStatement statement;
+        // Driver defaults, restored on checkin so that a borrower's settings don't leak to the next one
+        private final int fetchSize;
+        private final int maxRows;
+        private final int queryTimeout;
+        private boolean inUse;
+        private boolean evicted;
+
+        private Entry(Key key, PreparedStatement statement) throws SQLException {
+            this.key = key;
+            this.statement = statement;
+            this.fetchSize = statement.getFetchSize();
+            this.maxRows = statement.getMaxRows();
+            this.queryTimeout = statement.getQueryTimeout();
+        }
+
+        private PreparedStatement checkout(Connection lease) {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new CheckoutHandler(this, lease));
+        }
+
+        private void checkin() {
+            inUse = false;
+            if (evicted) {
+                closeQuietly();
+                return;
+            }
+            try {
+                statement.clearParameters();
+                statement.clearBatch();
+                statement.clearWarnings();
+                if (statement.getFetchSize() != fetchSize) {
+                    statement.setFetchSize(fetchSize);
+                }
+                if (statement.getMaxRows() != maxRows) {
+                    statement.setMaxRows(maxRows);
+                }
+                if (statement.getQueryTimeout() != queryTimeout) {
+                    statement.setQueryTimeout(queryTimeout);
+                }
+            } catch (SQLException e) {
+                evicted = true;
+                closeQuietly();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                // Statement already unusable
+            }
+        }
+    }
+
+    /**
+     * Handle given to one caller; close() returns the statement to the cache
+     */
+    private static final class CheckoutHandler implements InvocationHandler {
+        private final Entry entry;
+        private final Connection lease;
+        private boolean returned;
+
+        private CheckoutHandler(Entry entry, Connection lease) {
+            this.entry = entry;
+            this.lease = lease;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        entry.checkin();
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || entry.statement.isClosed();
+                case "getConnection":
+                    return lease;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + entry.key.sql + "]";
+                default:
+                    if (returned) {
+                        throw new SQLException("Requête préparée déjà fermée");
+                    }
+                    try {
+                        return method.invoke(entry.statement, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.employeemanagement.config;
+
+import com.employeemanagement.utils.AppLogger;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Statement wrapper timing each execution into {@link QueryMetrics}.
+ * The DAO method is found once per statement by walking the stack of the thread that prepared it.
+ * Parameters are remembered so that slow statements can be logged with them; values of statements
+ * touching passwords are masked.
+ */
+final class TimedStatement implements InvocationHandler {
+    private static final String DAO_PACKAGE = "com.employeemanagement.dao.";
+    private static final String CONFIG_PACKAGE = "com.employeemanagement.config.";
+    private static final StackWalker WALKER = StackWalker.getInstance();
+    private static final int MAX_LOGGED_VALUE_LENGTH = 100;
+
+    private static volatile boolean enabled = true;
+    private static volatile long slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final Statement statement;
+    private final String sql; // null for plain statements, whose SQL is given at execution
+    private final QueryMetrics.Operation operation;
+    private Object[] parameters = new Object[8]; // by parameter index, only kept for the slow query log
+    private int batchSize;
+
+    private TimedStatement(Statement statement, String sql, QueryMetrics.Operation operation) {
+        this.statement = statement;
+        this.sql = sql;
+        this.operation = operation;
+    }
+
+    /**
+     * Applies db.metrics.enabled and db.slowQueryMillis (0 disables the slow query log)
+     */
+    static void configure(boolean metricsEnabled, long slowQueryMillis) {
+        enabled = metricsEnabled;
+        slowQueryNanos = slowQueryMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(slowQueryMillis) : Long.MAX_VALUE;
+    }
+
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Wraps a statement prepared or created on behalf of the calling DAO method
+     * @param sql SQL of a prepared statement, null for a plain statement
+     */
+    static <S extends Statement> S wrap(S statement, Class<S> type, String sql) {
+        String[] caller = caller();
+        TimedStatement handler = new TimedStatement(statement, sql, QueryMetrics.operation(caller[0], caller[1]));
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (name.startsWith("execute")) {
+            return execute(method, args);
+        }
+        switch (name) {
+            case "addBatch":
+                batchSize++;
+                break;
+            case "clearBatch":
+                batchSize = 0;
+                break;
+            case "clearParameters":
+                Arrays.fill(parameters, null);
+                break;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer
+                        && method.getDeclaringClass() == PreparedStatement.class) {
+                    remember((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                }
+        }
+        return invokeDelegate(method, args);
+    }
+
+    private Object execute(Method method, Object[] args) throws Throwable {
+        String executed = sql != null ? sql : args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invokeDelegate(method, args);
+        } catch (Throwable e) {
+            long elapsed = System.nanoTime() - start;
+            operation.record(elapsed, true);
+            logIfSlow(executed, elapsed, e);
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        operation.record(elapsed, false);
+        if (result instanceof ResultSet) {
+            // Rows are counted as they are read: streamed queries fetch them after executeQuery
+            result = countingRows((ResultSet) result);
+        } else if (result instanceof Integer || result instanceof Long) {
+            operation.addRows(Math.max(0, ((Number) result).longValue()));
+        } else if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                operation.addRows(count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(0, count));
+            }
+        } else if (result instanceof long[]) {
+            for (long count : (long[]) result) {
+                operation.addRows(count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(0, count));
+            }
+        }
+        logIfSlow(executed, elapsed, null);
+        if (method.getName().contains("Batch")) {
+            batchSize = 0;
+        }
+        return result;
+    }
+
+    private Object invokeDelegate(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(statement, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private ResultSet countingRows(ResultSet resultSet) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            Object result;
+                            try {
+                                result = method.invoke(resultSet, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                                operation.addRows(1);
+                            }
+                            return result;
+                    }
+                });
+    }
+
+    private void remember(int index, Object value) {
+        if (slowQueryNanos == Long.MAX_VALUE || index < 1) {
+            return;
+        }
+        if (index > parameters.length) {
+            parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+        }
+        parameters[index - 1] = value;
+    }
+
+    private void logIfSlow(String executed, long elapsedNanos, Throwable failure) {
+        if (elapsedNanos < slowQueryNanos) {
+            return;
+        }
+        operation.slow();
+        AppLogger.getInstance().event(Level.WARNING, "Requête lente",
+                "operation", operation.getName(),
+                "ms", TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                "sql", executed,
+                "parametres", describeParameters(executed),
+                "lot", batchSize,
+                "erreur", failure == null ? null : failure.toString());
+    }
+
+    private String describeParameters(String executed) {
+        String lower = executed == null ? "" : executed.toLowerCase(Locale.ROOT);
+        boolean secret = lower.contains("motdepasse") || lower.contains("password");
+        int last = parameters.length;
+        while (last > 0 && parameters[last - 1] == null) {
+            last--;
+        }
+        StringBuilder text = new StringBuilder("[");
+        for (int i = 0; i < last; i++) {
+            if (i > 0) {
+                text.append(", ");
+            }
+            Object value = parameters[i];
+            text.append(i + 1).append('=');
+            if (value == null) {
+                text.append("NULL");
+            } else if (value instanceof String && secret) {
+                text.append("'***'");
+            } else if (value instanceof String) {
+                String s = (String) value;
+                text.append('\'').append(s.length() > MAX_LOGGED_VALUE_LENGTH
+                        ? s.substring(0, MAX_LOGGED_VALUE_LENGTH) + "..." : s).append('\'');
+            } else if (value instanceof Number || value instanceof Boolean || value instanceof java.util.Date
+                    || value instanceof java.time.temporal.Temporal) {
+                text.append(value);
+            } else {
+                text.append('<').append(value.getClass().getSimpleName()).append('>');
+            }
+        }
+        return text.append(']').toString();
+    }
+
+    /**
+     * @return Simple class name and method of the DAO method that called the JDBC API,
+     * or of the first caller outside this package when no DAO is involved
+     */
+    private static String[] caller() {
+        return WALKER.walk(frames -> {
+            String[] fallback = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                int nested = className.indexOf('$');
+                String outer = nested < 0 ? className : className.substring(0, nested);
+                if (outer.startsWith(DAO_PACKAGE) && outer.endsWith("DAO")) {
+                    return new String[]{outer.substring(DAO_PACKAGE.length()), methodName(frame.getMethodName())};
+                }
+                if (fallback == null && !outer.startsWith(CONFIG_PACKAGE) && !outer.startsWith(DAO_PACKAGE)
+                        && outer.startsWith("com.employeemanagement.")) {
+                    fallback = new String[]{outer.substring(outer.lastIndexOf('.') + 1), methodName(frame.getMethodName())};
+                }
+            }
+            return fallback != null ? fallback : new String[]{"inconnu", "inconnu"};
+        });
+    }
+
+    /**
+     * Turns lambda$findAll$0 into findAll
+     */
+    private static String methodName(String name) {
+        if (name.startsWith("lambda$")) {
+            int end = name.indexOf('$', 7);
+            return end > 7 ? name.substring(7, end) : name;
+        }
+        return name;
+    }
+}
@@ -0,0 +1,105 @@
+package com.employeemanagement.dao;
+
+import java.util.Arrays;
+
+/**
+ * Per-row outcome of a batched write, indexed like the input collection
+ */
+public final class BatchResult {
+    public enum Outcome {
+        INSERTED,
+        UPDATED,
+        UNCHANGED,
+        APPLIED, // driver did not report whether the row was inserted or updated
+        FAILED
+    }
+
+    private final int[] ids;
+    private final Outcome[] outcomes;
+    private final String[] errors;
+
+    public BatchResult(int size) {
+        this.ids = new int[size];
+        this.outcomes = new Outcome[size];
+        this.errors = new String[size];
+    }
+
+    public int size() {
+        return outcomes.length;
+    }
+
+    public int getId(int index) {
+        return ids[index];
+    }
+
+    public Outcome getOutcome(int index) {
+        return outcomes[index];
+    }
+
+    /**
+     * @return The error message for a failed row, null otherwise
+     */
+    public String getError(int index) {
+        return errors[index];
+    }
+
+    public int count(Outcome outcome) {
+        int count = 0;
+        for (Outcome o : outcomes) {
+            if (o == outcome) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getFailedCount() {
+        return count(Outcome.FAILED);
+    }
+
+    public int getSucceededCount() {
+        return size() - getFailedCount();
+    }
+
+    void setId(int index, int id) {
+        ids[index] = id;
+    }
+
+    void succeeded(int index, int updateCount) {
+        outcomes[index] = toOutcome(updateCount);
+        errors[index] = null;
+    }
+
+    void failed(int index, String error) {
+        outcomes[index] = Outcome.FAILED;
+        errors[index] = error;
+    }
+
+    /**
+     * Maps a MySQL update count to an outcome: with ON DUPLICATE KEY UPDATE the server reports
+     * 1 for an inserted row, 2 for an updated row and 0 when the existing row was already identical
+     */
+    private static Outcome toOutcome(int updateCount) {
+        switch (updateCount) {
+            case 1:
+                return Outcome.INSERTED;
+            case 2:
+                return Outcome.UPDATED;
+            case 0:
+                return Outcome.UNCHANGED;
+            default:
+                return Outcome.APPLIED;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchResult [lignes=%d, insérées=%d, mises à jour=%d, inchangées=%d, échecs=%d]",
+                size(), count(Outcome.INSERTED), count(Outcome.UPDATED), count(Outcome.UNCHANGED),
+                getFailedCount()) + (getFailedCount() > 0 ? " " + Arrays.toString(firstErrors()) : "");
+    }
+
+    private String[] firstErrors() {
+        return Arrays.stream(errors).filter(e -> e != null).limit(3).toArray(String[]::new);
+    }
+}
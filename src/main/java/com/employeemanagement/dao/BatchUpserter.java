@@ -0,0 +1,83 @@
+package com.employeemanagement.dao;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Sends one chunk of rows through a JDBC batch, shared by the DAOs' saveAll methods
+ */
+final class BatchUpserter<T> {
+    interface Binder<T> {
+        void bind(PreparedStatement stmt, T row) throws SQLException;
+    }
+
+    private final String sql;
+    private final Binder<T> binder;
+    private final Function<T, String> validator; // returns an error message, or null when the row is valid
+
+    BatchUpserter(String sql, Binder<T> binder, Function<T, String> validator) {
+        this.sql = sql;
+        this.binder = binder;
+        this.validator = validator;
+    }
+
+    /**
+     * Writes rows [from, to) inside the connection's current transaction, without committing.
+     * Must be called at the start of a transaction: if the batch fails, the transaction is rolled
+     * back and the rows are replayed one by one behind savepoints so only the faulty rows are dropped.
+     * Rows the caller already marked as failed in the result are skipped.
+     */
+    void upsertChunk(Connection conn, List<T> rows, int from, int to, BatchResult result) throws SQLException {
+        List<Integer> batched = new ArrayList<>(to - from);
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = from; i < to; i++) {
+                if (result.getOutcome(i) == BatchResult.Outcome.FAILED) {
+                    continue;
+                }
+                T row = rows.get(i);
+                String error = row == null ? "Ligne manquante" : validator.apply(row);
+                if (error != null) {
+                    result.failed(i, error);
+                    continue;
+                }
+                binder.bind(stmt, row);
+                stmt.addBatch();
+                batched.add(i);
+            }
+            if (batched.isEmpty()) {
+                return;
+            }
+
+            try {
+                int[] counts = stmt.executeBatch();
+                for (int k = 0; k < batched.size(); k++) {
+                    // Rewritten batches may report fewer counts than rows
+                    result.succeeded(batched.get(k), k < counts.length ? counts[k] : Statement.SUCCESS_NO_INFO);
+                }
+                return;
+            } catch (BatchUpdateException e) {
+                conn.rollback();
+                stmt.clearBatch();
+            }
+
+            for (int i : batched) {
+                Savepoint savepoint = conn.setSavepoint();
+                try {
+                    binder.bind(stmt, rows.get(i));
+                    result.succeeded(i, stmt.executeUpdate());
+                    conn.releaseSavepoint(savepoint);
+                } catch (SQLException e) {
+                    conn.rollback(savepoint);
+                    result.failed(i, e.getMessage());
+                }
+            }
+        }
+    }
+}
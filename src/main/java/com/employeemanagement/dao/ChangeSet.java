@@ -0,0 +1,77 @@
+package com.employeemanagement.dao;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rows changed in a table since a given time, read from the dateModification columns and the
+ * suppression table (filled by delete triggers).
+ * Pass {@link #getAsOf()} to the next findChangesSince call to get the following changes.
+ * <p>
+ * A change set is incomplete when there were too many changes (db.maxChangeRows) or when the
+ * previous time is older than the deletions kept (db.changeRetentionDays): the caller must then
+ * reload everything.
+ * <p>
+ * Names shown from a referenced table (the employee of a salary, the service of an employee) are not
+ * changes of the rows themselves: they come separately with {@link #getReferenceNames()}.
+ */
+public final class ChangeSet<T> {
+    private final Timestamp asOf;
+    private final List<T> modified;
+    private final List<Integer> deletedIds;
+    private final Map<Integer, String> referenceNames;
+    private final boolean complete;
+
+    ChangeSet(Timestamp asOf, List<T> modified, List<Integer> deletedIds, Map<Integer, String> referenceNames,
+              boolean complete) {
+        this.asOf = asOf;
+        this.modified = Collections.unmodifiableList(modified);
+        this.deletedIds = Collections.unmodifiableList(deletedIds);
+        this.referenceNames = Collections.unmodifiableMap(referenceNames);
+        this.complete = complete;
+    }
+
+    static <T> ChangeSet<T> incomplete(Timestamp asOf) {
+        return new ChangeSet<>(asOf, Collections.emptyList(), Collections.emptyList(), Collections.emptyMap(), false);
+    }
+
+    /**
+     * @return Database time up to which the changes are included
+     */
+    public Timestamp getAsOf() {
+        return asOf;
+    }
+
+    /**
+     * @return Rows inserted or updated, whatever their state (an employee set to INACTIF is listed here)
+     */
+    public List<T> getModified() {
+        return modified;
+    }
+
+    public List<Integer> getDeletedIds() {
+        return deletedIds;
+    }
+
+    /**
+     * @return Current names of the referenced rows modified in the same interval, by id, to update
+     *         the rows already loaded (possibly unchanged names: the modification may be elsewhere)
+     */
+    public Map<Integer, String> getReferenceNames() {
+        return referenceNames;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public boolean isEmpty() {
+        return modified.isEmpty() && deletedIds.isEmpty() && referenceNames.isEmpty();
+    }
+
+    public int size() {
+        return modified.size() + deletedIds.size();
+    }
+}
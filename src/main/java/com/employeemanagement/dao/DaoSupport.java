@@ -0,0 +1,138 @@
+package com.employeemanagement.dao;
+
+import com.employeemanagement.config.AppConfig;
+import com.employeemanagement.config.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small query helpers shared by the DAOs
+ */
+final class DaoSupport {
+    /**
+     * Approximates the accent and case insensitive collation used by ORDER BY on text columns
+     */
+    static final Comparator<String> TEXT_ORDER = textOrder();
+
+    private static final String SERVER_TIME_SQL = "SELECT CURRENT_TIMESTAMP(3)";
+
+    private static final String FIND_DELETED_SINCE_SQL =
+            "SELECT idLigne FROM suppression WHERE nomTable = ? AND dateSuppression >= ?";
+
+    private DaoSupport() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Runs a SELECT COUNT(*) query
+     */
+    static int count(String sql, ResultStreams.ParameterSetter parameters) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            parameters.set(stmt);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Reads the rows of a table modified or deleted since the given time.
+     * Changes are read again from db.changeSlackMillis before that time, so that rows committed
+     * late by a concurrent transaction are not missed; applying a change twice must be harmless.
+     * @param modifiedSql Query with one parameter, the dateModification lower bound (inclusive)
+     * @param since Time returned by the previous call, null to only get the current time
+     */
+    static <T> ChangeSet<T> changesSince(String table, String modifiedSql, Timestamp since,
+                                         ResultStreams.RowMapper<T> mapper) throws SQLException {
+        return changesSince(table, modifiedSql, null, since, mapper);
+    }
+
+    /**
+     * Same as {@link #changesSince(String, String, Timestamp, ResultStreams.RowMapper)}, also reading the
+     * names of the referenced rows modified since that time. They are kept apart from the modified rows,
+     * so that editing an employee does not list all of their salaries or pointages as changed.
+     * @param referencesSql Query with one parameter, the dateModification lower bound of the referenced
+     *                      table, returning (id, name); null for none
+     */
+    static <T> ChangeSet<T> changesSince(String table, String modifiedSql, String referencesSql, Timestamp since,
+                                         ResultStreams.RowMapper<T> mapper) throws SQLException {
+        int maxRows = Math.max(1, AppConfig.getInt("db.maxChangeRows", 500));
+        long slackMillis = Math.max(0, AppConfig.getLong("db.changeSlackMillis", 2000));
+        long retentionMillis = TimeUnit.DAYS.toMillis(Math.max(1, AppConfig.getInt("db.changeRetentionDays", 7)));
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            Timestamp asOf;
+            try (PreparedStatement stmt = conn.prepareStatement(SERVER_TIME_SQL);
+                 ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                asOf = rs.getTimestamp(1);
+            }
+            if (since == null) {
+                return new ChangeSet<>(asOf, new ArrayList<>(), new ArrayList<>(), new HashMap<>(), true);
+            }
+            if (asOf.getTime() - since.getTime() > retentionMillis) {
+                return ChangeSet.incomplete(asOf); // deletions that old may have been purged
+            }
+            Timestamp from = new Timestamp(since.getTime() - slackMillis);
+
+            List<T> modified = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(modifiedSql)) {
+                stmt.setTimestamp(1, from);
+                stmt.setMaxRows(maxRows + 1);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        modified.add(mapper.map(rs));
+                    }
+                }
+            }
+            List<Integer> deletedIds = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(FIND_DELETED_SINCE_SQL)) {
+                stmt.setString(1, table);
+                stmt.setTimestamp(2, from);
+                stmt.setMaxRows(maxRows + 1);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        deletedIds.add(rs.getInt(1));
+                    }
+                }
+            }
+            if (modified.size() + deletedIds.size() > maxRows) {
+                return ChangeSet.incomplete(asOf);
+            }
+            Map<Integer, String> referenceNames = new HashMap<>();
+            if (referencesSql != null) {
+                // One row per referenced entity (employee, service), however many rows point to it
+                try (PreparedStatement stmt = conn.prepareStatement(referencesSql)) {
+                    stmt.setTimestamp(1, from);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            referenceNames.put(rs.getInt(1), rs.getString(2));
+                        }
+                    }
+                }
+            }
+            return new ChangeSet<>(asOf, modified, deletedIds, referenceNames, true);
+        }
+    }
+
+    private static Comparator<String> textOrder() {
+        Collator collator = Collator.getInstance(Locale.FRENCH);
+        collator.setStrength(Collator.PRIMARY);
+        Comparator<Object> compare = collator;
+        return Comparator.nullsFirst(compare::compare);
+    }
+}
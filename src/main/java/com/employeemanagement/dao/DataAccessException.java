@@ -0,0 +1,18 @@
+package com.employeemanagement.dao;
+
+import java.sql.SQLException;
+
+/**
+ * Unchecked wrapper for a SQLException raised while consuming a DAO stream,
+ * where lambdas cannot throw checked exceptions
+ */
+public class DataAccessException extends RuntimeException {
+    public DataAccessException(String message, SQLException cause) {
+        super(message, cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
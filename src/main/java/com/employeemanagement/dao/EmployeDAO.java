@@ -4,10 +4,19 @@ import com.employeemanagement.config.DatabaseConnection;
 import com.employeemanagement.models.Employe;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Data Access Object for employees.
+ * Employee lists are cached (shared by all instances) and invalidated by save and delete.
+ */
 public class EmployeDAO {
+    private static final ReadThroughCache<String, List<Employe>> cache = new ReadThroughCache<>("employes");
+
     // SQL queries using your existing French column names          // Quand quelque chose est final, ça veut dire qu'on ne peut plus le changer après l'avoir défini.
     private static final String FIND_ALL_SQL =                      // Quand quelque chose est static, il n'est pas lié à un objet, mais à la classe elle-même.
             "SELECT e.*, s.nom as service_nom FROM employe e " +
@@ -37,32 +46,144 @@ public class EmployeDAO {
                     "LEFT JOIN service s ON e.idService = s.idService " +
                     "WHERE e.idEmploye = ?";
 
-    public List<Employe> findAll() throws SQLException { // findAll method is used to find all employees
+    private static final String COUNT_ACTIVE_SQL =
+            "SELECT COUNT(*) FROM employe WHERE statut = 'ACTIF'";
+
+    /**
+     * Order of findPage, for placing changed rows in a loaded list
+     */
+    public static final Comparator<Employe> PAGE_ORDER = Comparator
+            .comparing(Employe::getNom, DaoSupport.TEXT_ORDER)
+            .thenComparing(Employe::getPrenom, DaoSupport.TEXT_ORDER)
+            .thenComparingInt(Employe::getIdEmploye);
+
+    // Changed rows, whatever their statut, backed by idx_employe_modification
+    private static final String FIND_MODIFIED_SINCE_SQL =
+            "SELECT e.*, s.nom as service_nom FROM employe e " +
+                    "LEFT JOIN service s ON e.idService = s.idService " +
+                    "WHERE e.dateModification >= ?";
+
+    // Names of the services modified since, for the employees already displayed; backed by idx_service_modification
+    private static final String FIND_SERVICE_NAMES_SINCE_SQL =
+            "SELECT idService, nom FROM service WHERE dateModification >= ?";
+
+    // Keyset pagination over active employees, backed by idx_employe_statut_nom (statut, nom, prenom, idEmploye)
+    private static final String FIND_FIRST_PAGE_SQL =
+            "SELECT e.*, s.nom as service_nom FROM employe e " +
+                    "LEFT JOIN service s ON e.idService = s.idService " +
+                    "WHERE e.statut = 'ACTIF' " +
+                    "ORDER BY e.nom, e.prenom, e.idEmploye LIMIT ?";
+
+    private static final String FIND_PAGE_AFTER_SQL =
+            "SELECT e.*, s.nom as service_nom FROM employe e " +
+                    "LEFT JOIN service s ON e.idService = s.idService " +
+                    "WHERE e.statut = 'ACTIF' " +
+                    "AND (e.nom > ? OR (e.nom = ? AND (e.prenom > ? OR (e.prenom = ? AND e.idEmploye > ?)))) " +
+                    "ORDER BY e.nom, e.prenom, e.idEmploye LIMIT ?";
+
+    public List<Employe> findAll() throws SQLException { // findAll method is used to find all employees, from the cache when possible (read-only list)
+        return cache.get("findAll", () -> loadList(FIND_ALL_SQL));
+    }
+
+    public List<Employe> getAllActiveEmployes() throws SQLException { // getAllActiveEmployes method is used to find all active employees, from the cache when possible (read-only list)
+        return cache.get("active", () -> loadList(FIND_ALL_ACTIVE_SQL));
+    }
+
+    /**
+     * Reads all employees from the database, bypassing the cache.
+     * For batch jobs (payroll, payslips, imports) that must not work from a list cached by another screen.
+     */
+    public List<Employe> loadAll() throws SQLException {
+        return loadList(FIND_ALL_SQL);
+    }
+
+    /**
+     * Reads the active employees from the database, bypassing the cache (see {@link #loadAll()})
+     */
+    public List<Employe> loadActive() throws SQLException {
+        return loadList(FIND_ALL_ACTIVE_SQL);
+    }
+
+    /**
+     * Drops cached employee lists
+     */
+    public static void invalidateCache() {
+        cache.invalidateAll();
+    }
+
+    public static ReadThroughCache<String, List<Employe>> getCache() {
+        return cache;
+    }
+
+    private List<Employe> loadList(String sql) throws SQLException {
         List<Employe> employes = new ArrayList<>();
 
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(FIND_ALL_SQL); // PreparedStatement is used to execute the findAll statement
+             PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
                 employes.add(mapToEmploye(rs)); // add the employe object to the list
             }
         }
-        return employes;
+        return Collections.unmodifiableList(employes);
     }
 
-    public List<Employe> getAllActiveEmployes() throws SQLException { // getAllActiveEmployes method is used to find all active employees
-        List<Employe> employes = new ArrayList<>();
+    /**
+     * Streams the active employees ordered by name without loading them in memory.
+     * The stream holds a database connection: close it, e.g. with try-with-resources.
+     */
+    public Stream<Employe> streamAllActive() throws SQLException {
+        return ResultStreams.stream(FIND_ALL_ACTIVE_SQL, ResultStreams.NO_PARAMETERS, this::mapToEmploye);
+    }
+
+    /**
+     * Counts active employees, i.e. the rows returned by findPage
+     */
+    public int countActive() throws SQLException {
+        return DaoSupport.count(COUNT_ACTIVE_SQL, ResultStreams.NO_PARAMETERS);
+    }
+
+    /**
+     * Retrieves one page of active employees ordered by name
+     * @param cursor Cursor returned with the previous page, null for the first page
+     * @param pageSize Maximum number of employees, 0 for the default page size
+     */
+    public Page<Employe> findPage(String cursor, int pageSize) throws SQLException {
+        int limit = PageCursor.pageSize(pageSize);
+        List<Employe> employes = new ArrayList<>(limit + 1);
 
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(FIND_ALL_ACTIVE_SQL); // PreparedStatement is used to execute the findAllActive statement
-             ResultSet rs = stmt.executeQuery()) {
+             PreparedStatement stmt = conn.prepareStatement(cursor == null ? FIND_FIRST_PAGE_SQL : FIND_PAGE_AFTER_SQL)) {
 
-            while (rs.next()) {
-                employes.add(mapToEmploye(rs)); // add the employe object to the list
+            int index = 1;
+            if (cursor != null) {
+                PageCursor after = PageCursor.decode(cursor, 3);
+                stmt.setString(index++, after.getString(0));
+                stmt.setString(index++, after.getString(0));
+                stmt.setString(index++, after.getString(1));
+                stmt.setString(index++, after.getString(1));
+                stmt.setInt(index++, after.getInt(2));
+            }
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    employes.add(mapToEmploye(rs));
+                }
             }
         }
-        return employes;
+        return Page.of(employes, limit,
+                last -> PageCursor.encode(last.getNom(), last.getPrenom(), last.getIdEmploye()));
+    }
+
+    /**
+     * Retrieves the employees changed since the previous call; soft-deleted ones come back as INACTIF
+     * @param since {@link ChangeSet#getAsOf()} of the previous call, null to only get the current time
+     */
+    public ChangeSet<Employe> findChangesSince(Timestamp since) throws SQLException {
+        return DaoSupport.changesSince("employe", FIND_MODIFIED_SINCE_SQL, FIND_SERVICE_NAMES_SINCE_SQL, since,
+                this::mapToEmploye);
     }
 
     public Optional<Employe> findById(int id) throws SQLException { // findById method is used to find an employee by id
@@ -86,6 +207,7 @@ public class EmployeDAO {
         } else {
             update(employe);
         }
+        invalidateCache();
     }
 
     private void insert(Employe employe) throws SQLException { // insert method is used to insert an employee
@@ -122,6 +244,7 @@ public class EmployeDAO {
             stmt.setInt(1, id); // setInt method is used to set the id parameter for the delete statement
             stmt.executeUpdate();
         }
+        invalidateCache();
     }
 
     private void setCommonParameters(PreparedStatement stmt, Employe employe) throws SQLException { // setCommonParameters method is used to set the common parameters for the insert and update statements
@@ -141,7 +264,7 @@ public class EmployeDAO {
         // Note: actif is handled separately in insert/update methods as it's not always in the common set
     }
 
-    private Employe mapToEmploye(ResultSet rs) throws SQLException { // mapToEmploye method is used to map the result set to the employe object
+    Employe mapToEmploye(ResultSet rs) throws SQLException { // mapToEmploye method is used to map the result set to the employe object (package-private for the benchmarks module)
         Employe employe = new Employe();
         employe.setIdEmploye(rs.getInt("idEmploye"));
         employe.setNom(rs.getString("nom"));
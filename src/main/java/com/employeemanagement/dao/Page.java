@@ -0,0 +1,54 @@
+package com.employeemanagement.dao;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated query.
+ * The next page is requested by passing {@link #getNextCursor()} back to the DAO's findPage method.
+ */
+public final class Page<T> {
+    private final List<T> items;
+    private final String nextCursor;
+
+    private Page(List<T> items, String nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    /**
+     * @return Opaque token for the following page, null on the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Builds a page from rows read with LIMIT pageSize + 1: the extra row only tells that more rows follow
+     * @param cursorOf Builds the cursor from the last row of the page
+     */
+    static <T> Page<T> of(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new Page<>(items, cursorOf.apply(items.get(pageSize - 1)));
+    }
+}
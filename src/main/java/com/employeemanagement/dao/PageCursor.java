@@ -0,0 +1,88 @@
+package com.employeemanagement.dao;
+
+import com.employeemanagement.config.AppConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset pagination cursor: the sort key values of the last row of a page, encoded as an opaque token.
+ * The next page is read with a "sort key after cursor" predicate backed by an index, so each page
+ * costs the same whatever its position, unlike OFFSET.
+ */
+final class PageCursor {
+    private static final int VERSION = 1;
+
+    private final String[] values;
+
+    private PageCursor(String[] values) {
+        this.values = values;
+    }
+
+    static String encode(Object... keyValues) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(keyValues.length);
+            for (Object value : keyValues) {
+                out.writeUTF(String.valueOf(value));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // cannot happen with an in-memory stream
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * @param expectedSize Number of key values the calling query expects
+     * @throws IllegalArgumentException if the token is malformed or belongs to another query
+     */
+    static PageCursor decode(String token, int expectedSize) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (in.readByte() != VERSION || in.readByte() != expectedSize) {
+                throw new IllegalArgumentException("Curseur de pagination invalide");
+            }
+            String[] values = new String[expectedSize];
+            for (int i = 0; i < expectedSize; i++) {
+                values[i] = in.readUTF();
+            }
+            return new PageCursor(values);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide", e);
+        }
+    }
+
+    /**
+     * Bounds a requested page size by db.maxPageSize; non-positive values select db.pageSize
+     */
+    static int pageSize(int requested) {
+        int size = requested > 0 ? requested : AppConfig.getInt("db.pageSize", 100);
+        return Math.max(1, Math.min(size, AppConfig.getInt("db.maxPageSize", 1000)));
+    }
+
+    String getString(int index) {
+        return values[index];
+    }
+
+    int getInt(int index) {
+        try {
+            return Integer.parseInt(values[index]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide", e);
+        }
+    }
+
+    LocalDate getDate(int index) {
+        try {
+            return LocalDate.parse(values[index]);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide", e);
+        }
+    }
+}
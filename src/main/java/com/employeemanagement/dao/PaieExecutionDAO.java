@@ -0,0 +1,111 @@
+package com.employeemanagement.dao;
+
+import com.employeemanagement.config.DatabaseConnection;
+import com.employeemanagement.models.PaieExecution;
+import java.sql.*;
+import java.util.Optional;
+
+/**
+ * Data Access Object for the payroll run journal (paie_execution).
+ * Each update is committed on its own, so the journal survives a failure of the run itself.
+ */
+public class PaieExecutionDAO {
+    // Backed by idx_paie_execution_periode (annee, mois, idExecution)
+    private static final String FIND_LAST_FOR_PERIOD_SQL =
+            "SELECT * FROM paie_execution WHERE annee = ? AND mois = ? ORDER BY idExecution DESC LIMIT 1";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO paie_execution (mois, annee, statut) VALUES (?, ?, ?)";
+
+    private static final String CHECKPOINT_SQL =
+            "UPDATE paie_execution SET statut = ?, dernierEmploye = ?, traites = ?, echecs = ? WHERE idExecution = ?";
+
+    private static final String FINISH_SQL =
+            "UPDATE paie_execution SET statut = ?, dateFin = CURRENT_TIMESTAMP(3) WHERE idExecution = ?";
+
+    /**
+     * Finds the latest run of a period if it did not complete, so that it can be resumed
+     */
+    public Optional<PaieExecution> findUnfinished(int mois, int annee) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_LAST_FOR_PERIOD_SQL)) {
+
+            stmt.setInt(1, annee);
+            stmt.setInt(2, mois);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    PaieExecution execution = mapToExecution(rs);
+                    if (!execution.isTerminee()) {
+                        return Optional.of(execution);
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Records the start of a new run and sets its generated id
+     */
+    public void insert(PaieExecution execution) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+            stmt.setInt(1, execution.getMois());
+            stmt.setInt(2, execution.getAnnee());
+            stmt.setString(3, execution.getStatut());
+            stmt.executeUpdate();
+
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    execution.setIdExecution(generatedKeys.getInt(1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Saves the checkpoint and counters of a run (also marks a resumed run EN_COURS again)
+     */
+    public void checkpoint(PaieExecution execution) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(CHECKPOINT_SQL)) {
+
+            stmt.setString(1, execution.getStatut());
+            stmt.setInt(2, execution.getDernierEmploye());
+            stmt.setInt(3, execution.getTraites());
+            stmt.setInt(4, execution.getEchecs());
+            stmt.setInt(5, execution.getIdExecution());
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Records the final status of a run: TERMINEE, or ECHOUEE to have it resumed by the next run
+     */
+    public void finish(PaieExecution execution, String statut) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FINISH_SQL)) {
+
+            stmt.setString(1, statut);
+            stmt.setInt(2, execution.getIdExecution());
+            stmt.executeUpdate();
+        }
+        execution.setStatut(statut);
+    }
+
+    private PaieExecution mapToExecution(ResultSet rs) throws SQLException {
+        PaieExecution execution = new PaieExecution();
+        execution.setIdExecution(rs.getInt("idExecution"));
+        execution.setMois(rs.getInt("mois"));
+        execution.setAnnee(rs.getInt("annee"));
+        execution.setStatut(rs.getString("statut"));
+        execution.setDernierEmploye(rs.getInt("dernierEmploye"));
+        execution.setTraites(rs.getInt("traites"));
+        execution.setEchecs(rs.getInt("echecs"));
+        execution.setDateDebut(rs.getTimestamp("dateDebut"));
+        execution.setDateFin(rs.getTimestamp("dateFin"));
+        return execution;
+    }
+}
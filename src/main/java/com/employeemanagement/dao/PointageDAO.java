@@ -1,13 +1,23 @@
 package com.employeemanagement.dao;
 
+import com.employeemanagement.config.AppConfig;
 import com.employeemanagement.config.DatabaseConnection;
 import com.employeemanagement.models.Pointage;
 import java.sql.*;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for time tracking records (pointage)
@@ -37,6 +47,14 @@ public class PointageDAO {
                     "heureArrivee = VALUES(heureArrivee), " +
                     "heureDepart = VALUES(heureDepart)";
 
+    // Badge-reader imports: a morning file without departures must not erase the departure already recorded
+    private static final String IMPORT_UPSERT_SQL =
+            "INSERT INTO pointage (idEmploye, date, heureArrivee, heureDepart) " +
+                    "VALUES (?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE " +
+                    "heureArrivee = VALUES(heureArrivee), " +
+                    "heureDepart = COALESCE(VALUES(heureDepart), heureDepart)";
+
     private static final String FIND_BY_ID_SQL =
             "SELECT p.* FROM pointage p WHERE p.idPointage = ?";
 
@@ -51,6 +69,96 @@ public class PointageDAO {
             "UPDATE pointage SET idEmploye = ?, date = ?, heureArrivee = ?, " +
                     "heureDepart = ? WHERE idPointage = ?";
 
+    // Used to resolve ids after a batched upsert: one (idEmploye, date) pair per row of the chunk,
+    // matched on uk_pointage_employe_date
+    private static final String FIND_IDS_FOR_PAIRS_SQL =
+            "SELECT idPointage, idEmploye, date FROM pointage WHERE (idEmploye, date) IN (";
+
+    private static final String COUNT_SQL =
+            "SELECT COUNT(*) FROM pointage";
+
+    private static final String COUNT_BY_EMPLOYEE_SQL =
+            "SELECT COUNT(*) FROM pointage WHERE idEmploye = ?";
+
+    /**
+     * Order of findPage and findPageByEmployeeId, for placing changed rows in a loaded list
+     */
+    public static final Comparator<Pointage> PAGE_ORDER = Comparator
+            .comparing(Pointage::getDate)
+            .thenComparingInt(Pointage::getIdPointage)
+            .reversed();
+
+    // Backed by idx_pointage_modification
+    private static final String FIND_MODIFIED_SINCE_SQL =
+            "SELECT p.*, CONCAT(e.prenom, ' ', e.nom) as employe_nom " +
+                    "FROM pointage p " +
+                    "JOIN employe e ON p.idEmploye = e.idEmploye " +
+                    "WHERE p.dateModification >= ?";
+
+    // Names of the employees modified since, for the rows already displayed; backed by idx_employe_modification
+    private static final String FIND_EMPLOYEE_NAMES_SINCE_SQL =
+            "SELECT idEmploye, CONCAT(prenom, ' ', nom) FROM employe WHERE dateModification >= ?";
+
+    // Keyset pagination, most recent first, backed by idx_pointage_date (date, idPointage)
+    private static final String FIND_FIRST_PAGE_SQL =
+            "SELECT p.*, CONCAT(e.prenom, ' ', e.nom) as employe_nom " +
+                    "FROM pointage p " +
+                    "JOIN employe e ON p.idEmploye = e.idEmploye " +
+                    "ORDER BY p.date DESC, p.idPointage DESC LIMIT ?";
+
+    private static final String FIND_PAGE_AFTER_SQL =
+            "SELECT p.*, CONCAT(e.prenom, ' ', e.nom) as employe_nom " +
+                    "FROM pointage p " +
+                    "JOIN employe e ON p.idEmploye = e.idEmploye " +
+                    "WHERE p.date < ? OR (p.date = ? AND p.idPointage < ?) " +
+                    "ORDER BY p.date DESC, p.idPointage DESC LIMIT ?";
+
+    // Backed by uk_pointage_employe_date (idEmploye, date): one row per day
+    private static final String FIND_EMPLOYEE_FIRST_PAGE_SQL =
+            "SELECT p.*, CONCAT(e.prenom, ' ', e.nom) as employe_nom " +
+                    "FROM pointage p " +
+                    "JOIN employe e ON p.idEmploye = e.idEmploye " +
+                    "WHERE p.idEmploye = ? " +
+                    "ORDER BY p.date DESC LIMIT ?";
+
+    private static final String FIND_EMPLOYEE_PAGE_AFTER_SQL =
+            "SELECT p.*, CONCAT(e.prenom, ' ', e.nom) as employe_nom " +
+                    "FROM pointage p " +
+                    "JOIN employe e ON p.idEmploye = e.idEmploye " +
+                    "WHERE p.idEmploye = ? AND p.date < ? " +
+                    "ORDER BY p.date DESC LIMIT ?";
+
+    // Streaming exports, in index order (idx_pointage_date)
+    private static final String STREAM_ALL_SQL =
+            "SELECT p.*, CONCAT(e.prenom, ' ', e.nom) as employe_nom " +
+                    "FROM pointage p " +
+                    "JOIN employe e ON p.idEmploye = e.idEmploye " +
+                    "ORDER BY p.date, p.idPointage";
+
+    private static final String STREAM_PERIOD_SQL =
+            "SELECT p.*, CONCAT(e.prenom, ' ', e.nom) as employe_nom " +
+                    "FROM pointage p " +
+                    "JOIN employe e ON p.idEmploye = e.idEmploye " +
+                    "WHERE p.date BETWEEN ? AND ? " +
+                    "ORDER BY p.date, p.idPointage";
+
+    private static final String FIND_PERIOD_HOURS_SQL = // ordered by employee so hours can be summed in one pass
+            "SELECT idEmploye, heureArrivee, heureDepart FROM pointage " +
+                    "WHERE date BETWEEN ? AND ? AND heureArrivee IS NOT NULL AND heureDepart IS NOT NULL " +
+                    "ORDER BY idEmploye, date";
+
+    /**
+     * Receives the hours worked by one employee over a period
+     */
+    public interface HoursHandler {
+        void accept(int employeId, double heures, int jours);
+    }
+
+    private final BatchUpserter<Pointage> batchUpserter =
+            new BatchUpserter<>(UPSERT_SQL, this::setStatementParameters, PointageDAO::validateForBatch);
+    private final BatchUpserter<Pointage> importUpserter =
+            new BatchUpserter<>(IMPORT_UPSERT_SQL, this::setStatementParameters, PointageDAO::validateForBatch);
+
     /**
      * Saves or updates a pointage record
      */
@@ -121,6 +229,104 @@ public class PointageDAO {
         return pointages;
     }
 
+    /**
+     * Counts all pointages, i.e. the rows returned by findPage
+     */
+    public int count() throws SQLException {
+        return DaoSupport.count(COUNT_SQL, ResultStreams.NO_PARAMETERS);
+    }
+
+    /**
+     * Counts an employee's pointages, i.e. the rows returned by findPageByEmployeeId
+     */
+    public int countByEmployeeId(int employeeId) throws SQLException {
+        return DaoSupport.count(COUNT_BY_EMPLOYEE_SQL, stmt -> stmt.setInt(1, employeeId));
+    }
+
+    /**
+     * Retrieves one page of pointages, most recent first
+     * @param cursor Cursor returned with the previous page, null for the first page
+     * @param pageSize Maximum number of pointages, 0 for the default page size
+     */
+    public Page<Pointage> findPage(String cursor, int pageSize) throws SQLException {
+        int limit = PageCursor.pageSize(pageSize);
+        List<Pointage> pointages = new ArrayList<>(limit + 1);
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(cursor == null ? FIND_FIRST_PAGE_SQL : FIND_PAGE_AFTER_SQL)) {
+
+            int index = 1;
+            if (cursor != null) {
+                PageCursor after = PageCursor.decode(cursor, 2);
+                stmt.setDate(index++, Date.valueOf(after.getDate(0)));
+                stmt.setDate(index++, Date.valueOf(after.getDate(0)));
+                stmt.setInt(index++, after.getInt(1));
+            }
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    pointages.add(mapToPointage(rs));
+                }
+            }
+        }
+        return Page.of(pointages, limit, last -> PageCursor.encode(last.getDate(), last.getIdPointage()));
+    }
+
+    /**
+     * Retrieves one page of an employee's pointages, most recent first
+     */
+    public Page<Pointage> findPageByEmployeeId(int employeeId, String cursor, int pageSize) throws SQLException {
+        int limit = PageCursor.pageSize(pageSize);
+        List<Pointage> pointages = new ArrayList<>(limit + 1);
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     cursor == null ? FIND_EMPLOYEE_FIRST_PAGE_SQL : FIND_EMPLOYEE_PAGE_AFTER_SQL)) {
+
+            int index = 1;
+            stmt.setInt(index++, employeeId);
+            if (cursor != null) {
+                stmt.setDate(index++, Date.valueOf(PageCursor.decode(cursor, 1).getDate(0)));
+            }
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    pointages.add(mapToPointage(rs));
+                }
+            }
+        }
+        return Page.of(pointages, limit, last -> PageCursor.encode(last.getDate()));
+    }
+
+    /**
+     * Streams every pointage by date without loading them in memory.
+     * The stream holds a database connection: close it, e.g. with try-with-resources.
+     */
+    public Stream<Pointage> streamAll() throws SQLException {
+        return ResultStreams.stream(STREAM_ALL_SQL, ResultStreams.NO_PARAMETERS, this::mapToPointage);
+    }
+
+    /**
+     * Streams the pointages between two dates (inclusive), by date. The stream must be closed.
+     */
+    public Stream<Pointage> streamByPeriod(LocalDate from, LocalDate to) throws SQLException {
+        return ResultStreams.stream(STREAM_PERIOD_SQL, stmt -> {
+            stmt.setDate(1, Date.valueOf(from));
+            stmt.setDate(2, Date.valueOf(to));
+        }, this::mapToPointage);
+    }
+
+    /**
+     * Retrieves the pointages inserted, updated or deleted since the previous call
+     * @param since {@link ChangeSet#getAsOf()} of the previous call, null to only get the current time
+     */
+    public ChangeSet<Pointage> findChangesSince(Timestamp since) throws SQLException {
+        return DaoSupport.changesSince("pointage", FIND_MODIFIED_SINCE_SQL, FIND_EMPLOYEE_NAMES_SINCE_SQL, since,
+                this::mapToPointage);
+    }
+
     public Optional<Pointage> findById(int id) throws SQLException { // findById method is used to find a pointage by its id
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(FIND_BY_ID_SQL)) {
@@ -183,6 +389,172 @@ public class PointageDAO {
         }
     }
 
+    /**
+     * Inserts or updates many pointage records using JDBC batching.
+     * Rows are sent in chunks of db.batchSize, each chunk in its own transaction; with
+     * rewriteBatchedStatements the driver turns a chunk into a few multi-row INSERTs.
+     * If a chunk fails it is replayed row by row so that only the faulty rows are rejected.
+     * When a chunk holds the same employee and day twice, the last row wins and the earlier ones are rejected.
+     * @return Generated ids and per-row outcomes, indexed like the iteration order of the input
+     */
+    public BatchResult saveAll(Collection<Pointage> pointages) throws SQLException {
+        return upsert(pointages, batchUpserter, true);
+    }
+
+    /**
+     * Same as {@link #saveAll} without reading the ids back, for bulk imports.
+     * A row without departure keeps the departure already stored for that employee and day.
+     * @return Per-row outcomes, indexed like the iteration order of the input
+     */
+    public BatchResult upsertAll(Collection<Pointage> pointages) throws SQLException {
+        return upsert(pointages, importUpserter, false);
+    }
+
+    private BatchResult upsert(Collection<Pointage> pointages, BatchUpserter<Pointage> upserter, boolean withIds)
+            throws SQLException {
+        List<Pointage> rows = new ArrayList<>(pointages);
+        BatchResult result = new BatchResult(rows.size());
+        int batchSize = Math.max(1, AppConfig.getInt("db.batchSize", 500));
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                for (int from = 0; from < rows.size(); from += batchSize) {
+                    int to = Math.min(from + batchSize, rows.size());
+                    rejectDuplicates(rows, from, to, result);
+                    upserter.upsertChunk(conn, rows, from, to, result);
+                    conn.commit();
+                    if (withIds) {
+                        resolveIds(conn, rows, from, to, result);
+                    }
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rejects the rows of [from, to) overwritten by a later row for the same employee and day,
+     * which would otherwise be reported as written and left without an id
+     */
+    private static void rejectDuplicates(List<Pointage> rows, int from, int to, BatchResult result) {
+        Set<String> keys = new HashSet<>();
+        for (int i = to - 1; i >= from; i--) {
+            Pointage p = rows.get(i);
+            if (p == null || p.getDate() == null) {
+                continue; // rejected by validateForBatch
+            }
+            if (!keys.add(p.getEmployeId() + "|" + p.getDate())) {
+                result.failed(i, "Pointage en double pour l'employé " + p.getEmployeId() + " le " + p.getDate()
+                        + ": seule la dernière ligne est enregistrée");
+            }
+        }
+    }
+
+    /**
+     * Reads back the ids of a chunk with one query on the exact (employee, date) pairs rather than relying on generated keys,
+     * which MySQL does not return for rows updated by ON DUPLICATE KEY UPDATE
+     */
+    private void resolveIds(Connection conn, List<Pointage> rows, int from, int to, BatchResult result)
+            throws SQLException {
+        Map<String, Integer> indexByKey = new HashMap<>();
+        List<Pointage> saved = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            if (result.getOutcome(i) == BatchResult.Outcome.FAILED) {
+                continue;
+            }
+            Pointage p = rows.get(i);
+            indexByKey.put(p.getEmployeId() + "|" + p.getDate(), i);
+            saved.add(p);
+        }
+        if (saved.isEmpty()) {
+            return;
+        }
+
+        // As many pairs as rows in the chunk, repeating the last one, so that full chunks share one cached statement
+        int pairs = to - from;
+        StringBuilder sql = new StringBuilder(FIND_IDS_FOR_PAIRS_SQL.length() + pairs * 8).append(FIND_IDS_FOR_PAIRS_SQL);
+        for (int i = 0; i < pairs; i++) {
+            sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+        }
+        sql.append(')');
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < pairs; i++) {
+                Pointage p = saved.get(Math.min(i, saved.size() - 1));
+                stmt.setInt(2 * i + 1, p.getEmployeId());
+                stmt.setDate(2 * i + 2, Date.valueOf(p.getDate()));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Integer index = indexByKey.get(rs.getInt("idEmploye") + "|" + rs.getDate("date").toLocalDate());
+                    if (index != null) {
+                        int id = rs.getInt("idPointage");
+                        result.setId(index, id);
+                        rows.get(index).setId(id);
+                        rows.get(index).setIdPointage(id);
+                    }
+                }
+            }
+            conn.commit(); // end the read transaction
+        }
+    }
+
+    private static String validateForBatch(Pointage pointage) {
+        if (pointage.getEmployeId() <= 0 || pointage.getDate() == null) {
+            return "Employé et date sont obligatoires";
+        }
+        if (pointage.getHeureArrivee() == null) {
+            return "Heure d'arrivée obligatoire";
+        }
+        return null;
+    }
+
+    /**
+     * Sums the hours worked per employee over a month with a single query.
+     * Rows are streamed in employee order and the handler is called once per employee, after the
+     * last row of that employee, so memory use does not depend on the number of pointages.
+     * Daily hours are computed as in {@link Pointage#getHeuresTravaillees()}.
+     */
+    public void forEachEmployeeHours(int mois, int annee, HoursHandler handler) throws SQLException {
+        YearMonth period = YearMonth.of(annee, mois);
+        // Not the (String) overload: streaming statements must not go through the statement cache
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_PERIOD_HOURS_SQL,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setDate(1, Date.valueOf(period.atDay(1)));
+            stmt.setDate(2, Date.valueOf(period.atEndOfMonth()));
+            stmt.setFetchSize(Integer.MIN_VALUE); // MySQL driver: stream rows instead of buffering the result
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                int current = 0;
+                long minutes = 0;
+                int jours = 0;
+                while (rs.next()) {
+                    int employeId = rs.getInt(1);
+                    if (employeId != current && current != 0) {
+                        handler.accept(current, minutes / 60.0, jours);
+                        minutes = 0;
+                        jours = 0;
+                    }
+                    current = employeId;
+                    long dayMinutes = Duration.between(rs.getTime(2).toLocalTime(), rs.getTime(3).toLocalTime()).toMinutes();
+                    minutes += Math.max(0, dayMinutes);
+                    jours++;
+                }
+                if (current != 0) {
+                    handler.accept(current, minutes / 60.0, jours);
+                }
+            }
+        }
+    }
+
     public void delete(int id) throws SQLException { // delete method is used to delete a pointage
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(DELETE_SQL)) { // PreparedStatement is used to execute the delete statement
@@ -192,7 +564,7 @@ public class PointageDAO {
         }
     }
 
-    private Pointage mapToPointage(ResultSet rs) throws SQLException {
+    Pointage mapToPointage(ResultSet rs) throws SQLException { // package-private for the benchmarks module
         Pointage pointage = new Pointage();
         pointage.setIdPointage(rs.getInt("idPointage"));
         pointage.setEmployeId(rs.getInt("idEmploye"));
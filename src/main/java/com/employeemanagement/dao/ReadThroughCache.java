@@ -0,0 +1,147 @@
+package com.employeemanagement.dao;
+
+import com.employeemanagement.config.AppConfig;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, time-limited read-through cache placed in front of DAO queries.
+ * Entries expire after cache.ttlSeconds and the least recently used ones are dropped beyond
+ * cache.maxEntries; both settings are read on each write so they follow configuration reloads.
+ * DAOs invalidate the cache after their own writes, the TTL bounds staleness for writes made elsewhere.
+ * Cached values are shared between callers and must not be modified.
+ */
+public final class ReadThroughCache<K, V> {
+    interface Loader<V> {
+        V load() throws SQLException;
+    }
+
+    private static final List<ReadThroughCache<?, ?>> caches = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true); // access order
+    private long generation; // bumped by invalidateAll so that loads started before it are not stored
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    ReadThroughCache(String name) {
+        this.name = name;
+        caches.add(this);
+    }
+
+    /**
+     * Returns the cached value for this key, or loads and caches it.
+     * The loader runs outside the cache lock; concurrent misses on the same key may both load.
+     */
+    V get(K key, Loader<V> loader) throws SQLException {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+                hits.increment();
+                return entry.value;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses.increment();
+            loadGeneration = generation;
+        }
+
+        V value = loader.load();
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                long ttl = TimeUnit.SECONDS.toNanos(Math.max(0, AppConfig.getLong("cache.ttlSeconds", 300)));
+                entries.put(key, new Entry<>(value, System.nanoTime() + ttl));
+                evictOverflow(Math.max(0, AppConfig.getInt("cache.maxEntries", 1000)));
+            }
+        }
+        return value;
+    }
+
+    synchronized void invalidate(K key) {
+        generation++;
+        if (entries.remove(key) != null) {
+            invalidations.increment();
+        }
+    }
+
+    synchronized void invalidateAll() {
+        generation++;
+        invalidations.add(entries.size());
+        entries.clear();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    public String describe() {
+        return String.format("Cache %s [entrées=%d, succès=%d, échecs=%d, évictions=%d, invalidations=%d, taux=%.1f%%]",
+                name, size(), getHitCount(), getMissCount(), getEvictionCount(), getInvalidationCount(),
+                getHitRate() * 100);
+    }
+
+    /**
+     * Returns all DAO caches, for monitoring
+     */
+    public static List<ReadThroughCache<?, ?>> getCaches() {
+        return new ArrayList<>(caches);
+    }
+
+    private void evictOverflow(int maxEntries) {
+        Iterator<Map.Entry<K, Entry<V>>> eldestFirst = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && eldestFirst.hasNext()) {
+            eldestFirst.next();
+            eldestFirst.remove();
+            evictions.increment();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
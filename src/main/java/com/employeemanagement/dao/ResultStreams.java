@@ -0,0 +1,127 @@
+package com.employeemanagement.dao;
+
+import com.employeemanagement.config.AppConfig;
+import com.employeemanagement.config.DatabaseConnection;
+import com.employeemanagement.utils.AppLogger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Runs a query as a lazily consumed {@link Stream}, shared by the DAOs' stream methods.
+ * The MySQL driver streams rows one by one (fetch size Integer.MIN_VALUE), or by blocks of
+ * db.streamFetchSize rows through a server cursor when db.useCursorFetch is enabled, so memory
+ * does not depend on the size of the result. Rows are only read when the consumer asks for them.
+ * <p>
+ * The stream holds a pooled connection until it is exhausted or closed: callers must use it in a
+ * try-with-resources block and must not run other queries on the same thread while it is open.
+ */
+final class ResultStreams {
+    interface ParameterSetter {
+        void set(PreparedStatement stmt) throws SQLException;
+    }
+
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    static final ParameterSetter NO_PARAMETERS = stmt -> { };
+
+    private ResultStreams() {
+        // Private constructor to prevent instantiation
+    }
+
+    static <T> Stream<T> stream(String sql, ParameterSetter parameters, RowMapper<T> mapper) throws SQLException {
+        Connection conn = DatabaseConnection.getConnection();
+        PreparedStatement stmt = null;
+        try {
+            // Not the (String) overload: streaming statements must not go through the statement cache
+            stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            int fetchSize = AppConfig.getInt("db.streamFetchSize", 0);
+            stmt.setFetchSize(fetchSize > 0 && AppConfig.getBoolean("db.useCursorFetch", false)
+                    ? fetchSize : Integer.MIN_VALUE);
+            parameters.set(stmt);
+            RowSpliterator<T> rows = new RowSpliterator<>(conn, stmt, stmt.executeQuery(), mapper);
+            return StreamSupport.stream(rows, false).onClose(rows::close);
+        } catch (SQLException | RuntimeException e) {
+            closeQuietly(stmt, conn);
+            throw e;
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement stmt, Connection conn) {
+        try {
+            if (stmt != null) {
+                stmt.close();
+            }
+        } catch (SQLException e) {
+            AppLogger.getInstance().log(Level.WARNING, "Erreur lors de la fermeture d'une requête", e);
+        }
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            AppLogger.getInstance().log(Level.WARNING, "Erreur lors de la libération d'une connexion", e);
+        }
+    }
+
+    private static final class RowSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final Connection conn;
+        private final PreparedStatement stmt;
+        private final ResultSet rs;
+        private final RowMapper<T> mapper;
+        private boolean exhausted;
+        private boolean closed;
+
+        private RowSpliterator(Connection conn, PreparedStatement stmt, ResultSet rs, RowMapper<T> mapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.conn = conn;
+            this.stmt = stmt;
+            this.rs = rs;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed) {
+                return false;
+            }
+            try {
+                if (!rs.next()) {
+                    exhausted = true;
+                    close(); // give the connection back as soon as the last row is read
+                    return false;
+                }
+                action.accept(mapper.map(rs));
+                return true;
+            } catch (SQLException e) {
+                close();
+                throw new DataAccessException("Erreur lors de la lecture des résultats", e);
+            }
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (!exhausted) {
+                    // Closing a streaming result set reads the remaining rows; stop the query first
+                    stmt.cancel();
+                }
+                rs.close();
+            } catch (SQLException e) {
+                AppLogger.getInstance().log(Level.FINE, "Arrêt d'une requête en streaming: {}", e.getMessage());
+            }
+            closeQuietly(stmt, conn);
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package com.employeemanagement.dao;
 
+import com.employeemanagement.config.AppConfig;
 import com.employeemanagement.config.DatabaseConnection;
 import com.employeemanagement.models.Salaire;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for salary management
@@ -48,6 +54,81 @@ public class SalaireDAO {
     private static final String DELETE_SQL =
             "DELETE FROM salaire WHERE idSalaire = ?";
 
+    private static final String COUNT_SQL =
+            "SELECT COUNT(*) FROM salaire";
+
+    private static final String COUNT_BY_EMPLOYEE_SQL =
+            "SELECT COUNT(*) FROM salaire WHERE idEmploye = ?";
+
+    /**
+     * Order of findPage and findPageByEmployeeId, for placing changed rows in a loaded list
+     */
+    public static final Comparator<Salaire> PAGE_ORDER = Comparator
+            .comparingInt(Salaire::getAnnee)
+            .thenComparingInt(Salaire::getMois)
+            .thenComparingInt(Salaire::getIdSalaire)
+            .reversed();
+
+    // Backed by idx_salaire_modification
+    private static final String FIND_MODIFIED_SINCE_SQL =
+            "SELECT s.*, CONCAT(e.prenom, ' ', e.nom) as employe_nom " +
+                    "FROM salaire s " +
+                    "JOIN employe e ON s.idEmploye = e.idEmploye " +
+                    "WHERE s.dateModification >= ?";
+
+    // Names of the employees modified since, for the rows already displayed; backed by idx_employe_modification
+    private static final String FIND_EMPLOYEE_NAMES_SINCE_SQL =
+            "SELECT idEmploye, CONCAT(prenom, ' ', nom) FROM employe WHERE dateModification >= ?";
+
+    // Keyset pagination, most recent period first, backed by idx_salaire_periode (annee, mois, idSalaire)
+    private static final String FIND_FIRST_PAGE_SQL =
+            "SELECT s.*, CONCAT(e.prenom, ' ', e.nom) as employe_nom " +
+                    "FROM salaire s " +
+                    "JOIN employe e ON s.idEmploye = e.idEmploye " +
+                    "ORDER BY s.annee DESC, s.mois DESC, s.idSalaire DESC LIMIT ?";
+
+    private static final String FIND_PAGE_AFTER_SQL =
+            "SELECT s.*, CONCAT(e.prenom, ' ', e.nom) as employe_nom " +
+                    "FROM salaire s " +
+                    "JOIN employe e ON s.idEmploye = e.idEmploye " +
+                    "WHERE s.annee < ? OR (s.annee = ? AND (s.mois < ? OR (s.mois = ? AND s.idSalaire < ?))) " +
+                    "ORDER BY s.annee DESC, s.mois DESC, s.idSalaire DESC LIMIT ?";
+
+    // Backed by uk_salaire_employe_periode (idEmploye, annee, mois): one row per period
+    private static final String FIND_EMPLOYEE_FIRST_PAGE_SQL =
+            "SELECT s.*, CONCAT(e.prenom, ' ', e.nom) as employe_nom " +
+                    "FROM salaire s " +
+                    "JOIN employe e ON s.idEmploye = e.idEmploye " +
+                    "WHERE s.idEmploye = ? " +
+                    "ORDER BY s.annee DESC, s.mois DESC LIMIT ?";
+
+    private static final String FIND_EMPLOYEE_PAGE_AFTER_SQL =
+            "SELECT s.*, CONCAT(e.prenom, ' ', e.nom) as employe_nom " +
+                    "FROM salaire s " +
+                    "JOIN employe e ON s.idEmploye = e.idEmploye " +
+                    "WHERE s.idEmploye = ? AND (s.annee < ? OR (s.annee = ? AND s.mois < ?)) " +
+                    "ORDER BY s.annee DESC, s.mois DESC LIMIT ?";
+
+    // Streaming exports, in index order (idx_salaire_periode)
+    private static final String STREAM_ALL_SQL =
+            "SELECT s.*, CONCAT(e.prenom, ' ', e.nom) as employe_nom " +
+                    "FROM salaire s " +
+                    "JOIN employe e ON s.idEmploye = e.idEmploye " +
+                    "ORDER BY s.annee, s.mois, s.idSalaire";
+
+    private static final String STREAM_PERIOD_SQL =
+            "SELECT s.*, CONCAT(e.prenom, ' ', e.nom) as employe_nom " +
+                    "FROM salaire s " +
+                    "JOIN employe e ON s.idEmploye = e.idEmploye " +
+                    "WHERE s.annee = ? AND s.mois = ? " +
+                    "ORDER BY s.idSalaire";
+
+    private static final String FIND_IDS_FOR_PERIOD_SQL = // used to resolve ids after a batched upsert
+            "SELECT idSalaire, idEmploye FROM salaire " +
+                    "WHERE mois = ? AND annee = ? AND idEmploye BETWEEN ? AND ?";
+
+    private final BatchUpserter<Salaire> batchUpserter =
+            new BatchUpserter<>(UPSERT_SQL, this::setCommonParameters, SalaireDAO::validateForBatch);
 
 
     /**
@@ -87,6 +168,110 @@ public class SalaireDAO {
         return salaires;
     }
 
+    /**
+     * Counts all salary records, i.e. the rows returned by findPage
+     */
+    public int count() throws SQLException {
+        return DaoSupport.count(COUNT_SQL, ResultStreams.NO_PARAMETERS);
+    }
+
+    /**
+     * Counts an employee's salary records, i.e. the rows returned by findPageByEmployeeId
+     */
+    public int countByEmployeeId(int employeeId) throws SQLException {
+        return DaoSupport.count(COUNT_BY_EMPLOYEE_SQL, stmt -> stmt.setInt(1, employeeId));
+    }
+
+    /**
+     * Retrieves one page of salary records, most recent period first
+     * @param cursor Cursor returned with the previous page, null for the first page
+     * @param pageSize Maximum number of records, 0 for the default page size
+     */
+    public Page<Salaire> findPage(String cursor, int pageSize) throws SQLException {
+        int limit = PageCursor.pageSize(pageSize);
+        List<Salaire> salaires = new ArrayList<>(limit + 1);
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(cursor == null ? FIND_FIRST_PAGE_SQL : FIND_PAGE_AFTER_SQL)) {
+
+            int index = 1;
+            if (cursor != null) {
+                PageCursor after = PageCursor.decode(cursor, 3);
+                stmt.setInt(index++, after.getInt(0));
+                stmt.setInt(index++, after.getInt(0));
+                stmt.setInt(index++, after.getInt(1));
+                stmt.setInt(index++, after.getInt(1));
+                stmt.setInt(index++, after.getInt(2));
+            }
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    salaires.add(mapToSalaire(rs));
+                }
+            }
+        }
+        return Page.of(salaires, limit,
+                last -> PageCursor.encode(last.getAnnee(), last.getMois(), last.getIdSalaire()));
+    }
+
+    /**
+     * Retrieves one page of an employee's salary records, most recent period first
+     */
+    public Page<Salaire> findPageByEmployeeId(int employeeId, String cursor, int pageSize) throws SQLException {
+        int limit = PageCursor.pageSize(pageSize);
+        List<Salaire> salaires = new ArrayList<>(limit + 1);
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     cursor == null ? FIND_EMPLOYEE_FIRST_PAGE_SQL : FIND_EMPLOYEE_PAGE_AFTER_SQL)) {
+
+            int index = 1;
+            stmt.setInt(index++, employeeId);
+            if (cursor != null) {
+                PageCursor after = PageCursor.decode(cursor, 2);
+                stmt.setInt(index++, after.getInt(0));
+                stmt.setInt(index++, after.getInt(0));
+                stmt.setInt(index++, after.getInt(1));
+            }
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    salaires.add(mapToSalaire(rs));
+                }
+            }
+        }
+        return Page.of(salaires, limit, last -> PageCursor.encode(last.getAnnee(), last.getMois()));
+    }
+
+    /**
+     * Streams every salary record by period without loading them in memory.
+     * The stream holds a database connection: close it, e.g. with try-with-resources.
+     */
+    public Stream<Salaire> streamAll() throws SQLException {
+        return ResultStreams.stream(STREAM_ALL_SQL, ResultStreams.NO_PARAMETERS, this::mapToSalaire);
+    }
+
+    /**
+     * Streams the salary records of one month. The stream must be closed.
+     */
+    public Stream<Salaire> streamByPeriod(int mois, int annee) throws SQLException {
+        return ResultStreams.stream(STREAM_PERIOD_SQL, stmt -> {
+            stmt.setInt(1, annee);
+            stmt.setInt(2, mois);
+        }, this::mapToSalaire);
+    }
+
+    /**
+     * Retrieves the salary records inserted, updated or deleted since the previous call
+     * @param since {@link ChangeSet#getAsOf()} of the previous call, null to only get the current time
+     */
+    public ChangeSet<Salaire> findChangesSince(Timestamp since) throws SQLException {
+        return DaoSupport.changesSince("salaire", FIND_MODIFIED_SINCE_SQL, FIND_EMPLOYEE_NAMES_SINCE_SQL, since,
+                this::mapToSalaire);
+    }
+
     /**
      * Finds a specific salary record by ID
      */
@@ -144,6 +329,84 @@ public class SalaireDAO {
         }
     }
 
+    /**
+     * Inserts or updates many salary records using JDBC batching.
+     * Rows are sent in chunks of db.batchSize, each chunk in its own transaction, and rely on the
+     * (idEmploye, annee, mois) unique key so that re-running a period updates the existing rows.
+     * @return Ids and per-row outcomes, indexed like the iteration order of the input
+     */
+    public BatchResult saveAll(Collection<Salaire> salaires) throws SQLException {
+        List<Salaire> rows = new ArrayList<>(salaires);
+        BatchResult result = new BatchResult(rows.size());
+        int batchSize = Math.max(1, AppConfig.getInt("db.batchSize", 500));
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                for (int from = 0; from < rows.size(); from += batchSize) {
+                    int to = Math.min(from + batchSize, rows.size());
+                    batchUpserter.upsertChunk(conn, rows, from, to, result);
+                    conn.commit();
+                    resolveIds(conn, rows, from, to, result);
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads back the ids of a chunk, one query per salary period present in the chunk
+     */
+    private void resolveIds(Connection conn, List<Salaire> rows, int from, int to, BatchResult result)
+            throws SQLException {
+        Map<Integer, Map<Integer, Integer>> indexByPeriod = new HashMap<>(); // annee*100+mois -> idEmploye -> index
+        for (int i = from; i < to; i++) {
+            if (result.getOutcome(i) != BatchResult.Outcome.FAILED) {
+                Salaire s = rows.get(i);
+                indexByPeriod.computeIfAbsent(s.getAnnee() * 100 + s.getMois(), k -> new HashMap<>())
+                        .put(s.getEmployeId(), i);
+            }
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(FIND_IDS_FOR_PERIOD_SQL)) {
+            for (Map.Entry<Integer, Map<Integer, Integer>> period : indexByPeriod.entrySet()) {
+                Map<Integer, Integer> indexByEmploye = period.getValue();
+                stmt.setInt(1, period.getKey() % 100);
+                stmt.setInt(2, period.getKey() / 100);
+                stmt.setInt(3, indexByEmploye.keySet().stream().mapToInt(Integer::intValue).min().getAsInt());
+                stmt.setInt(4, indexByEmploye.keySet().stream().mapToInt(Integer::intValue).max().getAsInt());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        Integer index = indexByEmploye.get(rs.getInt("idEmploye"));
+                        if (index != null) {
+                            result.setId(index, rs.getInt("idSalaire"));
+                            rows.get(index).setIdSalaire(rs.getInt("idSalaire"));
+                        }
+                    }
+                }
+            }
+        }
+        conn.commit(); // end the read transaction
+    }
+
+    private static String validateForBatch(Salaire salaire) {
+        if (salaire.getEmployeId() <= 0 || salaire.getMois() < 1 || salaire.getAnnee() <= 0) {
+            return "Employé et période sont obligatoires";
+        }
+        if (salaire.getMois() > 12) { // the month spinner of SalaireDialog stops at 12
+            return "Mois invalide: " + salaire.getMois() + " (1 à 12)";
+        }
+        if (salaire.getDatePaiement() == null) {
+            return "Date de paiement obligatoire";
+        }
+        return null;
+    }
+
     /**
      * Deletes a salary record
      */
@@ -167,7 +430,7 @@ public class SalaireDAO {
         stmt.setDate(7, java.sql.Date.valueOf(salaire.getDatePaiement()));
     }
 
-    private Salaire mapToSalaire(ResultSet rs) throws SQLException { // mapToSalaire method is used to map the result set to the salary record object
+    Salaire mapToSalaire(ResultSet rs) throws SQLException { // mapToSalaire method is used to map the result set to the salary record object (package-private for the benchmarks module)
         Salaire salaire = new Salaire();
         salaire.setIdSalaire(rs.getInt("idSalaire"));
         salaire.setEmployeId(rs.getInt("idEmploye"));
@@ -4,13 +4,18 @@ import com.employeemanagement.config.DatabaseConnection;
 import com.employeemanagement.models.Service;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
 /**
- * Data Access Object for department/service management
+ * Data Access Object for department/service management.
+ * The service list is cached (shared by all instances) and invalidated by save and delete.
  */
 public class ServiceDAO {
+    private static final ReadThroughCache<String, List<Service>> cache = new ReadThroughCache<>("services");
+
     // SQL queries
     private static final String FIND_ALL_SQL =
             "SELECT * FROM service ORDER BY nom";
@@ -28,9 +33,46 @@ public class ServiceDAO {
             "DELETE FROM service WHERE idService = ?";
 
     /**
-     * Retrieves all services/departments
+     * Order of findAll and findPage, for placing changed rows in a loaded list
+     */
+    public static final Comparator<Service> PAGE_ORDER = Comparator
+            .comparing(Service::getNom, DaoSupport.TEXT_ORDER)
+            .thenComparingInt(Service::getIdService);
+
+    // Backed by idx_service_modification
+    private static final String FIND_MODIFIED_SINCE_SQL =
+            "SELECT * FROM service WHERE dateModification >= ?";
+
+    // Keyset pagination, backed by idx_service_nom (nom, idService)
+    private static final String FIND_FIRST_PAGE_SQL =
+            "SELECT * FROM service ORDER BY nom, idService LIMIT ?";
+
+    private static final String FIND_PAGE_AFTER_SQL =
+            "SELECT * FROM service " +
+                    "WHERE nom > ? OR (nom = ? AND idService > ?) " +
+                    "ORDER BY nom, idService LIMIT ?";
+
+    /**
+     * Retrieves all services/departments, from the cache when possible
+     * @return Read-only list
      */
     public List<Service> findAll() throws SQLException {
+        return cache.get("findAll", this::loadAll);
+    }
+
+    /**
+     * Drops cached services, and cached employees which carry their service name
+     */
+    public static void invalidateCache() {
+        cache.invalidateAll();
+        EmployeDAO.invalidateCache();
+    }
+
+    public static ReadThroughCache<String, List<Service>> getCache() {
+        return cache;
+    }
+
+    private List<Service> loadAll() throws SQLException {
         List<Service> services = new ArrayList<>();
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -41,7 +83,45 @@ public class ServiceDAO {
                 services.add(mapToService(rs));
             }
         }
-        return services;
+        return Collections.unmodifiableList(services);
+    }
+
+    /**
+     * Retrieves one page of services ordered by name
+     * @param cursor Cursor returned with the previous page, null for the first page
+     * @param pageSize Maximum number of services, 0 for the default page size
+     */
+    public Page<Service> findPage(String cursor, int pageSize) throws SQLException {
+        int limit = PageCursor.pageSize(pageSize);
+        List<Service> services = new ArrayList<>(limit + 1);
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(cursor == null ? FIND_FIRST_PAGE_SQL : FIND_PAGE_AFTER_SQL)) {
+
+            int index = 1;
+            if (cursor != null) {
+                PageCursor after = PageCursor.decode(cursor, 2);
+                stmt.setString(index++, after.getString(0));
+                stmt.setString(index++, after.getString(0));
+                stmt.setInt(index++, after.getInt(1));
+            }
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    services.add(mapToService(rs));
+                }
+            }
+        }
+        return Page.of(services, limit, last -> PageCursor.encode(last.getNom(), last.getIdService()));
+    }
+
+    /**
+     * Retrieves the services inserted, updated or deleted since the previous call, bypassing the cache
+     * @param since {@link ChangeSet#getAsOf()} of the previous call, null to only get the current time
+     */
+    public ChangeSet<Service> findChangesSince(Timestamp since) throws SQLException {
+        return DaoSupport.changesSince("service", FIND_MODIFIED_SINCE_SQL, since, this::mapToService);
     }
 
     /**
@@ -71,6 +151,7 @@ public class ServiceDAO {
         } else {
             update(service);
         }
+        invalidateCache();
     }
 
     private void insert(Service service) throws SQLException {
@@ -110,6 +191,7 @@ public class ServiceDAO {
             stmt.setInt(1, id);
             stmt.executeUpdate();
         }
+        invalidateCache();
     }
 
     private Service mapToService(ResultSet rs) throws SQLException {
@@ -2,12 +2,15 @@ package com.employeemanagement.dao;
 
 import com.employeemanagement.config.DatabaseConnection;
 import com.employeemanagement.models.Utilisateur;
+import com.employeemanagement.utils.AppLogger;
 import com.employeemanagement.utils.PasswordUtil;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.logging.Level;
 
 /**
  * Data Access Object for user authentication and management
@@ -37,12 +40,58 @@ public class UtilisateurDAO {
 
     private static final String FIND_ALL = 
             "SELECT u.*, e.nom as employeNom FROM utilisateur u " +
-            "LEFT JOIN employe e ON u.idEmploye = e.idEmploye";
+            "LEFT JOIN employe e ON u.idEmploye = e.idEmploye " +
+            "ORDER BY u.nomUtilisateur";
 
     /**
-     * Authenticates a user with password hashing verification
+     * Order of findPage, for placing changed rows in a loaded list
+     */
+    public static final Comparator<Utilisateur> PAGE_ORDER =
+            Comparator.comparing(Utilisateur::getNomUtilisateur, DaoSupport.TEXT_ORDER);
+
+    // Backed by idx_utilisateur_modification
+    private static final String FIND_MODIFIED_SINCE_SQL =
+            "SELECT u.*, e.nom as employeNom FROM utilisateur u " +
+                    "LEFT JOIN employe e ON u.idEmploye = e.idEmploye " +
+                    "WHERE u.dateModification >= ?";
+
+    // Names of the employees modified since, for the rows already displayed; backed by idx_employe_modification
+    private static final String FIND_EMPLOYEE_NAMES_SINCE_SQL =
+            "SELECT idEmploye, nom FROM employe WHERE dateModification >= ?";
+
+    // Keyset pagination, backed by the unique index on nomUtilisateur
+    private static final String FIND_FIRST_PAGE_SQL =
+            "SELECT u.*, e.nom as employeNom FROM utilisateur u " +
+                    "LEFT JOIN employe e ON u.idEmploye = e.idEmploye " +
+                    "ORDER BY u.nomUtilisateur LIMIT ?";
+
+    private static final String FIND_PAGE_AFTER_SQL =
+            "SELECT u.*, e.nom as employeNom FROM utilisateur u " +
+                    "LEFT JOIN employe e ON u.idEmploye = e.idEmploye " +
+                    "WHERE u.nomUtilisateur > ? " +
+                    "ORDER BY u.nomUtilisateur LIMIT ?";
+
+    /**
+     * Authenticates a user with password hashing verification.
+     * Runs a BCrypt check (hundreds of milliseconds): never call it on the EDT.
+     * The stored hash is replaced when its work factor is no longer the current one.
      */
     public Optional<Utilisateur> authenticate(String username, String password) throws SQLException {
+        Optional<Utilisateur> user = verifyCredentials(username, password);
+        user.filter(u -> PasswordUtil.needsRehash(u.getMotDePasse())).ifPresent(u -> {
+            try {
+                updatePassword(u.getIdUtilisateur(), password);
+                AppLogger.getInstance().log(Level.INFO, "Mot de passe re-haché pour {} (facteur {})",
+                        u.getNomUtilisateur(), PasswordUtil.getWorkload());
+            } catch (SQLException e) {
+                // The old hash still works: retried at the next login
+                AppLogger.getInstance().log(Level.WARNING, "Échec du re-hachage du mot de passe", e);
+            }
+        });
+        return user;
+    }
+
+    private Optional<Utilisateur> verifyCredentials(String username, String password) throws SQLException {
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(AUTHENTICATE_SQL)) {
 
@@ -163,6 +212,15 @@ public class UtilisateurDAO {
         }
     }
 
+    /**
+     * Retrieves the users inserted, updated or deleted since the previous call
+     * @param since {@link ChangeSet#getAsOf()} of the previous call, null to only get the current time
+     */
+    public ChangeSet<Utilisateur> findChangesSince(Timestamp since) throws SQLException {
+        return DaoSupport.changesSince("utilisateur", FIND_MODIFIED_SINCE_SQL, FIND_EMPLOYEE_NAMES_SINCE_SQL, since,
+                this::mapToUtilisateur);
+    }
+
     public List<Utilisateur> findAll() throws SQLException { // findAll method is used to find all users
         List<Utilisateur> users = new ArrayList<>();
         try (Connection conn = DatabaseConnection.getConnection();
@@ -178,6 +236,33 @@ public class UtilisateurDAO {
         return users;
     }
 
+    /**
+     * Retrieves one page of users ordered by user name
+     * @param cursor Cursor returned with the previous page, null for the first page
+     * @param pageSize Maximum number of users, 0 for the default page size
+     */
+    public Page<Utilisateur> findPage(String cursor, int pageSize) throws SQLException {
+        int limit = PageCursor.pageSize(pageSize);
+        List<Utilisateur> users = new ArrayList<>(limit + 1);
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(cursor == null ? FIND_FIRST_PAGE_SQL : FIND_PAGE_AFTER_SQL)) {
+
+            int index = 1;
+            if (cursor != null) {
+                stmt.setString(index++, PageCursor.decode(cursor, 1).getString(0));
+            }
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    users.add(mapToUtilisateur(rs));
+                }
+            }
+        }
+        return Page.of(users, limit, last -> PageCursor.encode(last.getNomUtilisateur()));
+    }
+
     private Utilisateur mapToUtilisateur(ResultSet rs) throws SQLException {
         Utilisateur user = new Utilisateur();
         user.setIdUtilisateur(rs.getInt("idUtilisateur"));
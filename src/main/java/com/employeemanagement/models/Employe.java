@@ -1,5 +1,6 @@
 package com.employeemanagement.models;
 
+import com.employeemanagement.utils.Money;
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.Objects;
@@ -260,7 +261,7 @@ public class Employe {
     }
 
     public String getFormattedSalaire() {
-        return String.format("%,.2f €", salaireDeBase); // %,.2f € is the format for the salaire
+        return Money.format(Money.ofDouble(salaireDeBase), Money.EURO);
     }
 
     @Override
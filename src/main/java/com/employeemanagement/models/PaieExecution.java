@@ -0,0 +1,122 @@
+package com.employeemanagement.models;
+
+import java.sql.Timestamp;
+
+/**
+ * Journal entry of a payroll run: period, status and checkpoint.
+ * Employees are saved in increasing id order, so every employee up to dernierEmploye is done.
+ */
+public class PaieExecution {
+    public static final String EN_COURS = "EN_COURS";
+    public static final String TERMINEE = "TERMINEE";
+    public static final String ECHOUEE = "ECHOUEE";
+
+    private int idExecution;
+    private int mois;
+    private int annee;
+    private String statut;
+    private int dernierEmploye;
+    private int traites;
+    private int echecs;
+    private Timestamp dateDebut;
+    private Timestamp dateFin;
+
+    // Constructors
+    public PaieExecution() {}
+
+    public PaieExecution(int mois, int annee) { // constructor for a new run
+        this.mois = mois;
+        this.annee = annee;
+        this.statut = EN_COURS;
+    }
+
+    // Getters and Setters
+    public int getIdExecution() {
+        return idExecution;
+    }
+
+    public void setIdExecution(int idExecution) {
+        this.idExecution = idExecution;
+    }
+
+    public int getMois() {
+        return mois;
+    }
+
+    public void setMois(int mois) {
+        this.mois = mois;
+    }
+
+    public int getAnnee() {
+        return annee;
+    }
+
+    public void setAnnee(int annee) {
+        this.annee = annee;
+    }
+
+    public String getStatut() {
+        return statut;
+    }
+
+    public void setStatut(String statut) {
+        this.statut = statut;
+    }
+
+    /**
+     * @return Id of the last employee saved, 0 before the first chunk
+     */
+    public int getDernierEmploye() {
+        return dernierEmploye;
+    }
+
+    public void setDernierEmploye(int dernierEmploye) {
+        this.dernierEmploye = dernierEmploye;
+    }
+
+    /**
+     * @return Employees processed so far, failures included
+     */
+    public int getTraites() {
+        return traites;
+    }
+
+    public void setTraites(int traites) {
+        this.traites = traites;
+    }
+
+    public int getEchecs() {
+        return echecs;
+    }
+
+    public void setEchecs(int echecs) {
+        this.echecs = echecs;
+    }
+
+    public Timestamp getDateDebut() {
+        return dateDebut;
+    }
+
+    public void setDateDebut(Timestamp dateDebut) {
+        this.dateDebut = dateDebut;
+    }
+
+    public Timestamp getDateFin() {
+        return dateFin;
+    }
+
+    public void setDateFin(Timestamp dateFin) {
+        this.dateFin = dateFin;
+    }
+
+    // Business methods
+    public boolean isTerminee() {
+        return TERMINEE.equals(statut);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Exécution %d de la paie %02d/%d [%s, dernier employé=%d, traités=%d, échecs=%d]",
+                idExecution, mois, annee, statut, dernierEmploye, traites, echecs);
+    }
+}
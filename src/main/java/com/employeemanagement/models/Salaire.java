@@ -1,5 +1,6 @@
 package com.employeemanagement.models;
 
+import com.employeemanagement.utils.Money;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.Year;
@@ -232,6 +233,11 @@ public class Salaire {
 
     // Getters and setters for DB mapped fields
 
+    // Stored gross salary, as read from the database
+    public double getStoredSalaireBrut() {
+        return salaireBrut;
+    }
+
     public void setSalaireBrut(double salaireBrut) {
         if (salaireBrut < 0) {
             throw new IllegalArgumentException("Salaire brut doit être positif");
@@ -264,11 +270,21 @@ public class Salaire {
 
     // Business logic methods
     public double getSalaireBrut() {
-        return montant + primes + avantages + (heuresSupplementaires * tauxHeuresSupplementaires);
+        return Money.toDouble(getSalaireBrutCentimes());
     }
 
     public double getSalaireNet() {
-        return getSalaireBrut() - retenues - cotisations;
+        return Money.toDouble(getSalaireNetCentimes());
+    }
+
+    // Exact amounts in centimes, each component rounded once as in SalaryCalculator
+    public long getSalaireBrutCentimes() {
+        return Money.ofDouble(montant) + Money.ofDouble(heuresSupplementaires * tauxHeuresSupplementaires)
+                + Money.ofDouble(primes) + Money.ofDouble(avantages);
+    }
+
+    public long getSalaireNetCentimes() {
+        return getSalaireBrutCentimes() - Money.ofDouble(retenues) - Money.ofDouble(cotisations);
     }
 
     public String getMoisName() {
@@ -299,11 +315,11 @@ public class Salaire {
     }
 
     public String getFormattedSalaireBrut() {
-        return String.format("%,.2f €", getSalaireBrut());
+        return Money.format(getSalaireBrutCentimes(), Money.EURO);
     }
 
     public String getFormattedSalaireNet() {
-        return String.format("%,.2f €", getSalaireNet());
+        return Money.format(getSalaireNetCentimes(), Money.EURO);
     }
 
     @Override
@@ -1,55 +1,431 @@
 package com.employeemanagement.utils;
 
-import java.util.logging.FileHandler;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import java.util.logging.SimpleFormatter;
+import com.employeemanagement.config.AppConfig;
+
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
 
 /**
- * Advanced application logger with file rotation and formatted output
+ * Asynchronous application logger writing JSON lines to logs/app.log and plain text to the console.
+ * Callers only check the level and put the event in a lock-free ring buffer; messages are formatted
+ * and written by a single background thread, which flushes in batches and rotates the file by size
+ * and by day. When the buffer is full events are dropped rather than making the caller wait
+ * (see log.overflowPolicy), and the number of lost events is written to the log.
+ * <p>
+ * Messages take {} placeholders, e.g. {@code log(Level.FINE, "Page {} chargée en {} ms", page, millis)}:
+ * nothing is formatted when the level is disabled. Arguments are formatted later on the writer
+ * thread, so they should not be modified after the call.
  */
 public final class AppLogger { // AppLogger class to log messages to a file and to the console
     private static final String LOG_FILE = "logs/app.log"; // LOG_FILE is the file to log the messages to
+    private static final DateTimeFormatter JSON_TIME = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+    private static final DateTimeFormatter CONSOLE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Object[] NO_ARGS = new Object[0];
     private static AppLogger instance; // instance is the instance of the AppLogger
-    private final Logger logger; // logger is the logger to log the messages to
+
+    /**
+     * What to do with an event when the ring buffer is full
+     */
+    public enum OverflowPolicy {
+        /** Drop any event that does not fit */
+        DROP,
+        /** Drop events below WARNING once the buffer is 3/4 full, keeping room for warnings and errors */
+        KEEP_WARNINGS
+    }
+
+    private final LogRingBuffer<Event> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private volatile int minLevel; // Level.intValue() of the least severe event logged
+    private volatile int consoleLevel;
+    private volatile boolean closed;
+
+    private LogFileWriter file; // writer thread only
+    private final Thread writer;
+
+    private final LongAdder logged = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder writeErrors = new LongAdder();
+    private final AtomicLong maxBacklog = new AtomicLong();
+    private long droppedReported; // writer thread only
 
     private AppLogger() { // constructor to initialize the logger
-        logger = Logger.getLogger("EmployeeManagement");
-        configureLogger();
+        // AppConfig logs invalid values through this class: read raw values to avoid a cycle
+        buffer = new LogRingBuffer<>(Math.max(64, intSetting("log.bufferSize", 8192)));
+        overflowPolicy = policySetting();
+        batchSize = Math.max(1, intSetting("log.batchSize", 256));
+        flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(10, intSetting("log.flushIntervalMillis", 200)));
+        applyLevels();
+        try {
+            file = new LogFileWriter(Paths.get(LOG_FILE),
+                    Math.max(0, intSetting("log.maxFileMegabytes", 10)) * 1024L * 1024L,
+                    Math.max(0, intSetting("log.maxFiles", 10)));
+        } catch (IOException e) {
+            System.err.println("Failed to configure logger: " + e.getMessage());
+        }
+        writer = new Thread(this::drainLoop, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
     }
 
     public static synchronized AppLogger getInstance() { // getInstance method to get the instance of the AppLogger
         if (instance == null) {
             instance = new AppLogger();
+            AppConfig.addReloadListener(instance::applyLevels);
         }
         return instance; // return the instance of the AppLogger
     }
 
-    private void configureLogger() { // configureLogger method to configure the logger
+    /**
+     * @return false when events of this level are discarded, to skip building costly messages
+     */
+    public boolean isLoggable(Level level) {
+        return level.intValue() >= minLevel && level != Level.OFF;
+    }
+
+    public void log(Level level, String message) { // log method to log a message
+        if (isLoggable(level)) {
+            enqueue(new Event(level, message, NO_ARGS, null, null));
+        }
+    }
+
+    public void log(Level level, String message, Throwable thrown) { // log method to log a message and a throwable
+        if (isLoggable(level)) {
+            enqueue(new Event(level, message, NO_ARGS, thrown, null));
+        }
+    }
+
+    /**
+     * Logs a message with {} placeholders replaced by the arguments.
+     * A Throwable left over as last argument is logged with its stack trace.
+     */
+    public void log(Level level, String pattern, Object... args) {
+        if (isLoggable(level)) {
+            enqueue(new Event(level, pattern, args, null, null));
+        }
+    }
+
+    /**
+     * Logs a message with fields written as separate JSON keys, for values worth searching on
+     * (e.g. {@code event(Level.INFO, "Paie calculée", "mois", 3, "annee", 2025, "employes", 120)})
+     * @param keyValues Alternating names and values
+     */
+    public void event(Level level, String message, Object... keyValues) {
+        if (isLoggable(level)) {
+            enqueue(new Event(level, message, NO_ARGS, null, keyValues));
+        }
+    }
+
+    public long getLoggedCount() {
+        return logged.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public int getBacklog() {
+        return buffer.size();
+    }
+
+    public String describe() {
+        return String.format("Journal [enregistrés=%d, écrits=%d, perdus=%d, erreurs d'écriture=%d, " +
+                        "en attente=%d/%d, attente max=%d]",
+                logged.sum(), written.sum(), dropped.sum(), writeErrors.sum(),
+                buffer.size(), buffer.capacity(), maxBacklog.get());
+    }
+
+    /**
+     * Writes the pending events and closes the file, for application shutdown.
+     * Events logged afterwards are dropped.
+     */
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.closed = true;
+            LockSupport.unpark(instance.writer);
+            try {
+                instance.writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void enqueue(Event event) {
+        logged.increment();
+        if (closed) {
+            dropped.increment();
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.KEEP_WARNINGS && event.level.intValue() < Level.WARNING.intValue()
+                && buffer.size() >= buffer.capacity() / 4 * 3) {
+            dropped.increment();
+            return;
+        }
+        if (!buffer.offer(event)) {
+            dropped.increment();
+            return;
+        }
+        int backlog = buffer.size();
+        if (backlog > maxBacklog.get()) {
+            maxBacklog.accumulateAndGet(backlog, Math::max);
+        }
+        // The writer wakes up on its own every flush interval; errors and a filling buffer wake it now
+        if (event.level.intValue() >= Level.WARNING.intValue() || backlog >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void drainLoop() {
+        long lastFlush = System.nanoTime();
+        boolean unflushed = false;
+        while (true) {
+            int count = 0;
+            Event event;
+            while (count < batchSize && (event = buffer.poll()) != null) {
+                write(event);
+                count++;
+            }
+            reportDropped();
+            unflushed |= count > 0;
+            boolean idle = count < batchSize;
+            if (unflushed && (idle || System.nanoTime() - lastFlush >= flushIntervalNanos)) {
+                flush();
+                lastFlush = System.nanoTime();
+                unflushed = false;
+            }
+            if (idle) {
+                if (closed && buffer.size() == 0) {
+                    break;
+                }
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
         try {
-            // Create logs directory if it doesn't exist
-            Files.createDirectories(Paths.get("logs"));
+            if (file != null) {
+                file.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to close log file: " + e.getMessage());
+        }
+    }
 
-            // Configure file handler
-            FileHandler fileHandler = new FileHandler(LOG_FILE, true); // FileHandler is the handler to log the messages to a file
-            fileHandler.setFormatter(new SimpleFormatter()); // SimpleFormatter is the formatter to format the messages
-            logger.addHandler(fileHandler); // add the file handler to the logger
+    private void write(Event event) {
+        String message = event.message();
+        if (event.level.intValue() >= consoleLevel) {
+            StringBuilder line = new StringBuilder(message.length() + 40);
+            line.append('[').append(CONSOLE_TIME.format(Instant.ofEpochMilli(event.timestamp).atZone(zone)))
+                    .append("] [").append(String.format("%-7s", event.level.getName())).append("] ").append(message);
+            System.err.println(line);
+            if (event.thrown() != null) {
+                event.thrown().printStackTrace();
+            }
+        }
+        if (file == null) {
+            return;
+        }
+        try {
+            file.write(toJson(event, message), event.timestamp);
+            written.increment();
+        } catch (IOException | RuntimeException e) {
+            if (writeErrors.sum() == 0) {
+                System.err.println("Failed to write log file: " + e.getMessage());
+            }
+            writeErrors.increment();
+        }
+    }
 
-            // Set level
-            logger.setLevel(Level.ALL); // set the level of the logger to all
+    private void flush() {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.flush();
         } catch (IOException e) {
-            System.err.println("Failed to configure logger: " + e.getMessage());
+            writeErrors.increment();
         }
     }
 
-    public void log(Level level, String message) { // log method to log a message
-        logger.log(level, message); // log the message to the logger
+    /**
+     * Logs the events dropped since the last report, once the buffer has room again
+     */
+    private void reportDropped() {
+        long total = dropped.sum();
+        if (total == droppedReported) {
+            return;
+        }
+        long lost = total - droppedReported;
+        droppedReported = total;
+        write(new Event(Level.WARNING, "Événements de journal perdus, file pleine", NO_ARGS, null,
+                new Object[]{"perdus", lost, "totalPerdus", total, "politique", overflowPolicy.name()}));
     }
 
-    public void log(Level level, String message, Throwable thrown) { // log method to log a message and a throwable
-        logger.log(level, message, thrown); // log the message and the throwable to the logger
+    private String toJson(Event event, String message) {
+        StringBuilder json = new StringBuilder(message.length() + 128);
+        json.append("{\"ts\":\"").append(JSON_TIME.format(Instant.ofEpochMilli(event.timestamp).atZone(zone)))
+                .append("\",\"level\":\"").append(event.level.getName()).append('"');
+        appendField(json, "thread", event.thread);
+        appendField(json, "msg", message);
+        Object[] fields = event.fields;
+        if (fields != null) {
+            for (int i = 0; i + 1 < fields.length; i += 2) {
+                appendField(json, String.valueOf(fields[i]), fields[i + 1]);
+            }
+        }
+        Throwable thrown = event.thrown();
+        if (thrown != null) {
+            appendField(json, "error", thrown.toString());
+            StringWriter stack = new StringWriter();
+            thrown.printStackTrace(new PrintWriter(stack));
+            appendField(json, "stack", stack.toString());
+        }
+        return json.append('}').toString();
+    }
+
+    private static void appendField(StringBuilder json, String key, Object value) {
+        json.append(",\"");
+        appendEscaped(json, key);
+        json.append("\":");
+        if (value == null) {
+            json.append("null");
+        } else if (value instanceof Boolean || value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte
+                || (value instanceof Double && Double.isFinite((Double) value))
+                || (value instanceof Float && Float.isFinite((Float) value))) {
+            json.append(value);
+        } else {
+            json.append('"');
+            appendEscaped(json, safeToString(value));
+            json.append('"');
+        }
+    }
+
+    private static void appendEscaped(StringBuilder json, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+    }
+
+    private static String safeToString(Object value) {
+        try {
+            if (value instanceof Object[]) {
+                return Arrays.deepToString((Object[]) value);
+            }
+            return String.valueOf(value);
+        } catch (RuntimeException e) {
+            return "[toString a échoué: " + e + "]";
+        }
+    }
+
+    private void applyLevels() {
+        minLevel = levelSetting("log.level", Level.INFO).intValue();
+        consoleLevel = levelSetting("log.consoleLevel", Level.INFO).intValue();
+    }
+
+    private static Level levelSetting(String key, Level defaultValue) {
+        String value = AppConfig.get(key);
+        try {
+            return value == null || value.isBlank() ? defaultValue : Level.parse(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid log level for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    private static int intSetting(String key, int defaultValue) {
+        String value = AppConfig.get(key);
+        try {
+            return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid value for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    private static OverflowPolicy policySetting() {
+        String value = AppConfig.get("log.overflowPolicy");
+        try {
+            return value == null || value.isBlank() ? OverflowPolicy.KEEP_WARNINGS
+                    : OverflowPolicy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid value for log.overflowPolicy: " + value);
+            return OverflowPolicy.KEEP_WARNINGS;
+        }
+    }
+
+    /**
+     * Log call captured as is; formatting happens on the writer thread
+     */
+    private static final class Event {
+        private final long timestamp = System.currentTimeMillis();
+        private final String thread = Thread.currentThread().getName();
+        private final Level level;
+        private final String pattern;
+        private final Object[] args;
+        private final Throwable thrown;
+        private final Object[] fields;
+        private int used; // arguments consumed by placeholders, set by message()
+
+        private Event(Level level, String pattern, Object[] args, Throwable thrown, Object[] fields) {
+            this.level = level;
+            this.pattern = pattern == null ? "null" : pattern;
+            this.args = args == null ? NO_ARGS : args;
+            this.thrown = thrown;
+            this.fields = fields;
+        }
+
+        private String message() {
+            if (args.length == 0) {
+                return pattern;
+            }
+            StringBuilder message = new StringBuilder(pattern.length() + 16 * args.length);
+            int from = 0;
+            int placeholder;
+            used = 0;
+            while (used < args.length && (placeholder = pattern.indexOf("{}", from)) >= 0) {
+                message.append(pattern, from, placeholder).append(safeToString(args[used++]));
+                from = placeholder + 2;
+            }
+            return message.append(pattern, from, pattern.length()).toString();
+        }
+
+        private Throwable thrown() {
+            if (thrown != null) {
+                return thrown;
+            }
+            // Only once message() has run: a trailing Throwable not used by a placeholder
+            if (used < args.length && args[args.length - 1] instanceof Throwable) {
+                return (Throwable) args[args.length - 1];
+            }
+            return null;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,207 @@
+package com.employeemanagement.utils;
+
+import com.employeemanagement.config.AppConfig;
+
+import javax.swing.SwingUtilities;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Single bounded executor for database work started from the views.
+ * Callbacks run on the EDT. A task submitted with a key cancels the previous task with the same key
+ * (e.g. a newer refresh of the same table), and results of superseded tasks are never delivered.
+ * <p>
+ * Workers are platform threads: the MySQL driver blocks inside synchronized sections, which would
+ * pin virtual threads to their carrier, and concurrency is capped by the pool size anyway.
+ */
+public final class BackgroundTasks {
+    private static BackgroundTasks instance;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Task<?>> latestByKey = new ConcurrentHashMap<>();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder totalQueueNanos = new LongAdder();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+    private final LongAdder totalRunNanos = new LongAdder();
+
+    private BackgroundTasks() {
+        int threads = Math.max(1, AppConfig.getInt("ui.workerThreads", 4));
+        int queueSize = Math.max(1, AppConfig.getInt("ui.taskQueueSize", 100));
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), r -> {
+                    Thread t = new Thread(r, "db-worker-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static synchronized BackgroundTasks getInstance() {
+        if (instance == null) {
+            instance = new BackgroundTasks();
+        }
+        return instance;
+    }
+
+    /**
+     * Runs a task in the background
+     * @param key Tasks sharing a key replace each other (pending or running ones are cancelled), null for none
+     * @param onSuccess Called on the EDT with the result
+     * @param onError Called on the EDT with the failure, including rejection when the queue is full
+     */
+    public <T> Future<T> submit(String key, Callable<T> work, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        Task<T> task = new Task<>(key, work, onSuccess, onError);
+        if (key != null) {
+            Task<?> previous = latestByKey.put(key, task);
+            if (previous != null && previous.cancel(true)) {
+                cancelled.increment();
+            }
+        }
+        submitted.increment();
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            if (key != null) {
+                latestByKey.remove(key, task);
+            }
+            AppLogger.getInstance().log(Level.WARNING, "Tâche refusée, file d'attente pleine - {}", describe());
+            SwingUtilities.invokeLater(() -> onError.accept(
+                    new RejectedExecutionException("Trop d'opérations en cours, veuillez réessayer", e)));
+        }
+        return task;
+    }
+
+    /**
+     * Runs a task without result in the background
+     */
+    public Future<Void> run(String key, Action work, Runnable onSuccess, Consumer<Exception> onError) {
+        return submit(key, () -> {
+            work.run();
+            return null;
+        }, result -> onSuccess.run(), onError);
+    }
+
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    public long getCancelledCount() {
+        return cancelled.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public double getAverageQueueMillis() {
+        long started = completed.sum() + failed.sum();
+        return started == 0 ? 0 : totalQueueNanos.sum() / 1_000_000.0 / started;
+    }
+
+    public double getMaxQueueMillis() {
+        return maxQueueNanos.get() / 1_000_000.0;
+    }
+
+    public double getAverageRunMillis() {
+        long started = completed.sum() + failed.sum();
+        return started == 0 ? 0 : totalRunNanos.sum() / 1_000_000.0 / started;
+    }
+
+    public String describe() {
+        return String.format("Tâches [actives=%d, en attente=%d, soumises=%d, annulées=%d, refusées=%d, échecs=%d, " +
+                        "attente moy=%.1f ms, attente max=%.1f ms, exécution moy=%.1f ms]",
+                getActiveCount(), getQueueSize(), submitted.sum(), cancelled.sum(), rejected.sum(), failed.sum(),
+                getAverageQueueMillis(), getMaxQueueMillis(), getAverageRunMillis());
+    }
+
+    /**
+     * Stops the workers, for application shutdown
+     */
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            AppLogger.getInstance().log(Level.INFO, "Arrêt des tâches de fond - " + instance.describe());
+            instance.executor.shutdownNow();
+            instance = null;
+        }
+    }
+
+    private final class Task<T> extends FutureTask<T> {
+        private final String key;
+        private final Consumer<T> onSuccess;
+        private final Consumer<Exception> onError;
+        private final long submittedAt = System.nanoTime();
+
+        private Task(String key, Callable<T> work, Consumer<T> onSuccess, Consumer<Exception> onError) {
+            super(work);
+            this.key = key;
+            this.onSuccess = onSuccess;
+            this.onError = onError;
+        }
+
+        @Override
+        public void run() {
+            if (isCancelled()) {
+                return; // superseded while queued
+            }
+            long startedAt = System.nanoTime();
+            long queued = startedAt - submittedAt;
+            totalQueueNanos.add(queued);
+            maxQueueNanos.accumulateAndGet(queued, Math::max);
+            super.run();
+            totalRunNanos.add(System.nanoTime() - startedAt);
+        }
+
+        @Override
+        protected void done() {
+            if (key != null && !latestByKey.remove(key, this)) {
+                return; // superseded by a newer task with the same key
+            }
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                T result = get();
+                completed.increment();
+                SwingUtilities.invokeLater(() -> onSuccess.accept(result));
+            } catch (java.util.concurrent.ExecutionException e) {
+                failed.increment();
+                Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                SwingUtilities.invokeLater(() -> onError.accept(cause));
+            } catch (InterruptedException | CancellationException e) {
+                // Cancelled while finishing
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.employeemanagement.utils;
+
+import com.employeemanagement.models.Pointage;
+import com.employeemanagement.models.Salaire;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.format.DateTimeFormatter;
+import java.util.stream.Stream;
+
+/**
+ * CSV export utility (';' separated, UTF-8, as expected by French spreadsheet settings).
+ * Rows are written as they are read from a DAO stream, so exports of any size use constant memory.
+ * The streams are not closed here.
+ */
+public class CsvExporter {
+    private static final char SEPARATOR = ';';
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    /**
+     * Exports pointages, e.g. from PointageDAO.streamByPeriod()
+     * @return Number of rows written
+     */
+    public static long exportPointages(Stream<Pointage> pointages, String filePath) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            writeRow(writer, "ID", "ID Employé", "Employé", "Date", "Arrivée", "Départ", "Heures");
+            long[] count = {0};
+            pointages.forEachOrdered(p -> {
+                writeRow(writer,
+                        String.valueOf(p.getIdPointage()),
+                        String.valueOf(p.getEmployeId()),
+                        p.getEmployeNom(),
+                        p.getDate().format(DATE_FORMATTER),
+                        p.getHeureArrivee() != null ? p.getHeureArrivee().toString() : "",
+                        p.getHeureDepart() != null ? p.getHeureDepart().toString() : "",
+                        formatNumber(p.getHeuresTravaillees()));
+                count[0]++;
+            });
+            return count[0];
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Exports salary records, e.g. from SalaireDAO.streamByPeriod()
+     * @return Number of rows written
+     */
+    public static long exportSalaires(Stream<Salaire> salaires, String filePath) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            writeRow(writer, "ID", "ID Employé", "Employé", "Mois", "Année", "Salaire Brut", "Déductions", "Salaire Net");
+            long[] count = {0};
+            salaires.forEachOrdered(s -> {
+                writeRow(writer,
+                        String.valueOf(s.getIdSalaire()),
+                        String.valueOf(s.getEmployeId()),
+                        s.getEmployeNom(),
+                        String.valueOf(s.getMois()),
+                        String.valueOf(s.getAnnee()),
+                        formatNumber(s.getStoredSalaireBrut()),
+                        formatNumber(s.getDeductions()),
+                        formatNumber(s.getStoredSalaireNet()));
+                count[0]++;
+            });
+            return count[0];
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void writeRow(BufferedWriter writer, String... values) {
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(SEPARATOR);
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(SEPARATOR) < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String formatNumber(double value) {
+        return Money.formatPlain(Money.ofDouble(value));
+    }
+}
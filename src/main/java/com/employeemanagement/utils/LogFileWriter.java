@@ -0,0 +1,122 @@
+package com.employeemanagement.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Log file with size and daily rotation, used by the log writer thread only.
+ * The current file keeps its name (logs/app.log); rotated files are renamed app-yyyyMMdd-HHmmss.log
+ * and only the most recent ones are kept.
+ */
+final class LogFileWriter implements Closeable {
+    private static final DateTimeFormatter ROTATED_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final byte[] NEW_LINE = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private final Path file;
+    private final String baseName;
+    private final long maxBytes;
+    private final int maxFiles;
+
+    private OutputStream out;
+    private long size;
+    private LocalDate day;
+
+    /**
+     * @param maxBytes Size after which the file is rotated, 0 for no limit
+     * @param maxFiles Rotated files kept
+     */
+    LogFileWriter(Path file, long maxBytes, int maxFiles) throws IOException {
+        this.file = file.toAbsolutePath();
+        String name = file.getFileName().toString();
+        this.baseName = name.endsWith(".log") ? name.substring(0, name.length() - 4) : name;
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+        Files.createDirectories(this.file.getParent());
+        if (Files.isRegularFile(this.file)) {
+            LocalDate lastWritten = LocalDate.ofInstant(Files.getLastModifiedTime(this.file).toInstant(), ZoneId.systemDefault());
+            if (!lastWritten.equals(LocalDate.now())) {
+                rotate(); // left over from a previous day
+            }
+        }
+        open();
+    }
+
+    /**
+     * Appends a line, rotating the file first when it is full or from another day
+     */
+    void write(String line, long timestamp) throws IOException {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        LocalDate eventDay = LocalDate.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+        if (eventDay.isAfter(day) || (maxBytes > 0 && size > 0 && size + bytes.length > maxBytes)) {
+            out.close();
+            boolean rotated = false;
+            try {
+                rotate();
+                rotated = true;
+            } catch (IOException e) {
+                // Keep appending to the current file rather than losing the log (e.g. file locked on Windows)
+                System.err.println("Failed to rotate log file: " + e.getMessage());
+            } finally {
+                open();
+            }
+            if (!rotated) {
+                size = 0; // retry once another maxBytes have been written, not on every line
+            }
+        }
+        out.write(bytes);
+        out.write(NEW_LINE);
+        size += bytes.length + NEW_LINE.length;
+    }
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void open() throws IOException {
+        out = new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), 64 * 1024);
+        size = Files.size(file);
+        day = LocalDate.now();
+    }
+
+    private void rotate() throws IOException {
+        String stamp = LocalDateTime.now().format(ROTATED_SUFFIX);
+        Path target = file.resolveSibling(baseName + "-" + stamp + ".log");
+        for (int i = 1; Files.exists(target); i++) {
+            target = file.resolveSibling(baseName + "-" + stamp + "-" + i + ".log");
+        }
+        Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+        deleteOldFiles();
+    }
+
+    private void deleteOldFiles() throws IOException {
+        List<Path> rotated = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(file.getParent(), baseName + "-*.log")) {
+            files.forEach(rotated::add);
+        }
+        rotated.sort(null); // names sort by rotation time
+        for (int i = 0; i < rotated.size() - maxFiles; i++) {
+            Files.deleteIfExists(rotated.get(i));
+        }
+    }
+}
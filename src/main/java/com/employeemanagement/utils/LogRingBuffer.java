@@ -0,0 +1,81 @@
+package com.employeemanagement.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue between the threads that log and the single log writer thread.
+ * Each slot carries a sequence number telling whether it is free for the producer at a given
+ * position or filled for the consumer, so producers only contend on one compare-and-set and never
+ * wait: {@link #offer} fails immediately when the buffer is full.
+ */
+final class LogRingBuffer<E> {
+    private final Object[] items;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong(); // next position to fill, shared by producers
+    private volatile long head; // next position to read, only written by the consumer
+
+    /**
+     * @param capacity Rounded up to a power of two
+     */
+    LogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        items = new Object[size];
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Adds an element, from any thread
+     * @return false when the buffer is full
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items[index] = element;
+                    sequences.set(index, position + 1); // publishes the element to the consumer
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false; // slot not yet read by the consumer: full
+            } else {
+                position = tail.get(); // another producer took this position
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element, from the consumer thread only
+     * @return null when the buffer is empty
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long position = head;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = (E) items[index];
+        items[index] = null;
+        sequences.set(index, position + mask + 1); // frees the slot for the next lap
+        head = position + 1;
+        return element;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
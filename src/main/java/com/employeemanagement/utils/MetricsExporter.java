@@ -0,0 +1,158 @@
+package com.employeemanagement.utils;
+
+import com.employeemanagement.config.AppConfig;
+import com.employeemanagement.config.QueryMetrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Publishes the application metrics in the Prometheus text format:
+ * on http://127.0.0.1:{metrics.httpPort}/metrics when the port is set, and/or rewritten every
+ * metrics.fileIntervalSeconds into metrics.file (for the node exporter textfile collector).
+ * Both are disabled by default.
+ */
+public final class MetricsExporter {
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static HttpServer server;
+    private static ScheduledExecutorService fileWriter;
+
+    private MetricsExporter() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Starts the configured exports
+     */
+    public static synchronized void start() {
+        int port = AppConfig.getInt("metrics.httpPort", 0);
+        if (port > 0 && server == null) {
+            try {
+                // Loopback only: the metrics include SQL method names and are not meant to leave the workstation
+                server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+                server.createContext("/metrics", MetricsExporter::handle);
+                server.setExecutor(Executors.newSingleThreadExecutor(r -> {
+                    Thread t = new Thread(r, "metrics-http");
+                    t.setDaemon(true);
+                    return t;
+                }));
+                server.start();
+                AppLogger.getInstance().log(Level.INFO, "Métriques disponibles sur http://127.0.0.1:{}/metrics", port);
+            } catch (IOException e) {
+                server = null;
+                AppLogger.getInstance().log(Level.WARNING, "Impossible d'ouvrir le port des métriques " + port, e);
+            }
+        }
+
+        String file = AppConfig.get("metrics.file", "");
+        if (!file.isBlank() && fileWriter == null) {
+            long interval = Math.max(1, AppConfig.getLong("metrics.fileIntervalSeconds", 30));
+            Path target = Paths.get(file);
+            fileWriter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "metrics-file");
+                t.setDaemon(true);
+                return t;
+            });
+            fileWriter.scheduleWithFixedDelay(() -> writeFile(target), interval, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stops the exports, writing the metrics file one last time
+     */
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (fileWriter != null) {
+            fileWriter.shutdownNow();
+            fileWriter = null;
+            writeFile(Paths.get(AppConfig.get("metrics.file", "")));
+        }
+    }
+
+    /**
+     * @return All metrics in the Prometheus text format
+     */
+    public static String scrape() {
+        StringBuilder out = new StringBuilder(8192);
+        QueryMetrics.writePrometheus(out);
+
+        BackgroundTasks tasks = BackgroundTasks.getInstance();
+        gauge(out, "employee_tasks_active", "Tâches de fond en cours", tasks.getActiveCount());
+        gauge(out, "employee_tasks_queued", "Tâches de fond en attente", tasks.getQueueSize());
+        counter(out, "employee_tasks_submitted_total", "Tâches de fond soumises", tasks.getSubmittedCount());
+        counter(out, "employee_tasks_rejected_total", "Tâches de fond refusées", tasks.getRejectedCount());
+
+        AppLogger logger = AppLogger.getInstance();
+        counter(out, "employee_log_events_total", "Événements de journal enregistrés", logger.getLoggedCount());
+        counter(out, "employee_log_dropped_total", "Événements de journal perdus", logger.getDroppedCount());
+        gauge(out, "employee_log_backlog", "Événements de journal en attente d'écriture", logger.getBacklog());
+
+        PayslipCache payslips = PayslipCache.getInstance();
+        counter(out, "employee_payslip_cache_hits_total", "Fiches de paie servies par le cache", payslips.getHitCount());
+        counter(out, "employee_payslip_cache_misses_total", "Fiches de paie générées", payslips.getMissCount());
+        counter(out, "employee_payslip_cache_evictions_total", "Fiches de paie retirées du cache", payslips.getEvictionCount());
+        gauge(out, "employee_payslip_cache_bytes", "Taille du cache des fiches de paie", payslips.getTotalBytes());
+        return out.toString();
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void writeFile(Path target) {
+        try {
+            Path absolute = target.toAbsolutePath();
+            Files.createDirectories(absolute.getParent());
+            // Written aside then renamed, so that readers never see a partial file
+            Path temporary = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+            Files.write(temporary, scrape().getBytes(StandardCharsets.UTF_8));
+            Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            AppLogger.getInstance().log(Level.WARNING, "Échec de l'écriture du fichier de métriques " + target, e);
+        }
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, long value) {
+        metric(out, name, help, "gauge", value);
+    }
+
+    private static void counter(StringBuilder out, String name, String help, long value) {
+        metric(out, name, help, "counter", value);
+    }
+
+    private static void metric(StringBuilder out, String name, String help, String type, long value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        out.append(name).append(' ').append(value).append('\n');
+    }
+}
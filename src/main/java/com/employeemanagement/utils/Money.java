@@ -0,0 +1,117 @@
+package com.employeemanagement.utils;
+
+/**
+ * Exact money arithmetic on amounts held as a long number of centimes.
+ * Amounts converted from double are rounded to the nearest centime, halves away from zero, and
+ * rates are applied in basis points (1/100 of a percent) with the same rule, so that totals are
+ * exact sums of their parts. Arithmetic works on primitives and does not allocate; the formatters
+ * append to a caller's or a per-thread buffer instead of going through String.format.
+ */
+public final class Money {
+    public static final String MAD = "MAD";
+    public static final String EURO = "€";
+
+    private static final long BASIS_POINTS = 10_000;
+    // No-break space: keeps amounts on one line and exists in the standard PDF fonts
+    private static final char GROUPING_SEPARATOR = '\u00A0';
+    private static final char DECIMAL_SEPARATOR = ',';
+    // Absorbs the binary representation error of amounts such as 1.005 (stored as 1.00499999...)
+    private static final double EPSILON = 1e-6;
+    private static final double MAX_CENTIMES = 9.0e18;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    private Money() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * @return The amount in centimes, rounded to the nearest centime (halves away from zero)
+     * @throws IllegalArgumentException if the amount is not finite or too large
+     */
+    public static long ofDouble(double amount) {
+        double scaled = Math.abs(amount) * 100 + 0.5 + EPSILON;
+        if (!(scaled < MAX_CENTIMES)) { // also rejects NaN
+            throw new IllegalArgumentException("Montant invalide: " + amount);
+        }
+        long centimes = (long) scaled;
+        return amount < 0 ? -centimes : centimes;
+    }
+
+    /**
+     * @return The amount in units, for the double-based model and JDBC parameters
+     */
+    public static double toDouble(long centimes) {
+        return centimes / 100.0;
+    }
+
+    /**
+     * @return The amount rounded to the centime, as a double
+     */
+    public static double round(double amount) {
+        return toDouble(ofDouble(amount));
+    }
+
+    /**
+     * Applies a rate, e.g. 700 basis points for 7%
+     * @return The share of the amount, rounded to the nearest centime (halves away from zero)
+     * @throws ArithmeticException on overflow
+     */
+    public static long applyRate(long centimes, long basisPoints) {
+        long product = Math.multiplyExact(centimes, basisPoints);
+        long half = BASIS_POINTS / 2;
+        return product >= 0 ? (product + half) / BASIS_POINTS : -((half - product) / BASIS_POINTS);
+    }
+
+    /**
+     * @return e.g. "12 345,67 MAD"
+     */
+    public static String format(long centimes, String currency) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        appendTo(out, centimes, true);
+        return out.append(' ').append(currency).toString();
+    }
+
+    /**
+     * @return e.g. "12345,67", without grouping nor currency (CSV files)
+     */
+    public static String formatPlain(long centimes) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        appendTo(out, centimes, false);
+        return out.toString();
+    }
+
+    /**
+     * Appends the amount with two decimals and a comma, grouping thousands if asked
+     */
+    public static StringBuilder appendTo(StringBuilder out, long centimes, boolean grouping) {
+        if (centimes < 0) {
+            out.append('-');
+        }
+        long units = Math.abs(centimes / 100); // cannot overflow, unlike Math.abs(centimes)
+        int cents = (int) Math.abs(centimes % 100);
+
+        if (!grouping) {
+            out.append(units);
+        } else {
+            long divisor = 1;
+            while (units / divisor >= 1000) {
+                divisor *= 1000;
+            }
+            out.append(units / divisor);
+            while (divisor > 1) {
+                divisor /= 1000;
+                int group = (int) (units / divisor % 1000);
+                out.append(GROUPING_SEPARATOR)
+                        .append((char) ('0' + group / 100))
+                        .append((char) ('0' + group / 10 % 10))
+                        .append((char) ('0' + group % 10));
+            }
+        }
+        return out.append(DECIMAL_SEPARATOR)
+                .append((char) ('0' + cents / 10))
+                .append((char) ('0' + cents % 10));
+    }
+}
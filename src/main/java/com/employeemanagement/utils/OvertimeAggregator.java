@@ -0,0 +1,101 @@
+package com.employeemanagement.utils;
+
+import com.employeemanagement.dao.PointageDAO;
+import com.employeemanagement.models.Salaire;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Derives regular and overtime hours from the pointage records of a month.
+ * Hours worked beyond the month's standard hours (working days x payroll.hoursPerDay) are overtime.
+ */
+public class OvertimeAggregator {
+    private final PointageDAO pointageDAO;
+
+    public OvertimeAggregator() {
+        this(new PointageDAO());
+    }
+
+    public OvertimeAggregator(PointageDAO pointageDAO) {
+        this.pointageDAO = pointageDAO;
+    }
+
+    /**
+     * Hours worked by one employee during a month
+     */
+    public static final class HeuresMois {
+        private final int employeId;
+        private final int jours;
+        private final double heuresNormales;
+        private final double heuresSupplementaires;
+
+        private HeuresMois(int employeId, int jours, double heuresNormales, double heuresSupplementaires) {
+            this.employeId = employeId;
+            this.jours = jours;
+            this.heuresNormales = heuresNormales;
+            this.heuresSupplementaires = heuresSupplementaires;
+        }
+
+        public int getEmployeId() {
+            return employeId;
+        }
+
+        public int getJours() {
+            return jours;
+        }
+
+        public double getHeuresNormales() {
+            return heuresNormales;
+        }
+
+        public double getHeuresSupplementaires() {
+            return heuresSupplementaires;
+        }
+
+        public double getHeuresTotales() {
+            return heuresNormales + heuresSupplementaires;
+        }
+    }
+
+    /**
+     * Reads all pointages of the month in one ordered query and splits each employee's hours
+     * @return Hours by employee id; employees without pointage are absent
+     */
+    public Map<Integer, HeuresMois> aggregate(int mois, int annee) throws SQLException {
+        double standardHours = SalaryCalculator.getStandardHoursInMonth(mois, annee);
+        Map<Integer, HeuresMois> hours = new HashMap<>();
+        pointageDAO.forEachEmployeeHours(mois, annee, (employeId, heures, jours) -> {
+            double overtime = Math.max(0, heures - standardHours);
+            hours.put(employeId, new HeuresMois(employeId, jours, heures - overtime, overtime));
+        });
+        return hours;
+    }
+
+    /**
+     * Sets overtime hours and rate on salary records of the same month.
+     * The rate is the base hourly rate increased by the overtime premium.
+     * @return Number of salary records that received overtime
+     */
+    public static int applyTo(Collection<Salaire> salaires, Map<Integer, HeuresMois> hours) {
+        int updated = 0;
+        for (Salaire salaire : salaires) {
+            if (applyTo(salaire, hours.get(salaire.getEmployeId()))) {
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    static boolean applyTo(Salaire salaire, HeuresMois heures) {
+        if (heures == null || heures.getHeuresSupplementaires() <= 0 || salaire.getMontant() <= 0) {
+            return false;
+        }
+        salaire.setHeuresSupplementaires(heures.getHeuresSupplementaires());
+        salaire.setTauxHeuresSupplementaires(
+                SalaryCalculator.getOvertimeHourlyRate(salaire.getMontant(), salaire.getMois(), salaire.getAnnee()));
+        return true;
+    }
+}
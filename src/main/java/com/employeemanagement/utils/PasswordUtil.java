@@ -1,12 +1,22 @@
 package com.employeemanagement.utils;
 
+import com.employeemanagement.config.AppConfig;
 import org.mindrot.jbcrypt.BCrypt;
 
+import java.util.logging.Level;
+
 /**
- * Utility class for password hashing and verification using BCrypt
+ * Utility class for password hashing and verification using BCrypt.
+ * The work factor is security.bcryptCost when set. Otherwise it is calibrated at startup so that one
+ * hash takes about security.bcryptTargetMillis on this machine, never below security.bcryptMinCost.
+ * Hashes made with another work factor are upgraded at the next successful login (see {@link #needsRehash}).
  */
 public class PasswordUtil {
-    private static final int WORKLOAD = 12; // BCrypt workload factor
+    private static final int DEFAULT_WORKLOAD = 12; // until calibrated, and the default floor
+    private static final int MAX_WORKLOAD = 31;
+    private static final int CALIBRATION_WORKLOAD = 8; // cheap hash timed to extrapolate the others
+
+    private static volatile int calibratedWorkload;
 
     /**
      * Hashes a plain text password using BCrypt
@@ -17,7 +27,76 @@ public class PasswordUtil {
         if (plainPassword == null || plainPassword.trim().isEmpty()) {
             throw new IllegalArgumentException("Le mot de passe ne peut pas être vide");
         }
-        return BCrypt.hashpw(plainPassword, BCrypt.gensalt(WORKLOAD));
+        return BCrypt.hashpw(plainPassword, BCrypt.gensalt(getWorkload()));
+    }
+
+    /**
+     * @return The BCrypt work factor used for new hashes
+     */
+    public static int getWorkload() {
+        int configured = AppConfig.getInt("security.bcryptCost", 0);
+        if (configured > 0) {
+            return Math.min(configured, MAX_WORKLOAD);
+        }
+        return calibratedWorkload > 0 ? calibratedWorkload : DEFAULT_WORKLOAD;
+    }
+
+    /**
+     * Tells whether a hash should be replaced after a successful login.
+     * A configured work factor is enforced both ways; a calibrated one only upgrades hashes,
+     * so that slower workstations do not downgrade hashes made on faster ones.
+     */
+    public static boolean needsRehash(String hashedPassword) {
+        int cost = workloadOf(hashedPassword);
+        if (cost < 0) {
+            return true;
+        }
+        boolean configured = AppConfig.getInt("security.bcryptCost", 0) > 0;
+        return configured ? cost != getWorkload() : cost < getWorkload();
+    }
+
+    /**
+     * Measures BCrypt on this machine and picks the highest work factor within the target latency.
+     * Each extra unit doubles the time, so a cheap hash is timed and extrapolated. Meant to run once,
+     * in the background, at startup.
+     * @return The calibrated work factor
+     */
+    public static int calibrateWorkload() {
+        long targetMillis = Math.max(1, AppConfig.getLong("security.bcryptTargetMillis", 250));
+        int minWorkload = Math.max(4, Math.min(AppConfig.getInt("security.bcryptMinCost", DEFAULT_WORKLOAD), MAX_WORKLOAD));
+
+        String salt = BCrypt.gensalt(CALIBRATION_WORKLOAD);
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) { // best of three, the first run also warms up the JIT
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        int workload = CALIBRATION_WORKLOAD;
+        double millis = bestNanos / 1_000_000.0;
+        while (workload < MAX_WORKLOAD && millis * 2 <= targetMillis) {
+            workload++;
+            millis *= 2;
+        }
+        calibratedWorkload = Math.max(workload, minWorkload);
+        AppLogger.getInstance().log(Level.INFO, String.format(
+                "Facteur BCrypt calibré: %d (%.0f ms estimés, cible %d ms)",
+                calibratedWorkload, millis * (1L << (calibratedWorkload - workload)), targetMillis));
+        return calibratedWorkload;
+    }
+
+    private static int workloadOf(String hashedPassword) {
+        // $2a$12$... : the cost is the two digits after the second '$'
+        if (hashedPassword == null || hashedPassword.length() < 7 || hashedPassword.charAt(0) != '$') {
+            return -1;
+        }
+        int costStart = hashedPassword.indexOf('$', 1) + 1;
+        try {
+            return Integer.parseInt(hashedPassword.substring(costStart, costStart + 2));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return -1;
+        }
     }
 
     /**
@@ -27,15 +106,10 @@ public class PasswordUtil {
      * @return true if the passwords match, false otherwise
      */
     public static boolean verifyPassword(String plainPassword, String hashedPassword) {
-        System.out.println("PasswordUtil.verifyPassword - Plain password: " + plainPassword);
-        System.out.println("PasswordUtil.verifyPassword - Hashed password from DB: " + hashedPassword);
-
         if (plainPassword == null || hashedPassword == null) {
             return false;
         }
-        boolean isMatch = BCrypt.checkpw(plainPassword, hashedPassword);
-        System.out.println("PasswordUtil.verifyPassword - BCrypt.checkpw result: " + isMatch);
-        return isMatch;
+        return BCrypt.checkpw(plainPassword, hashedPassword);
     }
 
     /**
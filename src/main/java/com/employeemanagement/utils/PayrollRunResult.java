@@ -0,0 +1,180 @@
+package com.employeemanagement.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Summary of a monthly payroll run: counts, amounts and timings
+ */
+public final class PayrollRunResult {
+    private static final int MAX_ERRORS = 50; // keep the report readable for large runs
+
+    private final int mois;
+    private final int annee;
+    private int executionId;
+    private int employeCount;
+    private int skipped; // already saved by the interrupted run this one resumed
+    private int inserted;
+    private int updated;
+    private int unchanged;
+    private int applied; // saved, but the driver did not tell whether inserted or updated
+    private int failed;
+    private long totalBrut; // centimes, so that company totals are exact sums
+    private long totalNet;
+    private long computeMillis;
+    private long persistMillis;
+    private final List<String> errors = new ArrayList<>();
+
+    PayrollRunResult(int mois, int annee) {
+        this.mois = mois;
+        this.annee = annee;
+    }
+
+    public int getMois() {
+        return mois;
+    }
+
+    public int getAnnee() {
+        return annee;
+    }
+
+    /**
+     * @return Id of the run in the paie_execution journal
+     */
+    public int getExecutionId() {
+        return executionId;
+    }
+
+    /**
+     * @return Employees processed by this run, i.e. not already saved by the run it resumed
+     */
+    public int getEmployeCount() {
+        return employeCount;
+    }
+
+    /**
+     * @return Active employees already saved by the interrupted run this one resumed, 0 for a new run
+     */
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public boolean isResumed() {
+        return skipped > 0;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    public int getApplied() {
+        return applied;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public int getSucceeded() {
+        return employeCount - failed;
+    }
+
+    public double getTotalBrut() {
+        return Money.toDouble(totalBrut);
+    }
+
+    public double getTotalNet() {
+        return Money.toDouble(totalNet);
+    }
+
+    public long getTotalBrutCentimes() {
+        return totalBrut;
+    }
+
+    public long getTotalNetCentimes() {
+        return totalNet;
+    }
+
+    public long getComputeMillis() {
+        return computeMillis;
+    }
+
+    public long getPersistMillis() {
+        return persistMillis;
+    }
+
+    public long getTotalMillis() {
+        return computeMillis + persistMillis;
+    }
+
+    /**
+     * @return Processed employees per second over the whole run
+     */
+    public double getThroughput() {
+        long millis = getTotalMillis();
+        return millis == 0 ? employeCount * 1000.0 : employeCount * 1000.0 / millis;
+    }
+
+    /**
+     * @return The first error messages, prefixed with the employee id
+     */
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    void setExecutionId(int executionId) {
+        this.executionId = executionId;
+    }
+
+    void setEmployeCount(int employeCount) {
+        this.employeCount = employeCount;
+    }
+
+    void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+
+    void addPersisted(int inserted, int updated, int unchanged, int applied) {
+        this.inserted += inserted;
+        this.updated += updated;
+        this.unchanged += unchanged;
+        this.applied += applied;
+    }
+
+    void addAmounts(long brut, long net) {
+        totalBrut += brut;
+        totalNet += net;
+    }
+
+    void addFailure(int employeId, String error) {
+        failed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add("Employé " + employeId + ": " + error);
+        }
+    }
+
+    void setComputeMillis(long computeMillis) {
+        this.computeMillis = computeMillis;
+    }
+
+    void setPersistMillis(long persistMillis) {
+        this.persistMillis = persistMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Paie %02d/%d [exécution=%d, employés=%d, déjà traités=%d, enregistrés=%d (créés=%d, " +
+                        "mis à jour=%d, inchangés=%d), échecs=%d, calcul=%d ms, enregistrement=%d ms, débit=%.0f employés/s]",
+                mois, annee, executionId, employeCount, skipped, getSucceeded(), inserted, updated, unchanged, failed,
+                computeMillis, persistMillis, getThroughput());
+    }
+}
@@ -0,0 +1,247 @@
+package com.employeemanagement.utils;
+
+import com.employeemanagement.config.AppConfig;
+import com.employeemanagement.dao.BatchResult;
+import com.employeemanagement.dao.EmployeDAO;
+import com.employeemanagement.dao.PaieExecutionDAO;
+import com.employeemanagement.dao.PointageDAO;
+import com.employeemanagement.dao.SalaireDAO;
+import com.employeemanagement.models.Employe;
+import com.employeemanagement.models.PaieExecution;
+import com.employeemanagement.models.Salaire;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.stream.IntStream;
+
+/**
+ * Computes and saves the salaries of all active employees for one month.
+ * Overtime is first derived from the month's pointages in one pass, salaries are then computed
+ * in parallel on a dedicated fork-join pool (payroll.parallelism threads) and written with
+ * batched upserts, so running the same period again updates the existing rows.
+ * <p>
+ * Each run is recorded in the paie_execution journal. Employees are saved in increasing id order,
+ * one slice of db.batchSize per transaction, and the journal's checkpoint (last employee id) is
+ * saved after each committed slice. A run of a period whose last run did not complete resumes
+ * after that checkpoint; a slice committed just before a crash but not checkpointed is saved
+ * again, which the upsert makes harmless.
+ */
+public class PayrollRunner {
+    public enum Phase {
+        CALCUL,
+        ENREGISTREMENT
+    }
+
+    /**
+     * Receives progress updates; called from worker threads
+     */
+    public interface ProgressListener {
+        void onProgress(Phase phase, int done, int total);
+    }
+
+    private static final ProgressListener NO_PROGRESS = (phase, done, total) -> { };
+
+    private final EmployeDAO employeDAO;
+    private final SalaireDAO salaireDAO;
+    private final PaieExecutionDAO executionDAO;
+    private final OvertimeAggregator overtimeAggregator;
+
+    public PayrollRunner() {
+        this(new EmployeDAO(), new SalaireDAO(), new PointageDAO(), new PaieExecutionDAO());
+    }
+
+    public PayrollRunner(EmployeDAO employeDAO, SalaireDAO salaireDAO, PointageDAO pointageDAO) {
+        this(employeDAO, salaireDAO, pointageDAO, new PaieExecutionDAO());
+    }
+
+    public PayrollRunner(EmployeDAO employeDAO, SalaireDAO salaireDAO, PointageDAO pointageDAO,
+                         PaieExecutionDAO executionDAO) {
+        this.employeDAO = employeDAO;
+        this.salaireDAO = salaireDAO;
+        this.executionDAO = executionDAO;
+        this.overtimeAggregator = new OvertimeAggregator(pointageDAO);
+    }
+
+    public PayrollRunResult run(int mois, int annee) throws SQLException, InterruptedException {
+        return run(mois, annee, NO_PROGRESS);
+    }
+
+    /**
+     * Runs payroll for the given period, resuming its last run if that one did not complete
+     * @throws IllegalArgumentException if the period is invalid
+     * @throws InterruptedException if the calling thread is interrupted during the computation
+     */
+    public PayrollRunResult run(int mois, int annee, ProgressListener listener)
+            throws SQLException, InterruptedException {
+        if (!SalaryCalculator.isValidPeriod(mois, annee)) {
+            throw new IllegalArgumentException("Période de paie invalide: " + mois + "/" + annee);
+        }
+        ProgressListener progress = listener != null ? listener : NO_PROGRESS;
+        PayrollRunResult result = new PayrollRunResult(mois, annee);
+
+        PaieExecution execution = executionDAO.findUnfinished(mois, annee).orElse(null);
+        if (execution == null) {
+            execution = new PaieExecution(mois, annee);
+            executionDAO.insert(execution);
+        } else {
+            execution.setStatut(PaieExecution.EN_COURS);
+        }
+        result.setExecutionId(execution.getIdExecution());
+
+        // Increasing id order, so that the checkpoint tells which employees are done
+        int checkpoint = execution.getDernierEmploye();
+        List<Employe> actifs = employeDAO.loadActive();
+        List<Employe> employes = new ArrayList<>(actifs.size());
+        for (Employe employe : actifs) {
+            if (employe.getIdEmploye() > checkpoint) {
+                employes.add(employe);
+            }
+        }
+        employes.sort(Comparator.comparingInt(Employe::getIdEmploye));
+        result.setEmployeCount(employes.size());
+        result.setSkipped(actifs.size() - employes.size());
+        AppLogger.getInstance().event(Level.INFO, checkpoint > 0 ? "Reprise de la paie" : "Lancement de la paie",
+                "mois", mois, "annee", annee, "execution", execution.getIdExecution(),
+                "employes", employes.size(), "dejaTraites", result.getSkipped());
+
+        try {
+            long start = System.nanoTime();
+            Map<Integer, OvertimeAggregator.HeuresMois> heures = overtimeAggregator.aggregate(mois, annee);
+            Salaire[] salaires = compute(employes, heures, mois, annee, progress, result);
+            result.setComputeMillis((System.nanoTime() - start) / 1_000_000);
+
+            start = System.nanoTime();
+            persist(employes, salaires, execution, progress, result);
+            result.setPersistMillis((System.nanoTime() - start) / 1_000_000);
+
+            executionDAO.finish(execution, PaieExecution.TERMINEE);
+        } catch (SQLException | InterruptedException | RuntimeException e) {
+            markFailed(execution);
+            throw e;
+        }
+
+        AppLogger.getInstance().event(Level.INFO, result.toString(),
+                "mois", mois, "annee", annee, "execution", execution.getIdExecution(),
+                "reussis", result.getSucceeded(), "echecs", result.getFailed(),
+                "calculMs", result.getComputeMillis(), "enregistrementMs", result.getPersistMillis());
+        return result;
+    }
+
+    /**
+     * Best effort: if the database is unreachable the run stays EN_COURS, which is resumed as well
+     */
+    private void markFailed(PaieExecution execution) {
+        try {
+            executionDAO.finish(execution, PaieExecution.ECHOUEE);
+        } catch (SQLException e) {
+            AppLogger.getInstance().log(Level.WARNING, "Journal de paie non mis à jour pour l'exécution {}",
+                    execution.getIdExecution(), e);
+        }
+    }
+
+    private Salaire[] compute(List<Employe> employes, Map<Integer, OvertimeAggregator.HeuresMois> heures,
+                              int mois, int annee, ProgressListener progress, PayrollRunResult result)
+            throws InterruptedException {
+        int total = employes.size();
+        Salaire[] salaires = new Salaire[total];
+        String[] errors = new String[total];
+        AtomicInteger done = new AtomicInteger();
+        int step = Math.max(1, total / 100);
+        LocalDate datePaiement = LocalDate.now();
+
+        int parallelism = AppConfig.getInt("payroll.parallelism", Runtime.getRuntime().availableProcessors());
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            pool.submit(() -> IntStream.range(0, total).parallel().forEach(i -> {
+                try {
+                    Employe employe = employes.get(i);
+                    salaires[i] = computeSalaire(employe, heures.get(employe.getIdEmploye()), mois, annee, datePaiement);
+                } catch (RuntimeException e) {
+                    errors[i] = e.getMessage();
+                }
+                int n = done.incrementAndGet();
+                if (n % step == 0 || n == total) {
+                    progress.onProgress(Phase.CALCUL, n, total);
+                }
+            })).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erreur lors du calcul de la paie", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        for (int i = 0; i < total; i++) {
+            if (errors[i] != null) {
+                result.addFailure(employes.get(i).getIdEmploye(), errors[i]);
+            }
+        }
+        return salaires;
+    }
+
+    private static Salaire computeSalaire(Employe employe, OvertimeAggregator.HeuresMois heures,
+                                          int mois, int annee, LocalDate datePaiement) {
+        Salaire salaire = new Salaire();
+        salaire.setEmployeId(employe.getIdEmploye());
+        salaire.setEmployeNom(employe.getFullName());
+        salaire.setMois(mois);
+        salaire.setAnnee(annee);
+        salaire.setMontant(employe.getSalaireDeBase());
+        salaire.setDatePaiement(datePaiement);
+        OvertimeAggregator.applyTo(salaire, heures);
+        return SalaryCalculator.calculateSalary(salaire, employe.getTypeContrat());
+    }
+
+    /**
+     * Saves the salaries slice by slice, in the order of the employees, and checkpoints the run
+     * after each committed slice. Employees whose salary could not be computed or saved count as
+     * processed: resuming would fail on them again, running the period anew retries them.
+     */
+    private void persist(List<Employe> employes, Salaire[] salaires, PaieExecution execution,
+                         ProgressListener progress, PayrollRunResult result) throws SQLException {
+        int total = salaires.length;
+        int sliceSize = Math.max(1, AppConfig.getInt("db.batchSize", 500));
+        List<Salaire> slice = new ArrayList<>(Math.min(sliceSize, total));
+        for (int from = 0; from < total; from += sliceSize) {
+            int to = Math.min(from + sliceSize, total);
+            slice.clear();
+            for (int i = from; i < to; i++) {
+                if (salaires[i] != null) {
+                    slice.add(salaires[i]);
+                }
+            }
+            int failed = (to - from) - slice.size(); // computation failures, already reported
+
+            // One batched saveAll call per slice, committed in one transaction
+            if (!slice.isEmpty()) {
+                BatchResult batch = salaireDAO.saveAll(slice);
+                for (int i = 0; i < batch.size(); i++) {
+                    Salaire salaire = slice.get(i);
+                    if (batch.getOutcome(i) == BatchResult.Outcome.FAILED) {
+                        result.addFailure(salaire.getEmployeId(), batch.getError(i));
+                        failed++;
+                    } else {
+                        result.addAmounts(Money.ofDouble(salaire.getStoredSalaireBrut()), Money.ofDouble(salaire.getStoredSalaireNet()));
+                    }
+                }
+                result.addPersisted(batch.count(BatchResult.Outcome.INSERTED),
+                        batch.count(BatchResult.Outcome.UPDATED),
+                        batch.count(BatchResult.Outcome.UNCHANGED),
+                        batch.count(BatchResult.Outcome.APPLIED));
+            }
+
+            execution.setDernierEmploye(employes.get(to - 1).getIdEmploye());
+            execution.setTraites(execution.getTraites() + (to - from));
+            execution.setEchecs(execution.getEchecs() + failed);
+            executionDAO.checkpoint(execution);
+            progress.onProgress(Phase.ENREGISTREMENT, to, total);
+        }
+    }
+}
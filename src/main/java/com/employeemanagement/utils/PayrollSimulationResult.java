@@ -0,0 +1,114 @@
+package com.employeemanagement.utils;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Company-wide totals of a payroll simulation, current and simulated, overall and by service.
+ * Amounts are in centimes (see {@link Money}).
+ */
+public final class PayrollSimulationResult {
+    private final int mois;
+    private final int annee;
+    private final Totals total;
+    private final Map<String, Totals> byService;
+    private final long millis;
+
+    PayrollSimulationResult(int mois, int annee, Totals total, Map<String, Totals> byService, long millis) {
+        this.mois = mois;
+        this.annee = annee;
+        this.total = total;
+        this.byService = byService;
+        this.millis = millis;
+    }
+
+    public int getMois() {
+        return mois;
+    }
+
+    public int getAnnee() {
+        return annee;
+    }
+
+    public Totals getTotal() {
+        return total;
+    }
+
+    /**
+     * @return Totals by service name, sorted by name
+     */
+    public Map<String, Totals> getByService() {
+        return Collections.unmodifiableMap(byService);
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Simulation de paie %02d/%d [employés=%d, brut=%s -> %s, net=%s -> %s, durée=%d ms]",
+                mois, annee, total.getEmployes(),
+                Money.format(total.getBrutActuel(), Money.MAD), Money.format(total.getBrutSimule(), Money.MAD),
+                Money.format(total.getNetActuel(), Money.MAD), Money.format(total.getNetSimule(), Money.MAD), millis);
+    }
+
+    /**
+     * Current and simulated sums over a group of employees
+     */
+    public static final class Totals {
+        private int employes;
+        private long brutActuel;
+        private long cotisationsActuelles;
+        private long impotActuel;
+        private long netActuel;
+        private long brutSimule;
+        private long cotisationsSimulees;
+        private long impotSimule;
+        private long netSimule;
+
+        Totals() {
+        }
+
+        void add(long[] actuel, long[] simule) {
+            employes++;
+            brutActuel += actuel[0];
+            cotisationsActuelles += actuel[1];
+            impotActuel += actuel[2];
+            netActuel += actuel[3];
+            brutSimule += simule[0];
+            cotisationsSimulees += simule[1];
+            impotSimule += simule[2];
+            netSimule += simule[3];
+        }
+
+        void addAll(Totals other) {
+            employes += other.employes;
+            brutActuel += other.brutActuel;
+            cotisationsActuelles += other.cotisationsActuelles;
+            impotActuel += other.impotActuel;
+            netActuel += other.netActuel;
+            brutSimule += other.brutSimule;
+            cotisationsSimulees += other.cotisationsSimulees;
+            impotSimule += other.impotSimule;
+            netSimule += other.netSimule;
+        }
+
+        public int getEmployes() { return employes; }
+        public long getBrutActuel() { return brutActuel; }
+        public long getCotisationsActuelles() { return cotisationsActuelles; }
+        public long getImpotActuel() { return impotActuel; }
+        public long getNetActuel() { return netActuel; }
+        public long getBrutSimule() { return brutSimule; }
+        public long getCotisationsSimulees() { return cotisationsSimulees; }
+        public long getImpotSimule() { return impotSimule; }
+        public long getNetSimule() { return netSimule; }
+
+        /**
+         * @return Change of the gross payroll, in percent of the current one
+         */
+        public double getVariationBrut() {
+            return brutActuel == 0 ? 0 : (brutSimule - brutActuel) * 100.0 / brutActuel;
+        }
+    }
+}
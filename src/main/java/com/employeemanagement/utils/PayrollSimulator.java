@@ -0,0 +1,167 @@
+package com.employeemanagement.utils;
+
+import com.employeemanagement.config.AppConfig;
+import com.employeemanagement.dao.EmployeDAO;
+import com.employeemanagement.dao.PointageDAO;
+import com.employeemanagement.models.Employe;
+import com.employeemanagement.models.Salaire;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+
+/**
+ * What-if payroll: recomputes the salaries of all active employees for one month in memory, as
+ * they are and under a {@link Scenario} (raises by service, other rate tables, another overtime
+ * premium), and sums both by service. Nothing is written to the database.
+ * <p>
+ * Employees and overtime are read once; the computation runs as a parallel stream on a dedicated
+ * fork-join pool of payroll.parallelism threads, like {@link PayrollRunner}.
+ */
+public class PayrollSimulator {
+    private static final String NO_SERVICE = "Sans service";
+
+    private final EmployeDAO employeDAO;
+    private final OvertimeAggregator overtimeAggregator;
+
+    public PayrollSimulator() {
+        this(new EmployeDAO(), new PointageDAO());
+    }
+
+    public PayrollSimulator(EmployeDAO employeDAO, PointageDAO pointageDAO) {
+        this.employeDAO = employeDAO;
+        this.overtimeAggregator = new OvertimeAggregator(pointageDAO);
+    }
+
+    /**
+     * Hypothetical changes; unset ones keep the current values
+     */
+    public static final class Scenario {
+        private final Map<Integer, Long> raisesByService = new HashMap<>(); // basis points
+        private long raise;
+        private double overtimePremium = SalaryCalculator.OVERTIME_RATE;
+        private RateTables rateTables;
+
+        /**
+         * Raise of the base salary of the employees whose service has no raise of its own
+         */
+        public Scenario raise(double percent) {
+            this.raise = Money.ofDouble(percent);
+            return this;
+        }
+
+        public Scenario raise(int serviceId, double percent) {
+            raisesByService.put(serviceId, Money.ofDouble(percent));
+            return this;
+        }
+
+        /**
+         * @param premium Multiplier of the hourly rate for overtime, e.g. 1.5 for +50%
+         */
+        public Scenario overtimePremium(double premium) {
+            if (premium <= 0) {
+                throw new IllegalArgumentException("La majoration des heures supplémentaires doit être positive");
+            }
+            this.overtimePremium = premium;
+            return this;
+        }
+
+        /**
+         * @param tables Tables to apply instead of the ones in force, e.g. {@link RateTables#withOverrides}
+         */
+        public Scenario rateTables(RateTables tables) {
+            this.rateTables = tables;
+            return this;
+        }
+    }
+
+    /**
+     * Simulates the payroll of the given month
+     * @throws IllegalArgumentException if the month is invalid or has no rate table
+     * @throws InterruptedException if the calling thread is interrupted during the computation
+     */
+    public PayrollSimulationResult simulate(int mois, int annee, Scenario scenario)
+            throws SQLException, InterruptedException {
+        if (mois < 1 || mois > 12) {
+            throw new IllegalArgumentException("Mois invalide: " + mois);
+        }
+        long start = System.nanoTime();
+        List<Employe> employes = employeDAO.loadActive();
+        Map<Integer, OvertimeAggregator.HeuresMois> heures = overtimeAggregator.aggregate(mois, annee);
+
+        // Per-run constants, so that the per-employee work is only arithmetic and array reads
+        RateTables current = RateTables.getInstance();
+        RateTables simulated = scenario.rateTables != null ? scenario.rateTables : current;
+        current.rulesFor(mois, annee, null); // fails early if no table covers the month
+        simulated.rulesFor(mois, annee, null);
+        double standardHours = SalaryCalculator.getStandardHoursInMonth(mois, annee);
+
+        int parallelism = AppConfig.getInt("payroll.parallelism", Runtime.getRuntime().availableProcessors());
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        Map<String, PayrollSimulationResult.Totals> byService;
+        try {
+            byService = pool.submit(() -> employes.parallelStream().collect(
+                    HashMap<String, PayrollSimulationResult.Totals>::new,
+                    (totals, employe) -> {
+                        OvertimeAggregator.HeuresMois h = heures.get(employe.getIdEmploye());
+                        double overtime = h != null ? h.getHeuresSupplementaires() : 0;
+                        long[] actuel = compute(employe.getSalaireDeBase(), overtime,
+                                SalaryCalculator.OVERTIME_RATE, standardHours,
+                                current.rulesFor(mois, annee, employe.getTypeContrat()));
+                        long raise = scenario.raisesByService.getOrDefault(employe.getServiceId(), scenario.raise);
+                        long base = Money.ofDouble(employe.getSalaireDeBase());
+                        long[] simule = compute(Money.toDouble(base + Money.applyRate(base, raise)), overtime,
+                                scenario.overtimePremium, standardHours,
+                                simulated.rulesFor(mois, annee, employe.getTypeContrat()));
+                        totals.computeIfAbsent(serviceName(employe), name -> new PayrollSimulationResult.Totals())
+                                .add(actuel, simule);
+                    },
+                    (left, right) -> right.forEach((name, totals) ->
+                            left.computeIfAbsent(name, n -> new PayrollSimulationResult.Totals()).addAll(totals))
+            )).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erreur lors de la simulation de la paie", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        PayrollSimulationResult.Totals total = new PayrollSimulationResult.Totals();
+        for (PayrollSimulationResult.Totals totals : byService.values()) {
+            total.addAll(totals);
+        }
+        PayrollSimulationResult result = new PayrollSimulationResult(mois, annee, total, new TreeMap<>(byService),
+                (System.nanoTime() - start) / 1_000_000);
+        AppLogger.getInstance().log(Level.INFO, result.toString());
+        return result;
+    }
+
+    /**
+     * @return Gross, contributions, income tax and net, in centimes
+     */
+    private static long[] compute(double montant, double heuresSupplementaires, double premium,
+                                  double standardHours, RateTables.Rules rules) {
+        Salaire salaire = new Salaire();
+        salaire.setMontant(montant);
+        if (heuresSupplementaires > 0 && montant > 0) {
+            salaire.setHeuresSupplementaires(heuresSupplementaires);
+            salaire.setTauxHeuresSupplementaires(montant / standardHours * premium);
+        }
+        SalaryCalculator.calculateSalary(salaire, rules);
+        return new long[]{
+                Money.ofDouble(salaire.getStoredSalaireBrut()),
+                Money.ofDouble(salaire.getCotisations()),
+                Money.ofDouble(salaire.getRetenues()),
+                Money.ofDouble(salaire.getStoredSalaireNet())
+        };
+    }
+
+    private static String serviceName(Employe employe) {
+        String name = employe.getServiceName();
+        return name != null && !name.isBlank() ? name : NO_SERVICE;
+    }
+}
@@ -0,0 +1,292 @@
+package com.employeemanagement.utils;
+
+import com.employeemanagement.config.AppConfig;
+import com.employeemanagement.dao.EmployeDAO;
+import com.employeemanagement.dao.SalaireDAO;
+import com.employeemanagement.models.Employe;
+import com.employeemanagement.models.Salaire;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generates the payslips of every salary record of one month.
+ * PDFs are rendered in memory, or read from {@link PayslipCache} when unchanged, by payslip.parallelism
+ * worker threads, with at most two per worker waiting to be written, and written one at a time by the
+ * calling thread into a single ZIP archive or into one directory per service.
+ */
+public class PayslipBatch {
+    public enum Output {
+        ZIP,
+        SERVICE_DIRECTORIES
+    }
+
+    /**
+     * Receives progress updates; called from the thread running the batch
+     */
+    public interface ProgressListener {
+        void onProgress(int done, int total);
+    }
+
+    private static final ProgressListener NO_PROGRESS = (done, total) -> { };
+    private static final String NO_SERVICE = "Sans service";
+
+    private final EmployeDAO employeDAO;
+    private final SalaireDAO salaireDAO;
+
+    public PayslipBatch() {
+        this(new EmployeDAO(), new SalaireDAO());
+    }
+
+    public PayslipBatch(EmployeDAO employeDAO, SalaireDAO salaireDAO) {
+        this.employeDAO = employeDAO;
+        this.salaireDAO = salaireDAO;
+    }
+
+    /**
+     * Generates the payslips of the given period
+     * @param target The ZIP file to create, or the base directory of the service directories
+     * @throws IllegalArgumentException if the period is invalid
+     * @throws InterruptedException if the calling thread is interrupted; a partial ZIP is not kept
+     */
+    public PayslipBatchResult run(int mois, int annee, Output output, Path target, ProgressListener listener)
+            throws SQLException, IOException, InterruptedException {
+        if (!SalaryCalculator.isValidPeriod(mois, annee)) {
+            throw new IllegalArgumentException("Période de paie invalide: " + mois + "/" + annee);
+        }
+        ProgressListener progress = listener != null ? listener : NO_PROGRESS;
+        PayslipBatchResult result = new PayslipBatchResult(mois, annee, target);
+
+        // Read up front: a streamed result set left open while the PDFs render would hold the
+        // connection for the whole run and hit the server write timeout
+        List<Salaire> salaires;
+        try (Stream<Salaire> stream = salaireDAO.streamByPeriod(mois, annee)) {
+            salaires = stream.collect(Collectors.toList());
+        }
+        Map<Integer, Employe> employes = new HashMap<>();
+        for (Employe employe : employeDAO.loadAll()) {
+            employes.put(employe.getIdEmploye(), employe);
+        }
+        AppLogger.getInstance().event(Level.INFO, "Génération des fiches de paie",
+                "mois", mois, "annee", annee, "fiches", salaires.size(), "sortie", output.name());
+
+        long start = System.nanoTime();
+        int parallelism = Math.max(1, AppConfig.getInt("payslip.parallelism", Runtime.getRuntime().availableProcessors()));
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "payslip-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        CompletionService<Rendered> completion = new ExecutorCompletionService<>(pool);
+        int maxPending = parallelism * 2; // bounds the PDFs held in memory
+        int total = salaires.size();
+        int step = Math.max(1, total / 100);
+
+        try (Sink sink = output == Output.ZIP ? new ZipSink(target) : new DirectorySink(target)) {
+            int submitted = 0;
+            int written = 0;
+            for (Salaire salaire : salaires) {
+                if (submitted - written >= maxPending) {
+                    write(completion.take(), sink, result);
+                    written++;
+                    if (written % step == 0) {
+                        progress.onProgress(written, total);
+                    }
+                }
+                Employe employe = employes.get(salaire.getEmployeId());
+                completion.submit(() -> render(employe, salaire));
+                submitted++;
+            }
+            while (written < submitted) {
+                write(completion.take(), sink, result);
+                written++;
+                if (written % step == 0 || written == total) {
+                    progress.onProgress(written, total);
+                }
+            }
+            sink.commit();
+        } finally {
+            pool.shutdownNow();
+        }
+        result.setMillis((System.nanoTime() - start) / 1_000_000);
+
+        AppLogger.getInstance().event(Level.INFO, result.toString(),
+                "mois", mois, "annee", annee, "generees", result.getGenerated(), "echecs", result.getFailed(),
+                "pages", result.getPages(), "pagesParSeconde", Math.round(result.getPagesPerSecond()));
+        return result;
+    }
+
+    private static Rendered render(Employe employe, Salaire salaire) {
+        if (employe == null) {
+            return new Rendered(salaire.getEmployeId(), null, null, null, 0, false, "Employé introuvable");
+        }
+        try {
+            PayslipCache.Payslip payslip = PayslipCache.getInstance().render(employe, salaire);
+            String directory = employe.getServiceName() != null && !employe.getServiceName().isBlank()
+                    ? safeName(employe.getServiceName()) : NO_SERVICE;
+            String fileName = String.format("%d_%s_%02d-%d.pdf", employe.getIdEmploye(),
+                    safeName(employe.getFullName()), salaire.getMois(), salaire.getAnnee());
+            return new Rendered(employe.getIdEmploye(), directory, fileName, payslip.getPdf(), payslip.getPages(),
+                    payslip.isCached(), null);
+        } catch (Exception e) {
+            return new Rendered(employe.getIdEmploye(), null, null, null, 0, false, e.getMessage());
+        }
+    }
+
+    private static void write(Future<Rendered> future, Sink sink, PayslipBatchResult result)
+            throws IOException, InterruptedException {
+        Rendered rendered;
+        try {
+            rendered = future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erreur lors de la génération des fiches de paie", e.getCause());
+        }
+        if (rendered.error != null) {
+            result.addFailure(rendered.employeId, rendered.error);
+            return;
+        }
+        sink.write(rendered.directory, rendered.fileName, rendered.pdf);
+        result.addGenerated(rendered.pages, rendered.pdf.length, rendered.cached);
+    }
+
+    /**
+     * Keeps letters, digits, spaces, dots, dashes and underscores
+     */
+    private static String safeName(String name) {
+        String safe = name.replaceAll("[^\\p{L}\\p{N} ._-]", "_").trim();
+        return safe.isEmpty() || safe.startsWith(".") ? "_" + safe : safe;
+    }
+
+    private static final class Rendered {
+        private final int employeId;
+        private final String directory;
+        private final String fileName;
+        private final byte[] pdf;
+        private final int pages;
+        private final boolean cached;
+        private final String error;
+
+        private Rendered(int employeId, String directory, String fileName, byte[] pdf, int pages, boolean cached,
+                         String error) {
+            this.employeId = employeId;
+            this.directory = directory;
+            this.fileName = fileName;
+            this.pdf = pdf;
+            this.pages = pages;
+            this.cached = cached;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Destination of the rendered PDFs, only used by the thread running the batch
+     */
+    private interface Sink extends Closeable {
+        void write(String directory, String fileName, byte[] pdf) throws IOException;
+
+        /**
+         * Called once every PDF is written; a sink closed without it discards what it can
+         */
+        void commit() throws IOException;
+    }
+
+    /**
+     * Single archive with one folder per service, written aside and renamed when complete
+     */
+    private static final class ZipSink implements Sink {
+        private final Path target;
+        private final Path temporary;
+        private final ZipOutputStream zip;
+        private boolean committed;
+
+        private ZipSink(Path target) throws IOException {
+            this.target = target.toAbsolutePath();
+            Files.createDirectories(this.target.getParent());
+            this.temporary = this.target.resolveSibling(this.target.getFileName() + ".tmp");
+            this.zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 64 * 1024));
+            // PDF content streams are already compressed
+            zip.setLevel(Deflater.BEST_SPEED);
+        }
+
+        @Override
+        public void write(String directory, String fileName, byte[] pdf) throws IOException {
+            zip.putNextEntry(new ZipEntry(directory + "/" + fileName));
+            zip.write(pdf);
+            zip.closeEntry();
+        }
+
+        @Override
+        public void commit() throws IOException {
+            zip.close();
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                zip.close();
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+
+    /**
+     * One directory per service under the base directory
+     */
+    private static final class DirectorySink implements Sink {
+        private final Path base;
+        private final Set<String> created = new HashSet<>();
+
+        private DirectorySink(Path base) throws IOException {
+            this.base = base;
+            Files.createDirectories(base);
+        }
+
+        @Override
+        public void write(String directory, String fileName, byte[] pdf) throws IOException {
+            Path dir = base.resolve(directory);
+            if (created.add(directory)) {
+                Files.createDirectories(dir);
+            }
+            try (OutputStream out = Files.newOutputStream(dir.resolve(fileName))) {
+                out.write(pdf);
+            }
+        }
+
+        @Override
+        public void commit() {
+            // Files are complete as soon as written
+        }
+
+        @Override
+        public void close() {
+            // Nothing held open between files
+        }
+    }
+}
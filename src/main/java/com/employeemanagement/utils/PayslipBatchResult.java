@@ -0,0 +1,116 @@
+package com.employeemanagement.utils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Summary of a bulk payslip generation: counts, size and throughput
+ */
+public final class PayslipBatchResult {
+    private static final int MAX_ERRORS = 50; // keep the report readable for large runs
+
+    private final int mois;
+    private final int annee;
+    private final Path target;
+    private int generated;
+    private int failed;
+    private int cached;
+    private long pages;
+    private long bytes;
+    private long millis;
+    private final List<String> errors = new ArrayList<>();
+
+    PayslipBatchResult(int mois, int annee, Path target) {
+        this.mois = mois;
+        this.annee = annee;
+        this.target = target;
+    }
+
+    public int getMois() {
+        return mois;
+    }
+
+    public int getAnnee() {
+        return annee;
+    }
+
+    /**
+     * @return The ZIP archive or the base directory written
+     */
+    public Path getTarget() {
+        return target;
+    }
+
+    public int getGenerated() {
+        return generated;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return Generated payslips served from the payslip cache
+     */
+    public int getCached() {
+        return cached;
+    }
+
+    public long getPages() {
+        return pages;
+    }
+
+    /**
+     * @return Size of the generated PDFs, before ZIP compression
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * @return Rendered pages per second over the whole run
+     */
+    public double getPagesPerSecond() {
+        return millis == 0 ? pages * 1000.0 : pages * 1000.0 / millis;
+    }
+
+    /**
+     * @return The first error messages, prefixed with the employee id
+     */
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    void addGenerated(int pages, long bytes, boolean fromCache) {
+        generated++;
+        if (fromCache) {
+            cached++;
+        }
+        this.pages += pages;
+        this.bytes += bytes;
+    }
+
+    void addFailure(int employeId, String error) {
+        failed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add("Employé " + employeId + ": " + error);
+        }
+    }
+
+    void setMillis(long millis) {
+        this.millis = millis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Fiches de paie %02d/%d [générées=%d (dont cache=%d), échecs=%d, pages=%d, taille=%d Ko, " +
+                        "durée=%d ms, débit=%.0f pages/s, cible=%s]",
+                mois, annee, generated, cached, failed, pages, bytes / 1024, millis, getPagesPerSecond(), target);
+    }
+}
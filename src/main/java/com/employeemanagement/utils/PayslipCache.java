@@ -0,0 +1,322 @@
+package com.employeemanagement.utils;
+
+import com.employeemanagement.config.AppConfig;
+import com.employeemanagement.models.Employe;
+import com.employeemanagement.models.Salaire;
+import com.itextpdf.text.DocumentException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Disk cache of rendered payslips, keyed by the SHA-256 of everything printed on them
+ * ({@link PayslipGenerator#describeInputs}), so that re-sends and audit exports only render
+ * the payslips whose employee or salary data changed.
+ * <p>
+ * Files are named {idEmploye}-{hash}.{pages}.pdf in payslip.cache.dir. The least recently used ones are
+ * deleted once the directory exceeds payslip.cache.maxMegabytes. Recency survives restarts through
+ * the file modification times.
+ * <p>
+ * Payslips hold personal and salary data: the cache is off unless maxMegabytes is set, the directory
+ * is created readable by its owner only where the file system allows it, and the payslips of a
+ * deleted employee are removed with {@link #purgeEmployee(int)}.
+ */
+public final class PayslipCache {
+    private static final String SUFFIX = ".pdf";
+
+    private static PayslipCache instance;
+
+    private final Path directory;
+    // Access-ordered: iteration starts with the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private PayslipCache(Path directory) {
+        this.directory = directory;
+        load();
+    }
+
+    public static synchronized PayslipCache getInstance() {
+        if (instance == null) {
+            instance = new PayslipCache(Paths.get(AppConfig.get("payslip.cache.dir", "cache/payslips")));
+        }
+        return instance;
+    }
+
+    /**
+     * A rendered payslip
+     */
+    public static final class Payslip {
+        private final byte[] pdf;
+        private final int pages;
+        private final boolean cached;
+
+        private Payslip(byte[] pdf, int pages, boolean cached) {
+            this.pdf = pdf;
+            this.pages = pages;
+            this.cached = cached;
+        }
+
+        public byte[] getPdf() {
+            return pdf;
+        }
+
+        public int getPages() {
+            return pages;
+        }
+
+        /**
+         * @return true if served from the cache rather than rendered
+         */
+        public boolean isCached() {
+            return cached;
+        }
+    }
+
+    private static final class Entry {
+        private final Path file;
+        private final long size;
+        private final int pages;
+
+        private Entry(Path file, long size, int pages) {
+            this.file = file;
+            this.size = size;
+            this.pages = pages;
+        }
+    }
+
+    /**
+     * Returns the payslip from the cache, or renders and stores it. Safe to call from several threads.
+     */
+    public Payslip render(Employe employe, Salaire salaire) throws DocumentException {
+        long maxBytes = maxBytes();
+        if (maxBytes <= 0) {
+            return renderNew(employe, salaire);
+        }
+        String key = employe.getIdEmploye() + "-" + sha256(PayslipGenerator.describeInputs(employe, salaire));
+
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry != null) {
+            try {
+                byte[] pdf = Files.readAllBytes(entry.file);
+                Files.setLastModifiedTime(entry.file, FileTime.fromMillis(System.currentTimeMillis()));
+                hits.increment();
+                return new Payslip(pdf, entry.pages, true);
+            } catch (NoSuchFileException e) {
+                // Evicted by another thread or deleted by hand: render again
+                synchronized (this) {
+                    remove(key, entry);
+                }
+            } catch (IOException e) {
+                AppLogger.getInstance().log(Level.WARNING, "Lecture impossible dans le cache des fiches de paie: {}",
+                        entry.file, e);
+            }
+        }
+
+        misses.increment();
+        Payslip payslip = renderNew(employe, salaire);
+        store(key, payslip, maxBytes);
+        return payslip;
+    }
+
+    /**
+     * Deletes the cached payslips of an employee, e.g. once the employee is deleted
+     */
+    public void purgeEmployee(int idEmploye) {
+        String prefix = idEmploye + "-";
+        List<Path> purged = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Entry> entry = it.next();
+                if (entry.getKey().startsWith(prefix)) {
+                    totalBytes -= entry.getValue().size;
+                    purged.add(entry.getValue().file);
+                    it.remove();
+                }
+            }
+        }
+        for (Path file : purged) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                AppLogger.getInstance().log(Level.WARNING, "Suppression impossible de {}", file, e);
+            }
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * @return Share of the requests served from the cache, between 0 and 1
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    public String describe() {
+        return String.format("Cache des fiches de paie [fiches=%d, taille=%d Ko, trouvées=%d, absentes=%d, " +
+                        "taux=%.1f%%, évictions=%d]", size(), getTotalBytes() / 1024, getHitCount(),
+                getMissCount(), getHitRate() * 100, getEvictionCount());
+    }
+
+    private static Payslip renderNew(Employe employe, Salaire salaire) throws DocumentException {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream(8192);
+        int pages = PayslipGenerator.generatePayslip(employe, salaire, pdf);
+        return new Payslip(pdf.toByteArray(), pages, false);
+    }
+
+    private void store(String key, Payslip payslip, long maxBytes) {
+        Path file = directory.resolve(key + "." + payslip.getPages() + SUFFIX);
+        try {
+            createDirectory();
+            // Written aside then renamed, so that a concurrent reader never sees a partial file
+            Path temporary = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temporary, payslip.getPdf());
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            AppLogger.getInstance().log(Level.WARNING, "Écriture impossible dans le cache des fiches de paie: {}", file, e);
+            return;
+        }
+
+        List<Path> evicted = new ArrayList<>();
+        synchronized (this) {
+            Entry previous = entries.put(key, new Entry(file, payslip.getPdf().length, payslip.getPages()));
+            if (previous != null) {
+                totalBytes -= previous.size;
+            }
+            totalBytes += payslip.getPdf().length;
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Entry> candidate = eldest.next();
+                if (candidate.getKey().equals(key)) {
+                    continue; // keep the payslip just stored, even if alone over the limit
+                }
+                totalBytes -= candidate.getValue().size;
+                evicted.add(candidate.getValue().file);
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+        for (Path old : evicted) {
+            try {
+                Files.deleteIfExists(old);
+            } catch (IOException e) {
+                AppLogger.getInstance().log(Level.FINE, "Suppression impossible de {}", old, e);
+            }
+        }
+    }
+
+    private void createDirectory() throws IOException {
+        if (Files.isDirectory(directory)) {
+            return;
+        }
+        if (directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.createDirectories(directory,
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        } else {
+            Files.createDirectories(directory);
+        }
+    }
+
+    private void remove(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            totalBytes -= entry.size;
+        }
+    }
+
+    /**
+     * Indexes the files left by previous runs, least recently used first
+     */
+    private void load() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.deleteIfExists(file); // left by an interrupted write
+                } else if (name.endsWith(SUFFIX)) {
+                    files.add(file);
+                }
+            }
+            files.sort((a, b) -> Long.compare(a.toFile().lastModified(), b.toFile().lastModified()));
+            for (Path file : files) {
+                String[] parts = file.getFileName().toString().split("\\.");
+                if (parts.length != 3 || !parts[1].matches("\\d{1,6}")) {
+                    continue; // not written by this cache
+                }
+                long size = Files.size(file);
+                entries.put(parts[0], new Entry(file, size, Integer.parseInt(parts[1])));
+                totalBytes += size;
+            }
+        } catch (IOException e) {
+            AppLogger.getInstance().log(Level.WARNING, "Lecture impossible du cache des fiches de paie {}", directory, e);
+        }
+        AppLogger.getInstance().log(Level.INFO, describe());
+    }
+
+    private static long maxBytes() {
+        return AppConfig.getLong("payslip.cache.maxMegabytes", 0) * 1024 * 1024;
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+}
@@ -7,7 +7,9 @@ import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfWriter;
 
+import java.io.BufferedOutputStream;
 import java.io.FileOutputStream;
+import java.io.OutputStream;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 
@@ -20,6 +22,8 @@ public class PayslipGenerator {
     private static final Font NORMAL_FONT = new Font(Font.FontFamily.HELVETICA, 10, Font.NORMAL);
     private static final DateTimeFormatter DATE_FORMATTER = 
         DateTimeFormatter.ofPattern("dd MMMM yyyy", Locale.FRANCE);
+    // Bump when the layout changes, so that cached payslips are rendered again
+    private static final int LAYOUT_VERSION = 2;
 
     /**
      * Generates a PDF payslip for an employee
@@ -28,9 +32,23 @@ public class PayslipGenerator {
      * @param outputPath The path where to save the PDF
      * @throws Exception if there's an error generating the PDF
      */
-    public static void generatePayslip(Employe employe, Salaire salaire, String outputPath) throws Exception { // Create a new document
+    public static void generatePayslip(Employe employe, Salaire salaire, String outputPath) throws Exception {
+        // Served from the payslip cache when the same inputs were already rendered
+        byte[] pdf = PayslipCache.getInstance().render(employe, salaire).getPdf();
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(outputPath))) {
+            out.write(pdf);
+        }
+    }
+
+    /**
+     * Generates a PDF payslip into a stream, which is left open (e.g. a ZIP entry)
+     * @return The number of pages written
+     * @throws DocumentException if there's an error generating the PDF
+     */
+    public static int generatePayslip(Employe employe, Salaire salaire, OutputStream out) throws DocumentException { // Create a new document
         Document document = new Document();
-        PdfWriter.getInstance(document, new FileOutputStream(outputPath)); // Initialize PDF writer
+        PdfWriter writer = PdfWriter.getInstance(document, out); // Initialize PDF writer
+        writer.setCloseStream(false);
         document.open();
 
         // Add title
@@ -56,9 +74,34 @@ public class PayslipGenerator {
         document.add(Paragraph.getInstance("\n"));
 
         // Add signature section
-        document.add(createSignatureSection());
+        document.add(PdfTemplates.signatureSection());
 
+        int pages = writer.getPageNumber();
         document.close();
+        return pages;
+    }
+
+    /**
+     * @return Every value printed on the payslip, in a stable form: two payslips with the same
+     * description are identical, which makes it the key of {@link PayslipCache}
+     */
+    static String describeInputs(Employe employe, Salaire salaire) {
+        StringBuilder text = new StringBuilder(512).append("v").append(LAYOUT_VERSION);
+        Object[] values = {
+                employe.getIdEmploye(), employe.getFullName(), employe.getServiceName(), employe.getPoste(),
+                employe.getDateEmbauche(), employe.getDateNaissance(), employe.getCin(), employe.getCnss(),
+                employe.getTelephone(), employe.getEmail(), employe.getAdresse(), employe.getStatut(),
+                employe.getTypeContrat(),
+                salaire.getMois(), salaire.getAnnee(), salaire.getMontant(), salaire.getHeuresSupplementaires(),
+                salaire.getTauxHeuresSupplementaires(), salaire.getPrimes(), salaire.getAvantages(),
+                salaire.getCotisations(), salaire.getRetenues(), salaire.getStoredSalaireBrut(),
+                salaire.getDeductions(), salaire.getStoredSalaireNet()
+        };
+        for (Object value : values) {
+            // Unit separator, not found in real values: fields cannot run into each other
+            text.append('\u001f').append(value);
+        }
+        return text.toString();
     }
 
     private static PdfPTable createEmployeeInfoTable(Employe employe) throws DocumentException { // Create a table for employee information
@@ -94,12 +137,21 @@ public class PayslipGenerator {
         table.setSpacingBefore(10);
         table.setSpacingAfter(10);
 
+        if (salaire.getMontant() == 0 && salaire.getStoredSalaireBrut() > 0) {
+            // Record read back from the database: only the stored totals are known
+            addTableRow(table, "Salaire brut", SalaryCalculator.formatSalary(salaire.getStoredSalaireBrut()));
+            addTableRow(table, "Cotisations et retenues", SalaryCalculator.formatSalary(salaire.getDeductions()));
+            addTableRow(table, "Salaire net", SalaryCalculator.formatSalary(salaire.getStoredSalaireNet()));
+            return table;
+        }
+
         // Earnings
         addTableRow(table, "Salaire de base", SalaryCalculator.formatSalary(salaire.getMontant()));
         if (salaire.getHeuresSupplementaires() > 0) {
-            addTableRow(table, "Heures supplémentaires", 
-                SalaryCalculator.formatSalary(salaire.getHeuresSupplementaires() * 
-                salaire.getTauxHeuresSupplementaires() * 1.25));
+            // The overtime rate already includes the premium (see SalaryCalculator.getOvertimeHourlyRate)
+            addTableRow(table, "Heures supplémentaires",
+                SalaryCalculator.formatSalary(salaire.getHeuresSupplementaires() *
+                salaire.getTauxHeuresSupplementaires()));
         }
         if (salaire.getPrimes() > 0) {
             addTableRow(table, "Primes", SalaryCalculator.formatSalary(salaire.getPrimes()));
@@ -126,28 +178,8 @@ public class PayslipGenerator {
         return table;
     }
 
-    private static PdfPTable createSignatureSection() throws DocumentException { // Create a table for signatures
-        PdfPTable table = new PdfPTable(2);
-        table.setWidthPercentage(100);
-        table.setSpacingBefore(20);
-
-        PdfPCell cell = new PdfPCell(new Paragraph("Signature de l'employé", NORMAL_FONT));
-        cell.setBorder(Rectangle.NO_BORDER);
-        cell.setHorizontalAlignment(Element.ALIGN_CENTER);
-        table.addCell(cell);
-
-        cell = new PdfPCell(new Paragraph("Signature du responsable RH", NORMAL_FONT));
-        cell.setBorder(Rectangle.NO_BORDER);
-        cell.setHorizontalAlignment(Element.ALIGN_CENTER);
-        table.addCell(cell);
-
-        return table;
-    }
-
     private static void addTableRow(PdfPTable table, String label, String value) throws DocumentException { // Helper method to add a row to a table
-        PdfPCell labelCell = new PdfPCell(new Paragraph(label, NORMAL_FONT));
-        labelCell.setBorder(Rectangle.NO_BORDER);
-        table.addCell(labelCell);
+        table.addCell(PdfTemplates.labelCell(label));
 
         PdfPCell valueCell = new PdfPCell(new Paragraph(value, NORMAL_FONT));
         valueCell.setBorder(Rectangle.NO_BORDER);
@@ -1,13 +1,16 @@
 package com.employeemanagement.utils;
 
+import com.employeemanagement.config.AppConfig;
 import com.employeemanagement.models.*;
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.*;
+import java.io.BufferedOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Comprehensive PDF export utility for employee management system
@@ -26,14 +29,31 @@ public class PdfExporter {
      * Exports employee list to PDF
      */
     public static void exportEmployees(List<Employe> employees, String filePath) throws DocumentException, IOException {
+        exportEmployees(employees.iterator(), filePath);
+    }
+
+    /**
+     * Exports employees read from a DAO stream (e.g. EmployeDAO.streamAllActive()), consumed row by row.
+     * The stream is not closed here.
+     */
+    public static void exportEmployees(Stream<Employe> employees, String filePath) throws DocumentException, IOException {
+        exportEmployees(employees.iterator(), filePath);
+    }
+
+    /**
+     * Exports employees from any cursor, e.g. the iterator of a streamed query.
+     * Rows are written to the file every pdf.flushRows rows, so memory use does not grow with the list.
+     */
+    public static void exportEmployees(Iterator<Employe> employees, String filePath) throws DocumentException, IOException {
         Document document = new Document(PageSize.A4.rotate());
-        PdfWriter writer = PdfWriter.getInstance(document, new FileOutputStream(filePath));
+        try (BufferedOutputStream out = new BufferedOutputStream(new FileOutputStream(filePath), 64 * 1024)) {
+            PdfWriter writer = PdfWriter.getInstance(document, out);
 
-        document.open();
-        addDocumentHeader(writer, document, "Liste des Employés");
-        addEmployeeTable(document, employees);
-        addDocumentFooter(writer, document);
-        document.close();
+            document.open();
+            addDocumentHeader(writer, document, "Liste des Employés");
+            addEmployeeTable(document, employees);
+            document.close();
+        }
     }
 
     /**
@@ -46,7 +66,6 @@ public class PdfExporter {
         document.open();
         addDocumentHeader(writer, document, "Fiche de Paie");
         addPayslipContent(document, salaire);
-        addDocumentFooter(writer, document);
         document.close();
     }
 
@@ -60,7 +79,6 @@ public class PdfExporter {
         document.open();
         addDocumentHeader(writer, document, "Fiche Employé - " + employe.getFullName());
         addEmployeeProfileContent(document, employe);
-        addDocumentFooter(writer, document);
         document.close();
     }
 
@@ -76,50 +94,31 @@ public class PdfExporter {
         document.addCreationDate();
         document.addCreator("EMS v1.0");
 
-        // Add watermark for draft documents
-        PdfContentByte canvas = writer.getDirectContentUnder();
-        canvas.beginText();
-        canvas.setFontAndSize(BaseFont.createFont(), 60);
-        canvas.setColorFill(BaseColor.LIGHT_GRAY);
-        canvas.showTextAligned(Element.ALIGN_CENTER, "EMS",
-                document.getPageSize().getWidth()/2,
-                document.getPageSize().getHeight()/2, 45);
-        canvas.endText();
+        // Watermark and footer on every page
+        PdfTemplates.decoratePages(writer);
     }
 
-    private static void addDocumentFooter(PdfWriter writer, Document document) throws DocumentException {
-        PdfPTable footer = new PdfPTable(1);
-        footer.setTotalWidth(document.getPageSize().getWidth() - document.leftMargin() - document.rightMargin());
-
-        Paragraph p = new Paragraph("Généré le: " + LocalDate.now().format(DATE_FORMATTER),
-                new Font(Font.FontFamily.HELVETICA, 8, Font.ITALIC));
-        p.setAlignment(Element.ALIGN_RIGHT);
-
-        PdfPCell cell = new PdfPCell(p);
-        cell.setBorder(Rectangle.NO_BORDER);
-        footer.addCell(cell);
-
-        footer.writeSelectedRows(0, -1,
-                document.leftMargin(),
-                document.bottomMargin(),
-                writer.getDirectContent());
-    }
-
-    private static void addEmployeeTable(Document document, List<Employe> employees) throws DocumentException {
+    private static void addEmployeeTable(Document document, Iterator<Employe> employees) throws DocumentException {
         PdfPTable table = new PdfPTable(6);
         table.setWidthPercentage(100);
         table.setSpacingBefore(10f);
         table.setSpacingAfter(10f);
+        // Large table: each document.add writes the pending rows and drops them from the table
+        table.setComplete(false);
+        table.setHeaderRows(1);
 
-        // Table headers
+        // Table headers, repeated on every page
         String[] headers = {"ID", "Nom", "Prénom", "Poste", "Service", "Date Embauche"};
         for (String header : headers) {
             addHeaderCell(table, header);
         }
 
         // Table content
+        int flushRows = Math.max(1, AppConfig.getInt("pdf.flushRows", 200));
+        int rows = 0;
         boolean alternate = false;
-        for (Employe emp : employees) {
+        while (employees.hasNext()) {
+            Employe emp = employees.next();
             if (alternate) {
                 table.getDefaultCell().setBackgroundColor(LIGHT_BG_COLOR);
             }
@@ -135,8 +134,13 @@ public class PdfExporter {
                 table.getDefaultCell().setBackgroundColor(null);
             }
             alternate = !alternate;
+
+            if (++rows % flushRows == 0) {
+                document.add(table);
+            }
         }
 
+        table.setComplete(true);
         document.add(table);
     }
 
@@ -227,7 +231,7 @@ public class PdfExporter {
     }
 
     private static String formatCurrency(double amount) {
-        return String.format("%,.2f €", amount);
+        return Money.format(Money.ofDouble(amount), Money.EURO);
     }
 
     public static void exportEmployeeDetails(Employe employe, String absolutePath)
@@ -239,7 +243,6 @@ public class PdfExporter {
         document.open();
         addDocumentHeader(writer, document, "Détails Employé - " + employe.getFullName());
         addEmployeeDetailsContent(document, employe);
-        addDocumentFooter(writer, document);
         document.close();
     }
 
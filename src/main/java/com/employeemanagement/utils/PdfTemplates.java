@@ -0,0 +1,148 @@
+package com.employeemanagement.utils;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.ExceptionConverter;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.BaseFont;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfPageEventHelper;
+import com.itextpdf.text.pdf.PdfTemplate;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Static parts of the generated PDFs, built once instead of for every document.
+ * Fixed cells (labels, signature block) are prototypes copied into each document, kept per thread
+ * since iText elements are not meant to be shared between threads. Page decorations (watermark,
+ * footer) are drawn once per document into a template stamped on every page.
+ */
+final class PdfTemplates {
+    private static final Font LABEL_FONT = new Font(Font.FontFamily.HELVETICA, 10, Font.NORMAL);
+    private static final Font FOOTER_FONT = new Font(Font.FontFamily.HELVETICA, 8, Font.ITALIC);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private static final ThreadLocal<Prototypes> PROTOTYPES = ThreadLocal.withInitial(Prototypes::new);
+    private static volatile BaseFont baseFont;
+
+    private PdfTemplates() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * @return A copy of the two-column "employee / HR manager" signature block
+     */
+    static PdfPTable signatureSection() {
+        return new PdfPTable(PROTOTYPES.get().signature);
+    }
+
+    /**
+     * @return A copy of a borderless label cell, built once per label
+     */
+    static PdfPCell labelCell(String label) {
+        return new PdfPCell(PROTOTYPES.get().labels.computeIfAbsent(label, text -> {
+            PdfPCell cell = new PdfPCell(new Paragraph(text, LABEL_FONT));
+            cell.setBorder(Rectangle.NO_BORDER);
+            return cell;
+        }));
+    }
+
+    /**
+     * Draws the "EMS" watermark and the generation date footer on every page of the document
+     */
+    static void decoratePages(PdfWriter writer) {
+        writer.setPageEvent(new PageDecoration());
+    }
+
+    private static BaseFont baseFont() throws DocumentException, IOException {
+        BaseFont font = baseFont;
+        if (font == null) {
+            synchronized (PdfTemplates.class) {
+                font = baseFont;
+                if (font == null) {
+                    font = BaseFont.createFont();
+                    baseFont = font;
+                }
+            }
+        }
+        return font;
+    }
+
+    private static final class Prototypes {
+        private final PdfPTable signature = createSignature();
+        private final Map<String, PdfPCell> labels = new HashMap<>();
+
+        private static PdfPTable createSignature() {
+            PdfPTable table = new PdfPTable(2);
+            table.setWidthPercentage(100);
+            table.setSpacingBefore(20);
+
+            PdfPCell cell = new PdfPCell(new Paragraph("Signature de l'employé", LABEL_FONT));
+            cell.setBorder(Rectangle.NO_BORDER);
+            cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+            table.addCell(cell);
+
+            cell = new PdfPCell(new Paragraph("Signature du responsable RH", LABEL_FONT));
+            cell.setBorder(Rectangle.NO_BORDER);
+            cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+            table.addCell(cell);
+
+            return table;
+        }
+    }
+
+    /**
+     * Page event drawing the decorations into one template at the end of the first page,
+     * then only stamping that template on the following pages
+     */
+    private static final class PageDecoration extends PdfPageEventHelper {
+        private PdfTemplate background;
+
+        @Override
+        public void onEndPage(PdfWriter writer, Document document) {
+            try {
+                if (background == null) {
+                    background = createBackground(writer, document);
+                }
+                writer.getDirectContentUnder().addTemplate(background, 0, 0);
+            } catch (DocumentException | IOException e) {
+                throw new ExceptionConverter(e);
+            }
+        }
+
+        private static PdfTemplate createBackground(PdfWriter writer, Document document)
+                throws DocumentException, IOException {
+            Rectangle page = document.getPageSize();
+            PdfTemplate template = writer.getDirectContentUnder().createTemplate(page.getWidth(), page.getHeight());
+
+            // Watermark for draft documents
+            template.beginText();
+            template.setFontAndSize(baseFont(), 60);
+            template.setColorFill(BaseColor.LIGHT_GRAY);
+            template.showTextAligned(Element.ALIGN_CENTER, "EMS", page.getWidth() / 2, page.getHeight() / 2, 45);
+            template.endText();
+
+            // Footer
+            PdfPTable footer = new PdfPTable(1);
+            footer.setTotalWidth(page.getWidth() - document.leftMargin() - document.rightMargin());
+            Paragraph p = new Paragraph("Généré le: " + LocalDate.now().format(DATE_FORMATTER), FOOTER_FONT);
+            p.setAlignment(Element.ALIGN_RIGHT);
+            PdfPCell cell = new PdfPCell(p);
+            cell.setBorder(Rectangle.NO_BORDER);
+            footer.addCell(cell);
+            footer.writeSelectedRows(0, -1, document.leftMargin(), document.bottomMargin(), template);
+
+            return template;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.employeemanagement.utils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Summary of a pointage CSV import: counts, rejected lines and throughput
+ */
+public final class PointageImportResult {
+    private static final int MAX_ERRORS = 50; // keep the report readable for large files
+
+    private final Path file;
+    private long lines;
+    private long inserted;
+    private long updated;
+    private long unchanged;
+    private long applied; // saved, but the driver did not tell whether inserted or updated
+    private long rejected;
+    private long millis;
+    private Path rejectReport;
+    private final List<String> errors = new ArrayList<>();
+
+    PointageImportResult(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return Data lines read, header and blank lines excluded
+     */
+    public long getLines() {
+        return lines;
+    }
+
+    public long getImported() {
+        return inserted + updated + unchanged + applied;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getUnchanged() {
+        return unchanged;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * @return Lines read per second over the whole import
+     */
+    public double getLinesPerSecond() {
+        return millis == 0 ? lines * 1000.0 : lines * 1000.0 / millis;
+    }
+
+    /**
+     * @return The CSV file listing every rejected line with its reason, null if none was rejected
+     */
+    public Path getRejectReport() {
+        return rejectReport;
+    }
+
+    /**
+     * @return The first rejection messages, prefixed with the line number
+     */
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    void addLine() {
+        lines++;
+    }
+
+    void addSaved(int inserted, int updated, int unchanged, int applied) {
+        this.inserted += inserted;
+        this.updated += updated;
+        this.unchanged += unchanged;
+        this.applied += applied;
+    }
+
+    void addRejected(long line, String error) {
+        rejected++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add("Ligne " + line + ": " + error);
+        }
+    }
+
+    void setRejectReport(Path rejectReport) {
+        this.rejectReport = rejectReport;
+    }
+
+    void setMillis(long millis) {
+        this.millis = millis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Import des pointages %s [lignes=%d, importées=%d (créées=%d, mises à jour=%d, " +
+                        "inchangées=%d), rejetées=%d, durée=%d ms, débit=%.0f lignes/s]",
+                file.getFileName(), lines, getImported(), inserted, updated, unchanged, rejected,
+                millis, getLinesPerSecond());
+    }
+}
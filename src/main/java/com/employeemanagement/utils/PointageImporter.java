@@ -0,0 +1,414 @@
+package com.employeemanagement.utils;
+
+import com.employeemanagement.config.AppConfig;
+import com.employeemanagement.dao.BatchResult;
+import com.employeemanagement.dao.EmployeDAO;
+import com.employeemanagement.dao.PointageDAO;
+import com.employeemanagement.models.Employe;
+import com.employeemanagement.models.Pointage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * Imports the daily CSV exports of the badge readers into pointage.
+ * <p>
+ * One line per employee and day: employee;date;arrival;departure, the departure being optional.
+ * The employee column is matched against the active employees' id, cin or cnss
+ * (pointage.import.employeeKey), dates are yyyy-MM-dd or dd/MM/yyyy and times HH:mm[:ss].
+ * A first line whose date does not start with a digit is taken as a header.
+ * <p>
+ * The file is read through a FileChannel into one reused buffer and the fields are parsed in place,
+ * so that no String is built per line; rows are checked with the rules of {@link Pointage} and
+ * written db.batchSize at a time with {@link PointageDAO#upsertAll}. Memory does not depend on the
+ * size of the file, and importing a file again updates the same rows; a line without departure
+ * keeps the departure already recorded. Rejected lines, with their reason, go to &lt;file&gt;.rejets.csv.
+ */
+public class PointageImporter {
+    private static final int BUFFER_SIZE = 64 * 1024; // also the longest accepted line
+    private static final int FIELDS = 4;
+
+    /**
+     * Receives progress updates, in bytes of the file read
+     */
+    public interface ProgressListener {
+        void onProgress(long done, long total);
+    }
+
+    private static final ProgressListener NO_PROGRESS = (done, total) -> { };
+
+    private final EmployeDAO employeDAO;
+    private final PointageDAO pointageDAO;
+
+    public PointageImporter() {
+        this(new EmployeDAO(), new PointageDAO());
+    }
+
+    public PointageImporter(EmployeDAO employeDAO, PointageDAO pointageDAO) {
+        this.employeDAO = employeDAO;
+        this.pointageDAO = pointageDAO;
+    }
+
+    public PointageImportResult importFile(Path file) throws IOException, SQLException {
+        return importFile(file, NO_PROGRESS);
+    }
+
+    /**
+     * Imports a badge-reader file. Batches written before a database error stay written.
+     * @throws IllegalStateException if pointage.import.employeeKey or separator is invalid
+     */
+    public PointageImportResult importFile(Path file, ProgressListener listener) throws IOException, SQLException {
+        long start = System.nanoTime();
+        Run run = new Run(file, listener != null ? listener : NO_PROGRESS);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            run.read(channel);
+        } finally {
+            run.closeReport();
+        }
+        run.result.setMillis((System.nanoTime() - start) / 1_000_000);
+        AppLogger.getInstance().event(Level.INFO, run.result.toString(),
+                "fichier", file.toString(), "lignes", run.result.getLines(),
+                "importees", run.result.getImported(), "rejetees", run.result.getRejected());
+        return run.result;
+    }
+
+    /**
+     * State of one import
+     */
+    private final class Run {
+        private final ProgressListener progress;
+        private final PointageImportResult result;
+        private final byte separator;
+        private final boolean byId;
+        private final BitSet activeIds = new BitSet();
+        private final Map<String, Integer> idsByKey = new HashMap<>();
+        private final int batchSize;
+        private final List<Pointage> batch;
+        private final long[] batchLines;
+        private final int[] fieldStart = new int[FIELDS];
+        private final int[] fieldEnd = new int[FIELDS];
+        private final Path reportFile;
+        private BufferedWriter report;
+        private long lineNumber;
+        private int lastDateKey = -1; // daily files: most lines share the date
+        private LocalDate lastDate;
+
+        private Run(Path file, ProgressListener progress) throws SQLException, IOException {
+            this.progress = progress;
+            this.result = new PointageImportResult(file);
+            String sep = AppConfig.get("pointage.import.separator", ";");
+            if (sep.length() != 1 || sep.charAt(0) > 0x7F) {
+                throw new IllegalStateException("Séparateur d'import invalide: " + sep);
+            }
+            this.separator = (byte) sep.charAt(0);
+            this.batchSize = Math.max(1, AppConfig.getInt("db.batchSize", 500));
+            this.batch = new ArrayList<>(batchSize);
+            this.batchLines = new long[batchSize];
+            this.reportFile = file.resolveSibling(file.getFileName() + ".rejets.csv");
+            Files.deleteIfExists(reportFile); // a report from a previous import would be misleading
+
+            String key = AppConfig.get("pointage.import.employeeKey", "id").trim().toLowerCase(Locale.ROOT);
+            this.byId = key.equals("id");
+            if (!byId && !key.equals("cin") && !key.equals("cnss")) {
+                throw new IllegalStateException("Clé employé d'import invalide: " + key + " (id, cin ou cnss)");
+            }
+            for (Employe employe : employeDAO.loadActive()) {
+                if (byId) {
+                    activeIds.set(employe.getIdEmploye());
+                } else {
+                    String value = key.equals("cin") ? employe.getCin() : employe.getCnss();
+                    if (value != null && !value.isBlank()) {
+                        idsByKey.put(value.trim().toUpperCase(Locale.ROOT), employe.getIdEmploye());
+                    }
+                }
+            }
+        }
+
+        private void read(FileChannel channel) throws IOException, SQLException {
+            long size = channel.size();
+            long consumed = 0;
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            byte[] bytes = buffer.array();
+            boolean skipping = false; // inside a line longer than the buffer
+            boolean eof = false;
+            int scanned = 0; // bytes kept from the previous read, known to hold no line break
+            while (!eof) {
+                eof = channel.read(buffer) < 0;
+                int limit = buffer.position();
+                int lineStart = 0;
+                for (int i = scanned; i < limit; i++) {
+                    if (bytes[i] == '\n') {
+                        if (skipping) {
+                            skipping = false;
+                        } else {
+                            line(bytes, lineStart, i);
+                        }
+                        lineStart = i + 1;
+                    }
+                }
+                if (eof && lineStart < limit && !skipping) {
+                    line(bytes, lineStart, limit); // last line without line break
+                    lineStart = limit;
+                }
+                if (lineStart == 0 && limit == bytes.length) {
+                    // No line break in a full buffer: reject the line once and drop it up to its end
+                    if (!skipping) {
+                        lineNumber++;
+                        result.addLine();
+                        reject(lineNumber, "Ligne trop longue", "");
+                        skipping = true;
+                    }
+                    lineStart = limit;
+                }
+                consumed += lineStart;
+                System.arraycopy(bytes, lineStart, bytes, 0, limit - lineStart);
+                buffer.position(limit - lineStart);
+                scanned = limit - lineStart;
+                progress.onProgress(Math.min(consumed, size), size);
+            }
+            flush();
+        }
+
+        private void line(byte[] bytes, int from, int to) throws IOException, SQLException {
+            lineNumber++;
+            if (lineNumber == 1 && to - from >= 3 && bytes[from] == (byte) 0xEF
+                    && bytes[from + 1] == (byte) 0xBB && bytes[from + 2] == (byte) 0xBF) {
+                from += 3; // UTF-8 byte order mark
+            }
+            if (to > from && bytes[to - 1] == '\r') {
+                to--;
+            }
+            if (isBlank(bytes, from, to)) {
+                return;
+            }
+
+            int fields = split(bytes, from, to);
+            if (lineNumber == 1 && (fields < 2 || fieldStart[1] == fieldEnd[1]
+                    || !isDigit(bytes[fieldStart[1]]))) {
+                return; // header
+            }
+            result.addLine();
+            String error = parse(bytes, fields);
+            if (error != null) {
+                reject(lineNumber, error, new String(bytes, from, to - from, StandardCharsets.UTF_8));
+            }
+        }
+
+        /**
+         * Parses and checks the fields of a line, and queues the pointage
+         * @return The reason of the rejection, null if the line was accepted
+         */
+        private String parse(byte[] bytes, int fields) throws IOException, SQLException {
+            if (fields < 3 || fields > FIELDS) {
+                return "3 ou 4 colonnes attendues (employé, date, arrivée, départ), " + fields + " trouvées";
+            }
+            int employeId = resolveEmploye(bytes, fieldStart[0], fieldEnd[0]);
+            if (employeId <= 0) {
+                return "Employé inconnu ou inactif";
+            }
+            LocalDate date = parseDate(bytes, fieldStart[1], fieldEnd[1]);
+            if (date == null) {
+                return "Date invalide (aaaa-mm-jj ou jj/mm/aaaa)";
+            }
+            if (fieldStart[2] == fieldEnd[2]) {
+                return "Heure d'arrivée obligatoire";
+            }
+            LocalTime arrivee = parseTime(bytes, fieldStart[2], fieldEnd[2]);
+            LocalTime depart = fields < 4 || fieldStart[3] == fieldEnd[3]
+                    ? null : parseTime(bytes, fieldStart[3], fieldEnd[3]);
+            if (arrivee == null || (depart == null && fields == 4 && fieldStart[3] != fieldEnd[3])) {
+                return "Heure invalide (hh:mm ou hh:mm:ss)";
+            }
+
+            Pointage pointage;
+            try {
+                pointage = new Pointage(employeId, date, arrivee, depart); // same checks as PointageDialog
+            } catch (IllegalArgumentException e) {
+                return e.getMessage();
+            }
+            batchLines[batch.size()] = lineNumber;
+            batch.add(pointage);
+            if (batch.size() == batchSize) {
+                flush();
+            }
+            return null;
+        }
+
+        private void flush() throws IOException, SQLException {
+            if (batch.isEmpty()) {
+                return;
+            }
+            BatchResult saved = pointageDAO.upsertAll(batch);
+            for (int i = 0; i < saved.size(); i++) {
+                if (saved.getOutcome(i) == BatchResult.Outcome.FAILED) {
+                    Pointage p = batch.get(i);
+                    reject(batchLines[i], saved.getError(i), p.getEmployeId() + ";" + p.getDate() + ";"
+                            + p.getHeureArrivee() + ";" + (p.getHeureDepart() != null ? p.getHeureDepart() : ""));
+                }
+            }
+            result.addSaved(saved.count(BatchResult.Outcome.INSERTED),
+                    saved.count(BatchResult.Outcome.UPDATED),
+                    saved.count(BatchResult.Outcome.UNCHANGED),
+                    saved.count(BatchResult.Outcome.APPLIED));
+            batch.clear();
+        }
+
+        private void reject(long line, String error, String content) throws IOException {
+            result.addRejected(line, error);
+            if (report == null) {
+                report = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8);
+                report.write("ligne;motif;contenu");
+                report.newLine();
+                result.setRejectReport(reportFile);
+            }
+            report.write(Long.toString(line));
+            report.write(';');
+            report.write(quote(error));
+            report.write(';');
+            report.write(quote(content));
+            report.newLine();
+        }
+
+        private void closeReport() throws IOException {
+            if (report != null) {
+                report.close();
+            }
+        }
+
+        /**
+         * Finds the fields of a line, without surrounding blanks and quotes
+         * @return Number of fields; fields beyond {@link #FIELDS} are counted but not recorded
+         */
+        private int split(byte[] bytes, int from, int to) {
+            int count = 0;
+            int start = from;
+            for (int i = from; i <= to; i++) {
+                if (i == to || bytes[i] == separator) {
+                    if (count < FIELDS) {
+                        int s = start;
+                        int e = i;
+                        while (s < e && (bytes[s] == ' ' || bytes[s] == '\t')) s++;
+                        while (e > s && (bytes[e - 1] == ' ' || bytes[e - 1] == '\t')) e--;
+                        if (e - s >= 2 && bytes[s] == '"' && bytes[e - 1] == '"') {
+                            s++;
+                            e--;
+                        }
+                        fieldStart[count] = s;
+                        fieldEnd[count] = e;
+                    }
+                    count++;
+                    start = i + 1;
+                }
+            }
+            return count;
+        }
+
+        private int resolveEmploye(byte[] bytes, int from, int to) {
+            if (byId) {
+                int id = parseNumber(bytes, from, to);
+                return id > 0 && activeIds.get(id) ? id : 0;
+            }
+            if (from == to) {
+                return 0;
+            }
+            Integer id = idsByKey.get(new String(bytes, from, to - from, StandardCharsets.UTF_8).toUpperCase(Locale.ROOT));
+            return id != null ? id : 0;
+        }
+
+        private LocalDate parseDate(byte[] bytes, int from, int to) {
+            if (to - from != 10) {
+                return null;
+            }
+            int year, month, day;
+            if (bytes[from + 4] == '-' && bytes[from + 7] == '-') {
+                year = parseNumber(bytes, from, from + 4);
+                month = parseNumber(bytes, from + 5, from + 7);
+                day = parseNumber(bytes, from + 8, from + 10);
+            } else if (bytes[from + 2] == '/' && bytes[from + 5] == '/') {
+                day = parseNumber(bytes, from, from + 2);
+                month = parseNumber(bytes, from + 3, from + 5);
+                year = parseNumber(bytes, from + 6, from + 10);
+            } else {
+                return null;
+            }
+            if (year < 0 || month < 0 || day < 0) {
+                return null;
+            }
+            int key = year * 10000 + month * 100 + day;
+            if (key != lastDateKey) {
+                try {
+                    lastDate = LocalDate.of(year, month, day);
+                } catch (DateTimeException e) {
+                    return null;
+                }
+                lastDateKey = key;
+            }
+            return lastDate;
+        }
+
+        private LocalTime parseTime(byte[] bytes, int from, int to) {
+            int length = to - from;
+            if ((length != 5 && length != 8) || bytes[from + 2] != ':' || (length == 8 && bytes[from + 5] != ':')) {
+                return null;
+            }
+            int hour = parseNumber(bytes, from, from + 2);
+            int minute = parseNumber(bytes, from + 3, from + 5);
+            int second = length == 8 ? parseNumber(bytes, from + 6, from + 8) : 0;
+            if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+                return null;
+            }
+            return LocalTime.of(hour, minute, second);
+        }
+    }
+
+    /**
+     * @return The decimal number written with ASCII digits only, -1 if empty, not a number or too large
+     */
+    private static int parseNumber(byte[] bytes, int from, int to) {
+        if (from >= to || to - from > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            if (!isDigit(bytes[i])) {
+                return -1;
+            }
+            value = value * 10 + (bytes[i] - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isBlank(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] != ' ' && bytes[i] != '\t' && bytes[i] != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String quote(String value) {
+        return '"' + (value != null ? value.replace("\"", "\"\"") : "") + '"';
+    }
+}
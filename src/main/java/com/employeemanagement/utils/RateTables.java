@@ -0,0 +1,325 @@
+package com.employeemanagement.utils;
+
+import com.employeemanagement.config.AppConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.logging.Level;
+
+/**
+ * Payroll rate tables: CNSS and AMO contributions with their ceilings and progressive income tax
+ * brackets, by effective date and optionally by contract type (Employe.getTypeContrat()).
+ * <p>
+ * The tables are read from the bundled baremes.properties, overridden by the file given by
+ * payroll.rateTablesFile, and compiled once into {@link Rules} objects holding plain arrays, so that
+ * a payroll run only does a binary search on the period and a few array reads per employee.
+ * They are compiled again when the configuration is reloaded; invalid tables are refused and the
+ * previous ones kept.
+ */
+public final class RateTables {
+    private static final String BUNDLED_RESOURCE = "/baremes.properties";
+    private static final String[] RULE_KEYS = {"cnss.rate", "cnss.ceiling", "amo.rate", "amo.ceiling", "ir.brackets"};
+
+    private static volatile RateTables instance;
+
+    private final int[] startPeriods; // annee * 100 + mois, ascending
+    private final Version[] versions;
+
+    private RateTables(int[] startPeriods, Version[] versions) {
+        this.startPeriods = startPeriods;
+        this.versions = versions;
+    }
+
+    public static RateTables getInstance() {
+        RateTables tables = instance;
+        if (tables == null) {
+            synchronized (RateTables.class) {
+                tables = instance;
+                if (tables == null) {
+                    tables = load();
+                    instance = tables;
+                    AppConfig.addReloadListener(RateTables::reload);
+                }
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Compiles the tables again, keeping the current ones if the new ones are invalid
+     */
+    public static void reload() {
+        try {
+            instance = load();
+        } catch (IllegalStateException e) {
+            AppLogger.getInstance().log(Level.WARNING, "Barèmes de paie refusés, les précédents restent en vigueur", e);
+        }
+    }
+
+    /**
+     * @param typeContrat Contract type, matched ignoring case; null or unknown types get the general rules
+     * @return The rules in force for the pay period
+     * @throws IllegalArgumentException if the period is before the first table
+     */
+    public Rules rulesFor(int mois, int annee, String typeContrat) {
+        int index = Arrays.binarySearch(startPeriods, annee * 100 + mois);
+        if (index < 0) {
+            index = -index - 2; // last version starting before the period
+        }
+        if (index < 0) {
+            throw new IllegalArgumentException("Aucun barème de paie pour " + mois + "/" + annee);
+        }
+        Version version = versions[index];
+        if (typeContrat != null && !version.byContract.isEmpty()) {
+            Rules rules = version.byContract.get(typeContrat);
+            if (rules != null) {
+                return rules;
+            }
+        }
+        return version.general;
+    }
+
+    public int getVersionCount() {
+        return versions.length;
+    }
+
+    private static final class Version {
+        private final Rules general;
+        private final Map<String, Rules> byContract;
+
+        private Version(Rules general, Map<String, Rules> byContract) {
+            this.general = general;
+            this.byContract = byContract;
+        }
+    }
+
+    /**
+     * Compiled rules of one version and contract type. Amounts are in centimes, rates in basis points.
+     */
+    public static final class Rules {
+        private final long cnssRate;
+        private final long cnssCeiling; // 0: no ceiling
+        private final long amoRate;
+        private final long amoCeiling;
+        private final long[] bracketFloors; // ascending, the first one is 0
+        private final long[] bracketRates;
+        private final long[] taxBelowFloor; // tax due on the income below each floor
+
+        private Rules(long cnssRate, long cnssCeiling, long amoRate, long amoCeiling,
+                      long[] bracketFloors, long[] bracketRates) {
+            this.cnssRate = cnssRate;
+            this.cnssCeiling = cnssCeiling;
+            this.amoRate = amoRate;
+            this.amoCeiling = amoCeiling;
+            this.bracketFloors = bracketFloors;
+            this.bracketRates = bracketRates;
+            this.taxBelowFloor = new long[bracketFloors.length];
+            for (int i = 1; i < bracketFloors.length; i++) {
+                taxBelowFloor[i] = taxBelowFloor[i - 1]
+                        + Money.applyRate(bracketFloors[i] - bracketFloors[i - 1], bracketRates[i - 1]);
+            }
+        }
+
+        /**
+         * @return CNSS contribution on the gross salary, capped by the ceiling
+         */
+        public long cnss(long gross) {
+            return Money.applyRate(cnssCeiling > 0 ? Math.min(gross, cnssCeiling) : gross, cnssRate);
+        }
+
+        /**
+         * @return AMO contribution on the gross salary, capped by the ceiling
+         */
+        public long amo(long gross) {
+            return Money.applyRate(amoCeiling > 0 ? Math.min(gross, amoCeiling) : gross, amoRate);
+        }
+
+        /**
+         * @return Progressive income tax on the monthly taxable income
+         */
+        public long incomeTax(long taxable) {
+            if (taxable <= 0) {
+                return 0;
+            }
+            int bracket = bracketFloors.length - 1;
+            while (bracket > 0 && taxable < bracketFloors[bracket]) {
+                bracket--;
+            }
+            return taxBelowFloor[bracket] + Money.applyRate(taxable - bracketFloors[bracket], bracketRates[bracket]);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(String.format("CNSS %s%% (plafond %s), AMO %s%% (plafond %s), IR",
+                    percent(cnssRate), Money.toDouble(cnssCeiling), percent(amoRate), Money.toDouble(amoCeiling)));
+            for (int i = 0; i < bracketFloors.length; i++) {
+                text.append(i == 0 ? " " : ", ").append(Money.toDouble(bracketFloors[i]))
+                        .append(':').append(percent(bracketRates[i])).append('%');
+            }
+            return text.toString();
+        }
+
+        private static String percent(long basisPoints) {
+            return BigDecimal.valueOf(basisPoints, 2).stripTrailingZeros().toPlainString();
+        }
+    }
+
+    /**
+     * Compiles the bundled tables overridden by a file, without changing the tables in force
+     * (e.g. to simulate new rates)
+     * @throws IllegalStateException if the file cannot be read or the tables are invalid
+     */
+    public static RateTables withOverrides(Path file) {
+        return compile(read(file));
+    }
+
+    private static RateTables load() {
+        String file = AppConfig.get("payroll.rateTablesFile", "");
+        RateTables tables = compile(read(file.isBlank() ? null : Paths.get(file)));
+        AppLogger.getInstance().log(Level.INFO, "Barèmes de paie chargés: {} versions", tables.getVersionCount());
+        return tables;
+    }
+
+    private static Properties read(Path overrides) {
+        Properties properties = new Properties();
+        try (InputStream in = RateTables.class.getResourceAsStream(BUNDLED_RESOURCE)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Lecture impossible des barèmes de paie", e);
+        }
+        if (overrides != null) {
+            try (Reader reader = Files.newBufferedReader(overrides, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                throw new IllegalStateException("Lecture impossible des barèmes de paie " + overrides, e);
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Compiles keys such as 2024-01-01.cnss.rate or 2024-01-01.contrat.CDD.ir.brackets.
+     * Each version starts from the rules of the previous one, contract overrides included: a contract
+     * type gets the general rules of its version, then the overrides set for it by this or an earlier version.
+     */
+    static RateTables compile(Properties properties) {
+        TreeMap<LocalDate, Map<String, String>> byDate = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            int dot = key.indexOf('.');
+            LocalDate date;
+            try {
+                date = LocalDate.parse(dot < 0 ? key : key.substring(0, dot));
+            } catch (DateTimeParseException e) {
+                throw new IllegalStateException("Clé de barème invalide: " + key);
+            }
+            if (date.getDayOfMonth() != 1) {
+                throw new IllegalStateException("Un barème doit commencer le premier du mois: " + key);
+            }
+            byDate.computeIfAbsent(date, d -> new TreeMap<>()).put(key.substring(dot + 1), properties.getProperty(key).trim());
+        }
+        if (byDate.isEmpty()) {
+            throw new IllegalStateException("Aucun barème de paie défini");
+        }
+
+        int[] startPeriods = new int[byDate.size()];
+        Version[] versions = new Version[byDate.size()];
+        Map<String, String> inherited = new TreeMap<>();
+        Map<String, Map<String, String>> inheritedContracts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        int index = 0;
+        for (Map.Entry<LocalDate, Map<String, String>> entry : byDate.entrySet()) {
+            String label = entry.getKey().toString();
+            Map<String, String> general = new TreeMap<>(inherited);
+            Map<String, Map<String, String>> contracts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            inheritedContracts.forEach((type, overrides) -> contracts.put(type, new TreeMap<>(overrides)));
+            for (Map.Entry<String, String> rule : entry.getValue().entrySet()) {
+                String name = rule.getKey();
+                if (name.startsWith("contrat.")) {
+                    int end = name.indexOf('.', "contrat.".length());
+                    if (end < 0) {
+                        throw new IllegalStateException("Clé de barème invalide: " + label + "." + name);
+                    }
+                    contracts.computeIfAbsent(name.substring("contrat.".length(), end), type -> new TreeMap<>())
+                            .put(name.substring(end + 1), rule.getValue());
+                } else {
+                    general.put(name, rule.getValue());
+                }
+            }
+
+            Map<String, Rules> byContract = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (Map.Entry<String, Map<String, String>> contract : contracts.entrySet()) {
+                Map<String, String> rules = new TreeMap<>(general);
+                rules.putAll(contract.getValue());
+                byContract.put(contract.getKey(), compileRules(label + " " + contract.getKey(), rules));
+            }
+            startPeriods[index] = entry.getKey().getYear() * 100 + entry.getKey().getMonthValue();
+            versions[index] = new Version(compileRules(label, general), byContract);
+            inherited = general;
+            inheritedContracts = contracts;
+            index++;
+        }
+        return new RateTables(startPeriods, versions);
+    }
+
+    private static Rules compileRules(String label, Map<String, String> rules) {
+        for (String key : rules.keySet()) {
+            if (!Arrays.asList(RULE_KEYS).contains(key)) {
+                throw new IllegalStateException("Règle de barème inconnue: " + label + " " + key);
+            }
+        }
+        for (String key : RULE_KEYS) {
+            if (!rules.containsKey(key)) {
+                throw new IllegalStateException("Règle de barème manquante: " + label + " " + key);
+            }
+        }
+        try {
+            List<long[]> brackets = new ArrayList<>();
+            for (String bracket : rules.get("ir.brackets").split(",")) {
+                String[] parts = bracket.trim().split(":");
+                if (parts.length != 2) {
+                    throw new IllegalStateException("Tranche invalide: " + label + " " + bracket);
+                }
+                brackets.add(new long[]{hundredths(parts[0]), hundredths(parts[1])});
+            }
+            long[] floors = new long[brackets.size()];
+            long[] rates = new long[brackets.size()];
+            for (int i = 0; i < floors.length; i++) {
+                floors[i] = brackets.get(i)[0];
+                rates[i] = brackets.get(i)[1];
+                if (i == 0 ? floors[i] != 0 : floors[i] <= floors[i - 1]) {
+                    throw new IllegalStateException("Les tranches doivent partir de 0 et être croissantes: " + label);
+                }
+            }
+            return new Rules(hundredths(rules.get("cnss.rate")), hundredths(rules.get("cnss.ceiling")),
+                    hundredths(rules.get("amo.rate")), hundredths(rules.get("amo.ceiling")), floors, rates);
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalStateException("Valeur de barème invalide: " + label + " (" + e.getMessage() + ")", e);
+        }
+    }
+
+    /**
+     * Parses an amount into centimes or a percentage into basis points, refusing more than two decimals
+     */
+    private static long hundredths(String value) {
+        long parsed = new BigDecimal(value.trim()).movePointRight(2).longValueExact();
+        if (parsed < 0) {
+            throw new NumberFormatException("valeur négative " + value);
+        }
+        return parsed;
+    }
+}
@@ -1,5 +1,6 @@
 package com.employeemanagement.utils;
 
+import com.employeemanagement.config.AppConfig;
 import com.employeemanagement.models.Salaire;
 import java.time.LocalDate;
 import java.time.YearMonth;
@@ -9,39 +10,70 @@ import java.time.YearMonth;
  */
 public class SalaryCalculator {
     // Constants for salary calculations
-    private static final double CNSS_RATE = 0.07; // 7% CNSS contribution
-    private static final double AMO_RATE = 0.02; // 2% AMO contribution
-    private static final double TAX_RATE = 0.15; // 15% income tax
-    private static final double OVERTIME_RATE = 1.25; // 25% extra for overtime hours
+    public static final double OVERTIME_RATE = 1.25; // 25% extra for overtime hours
 
     /**
-     * Calculates the total salary with all components
+     * Calculates the total salary with all components, with the general rates of the period
      * @param salaire The salary object to calculate
      * @return The calculated salary object with all components
      */
     public static Salaire calculateSalary(Salaire salaire) {
-        // Calculate overtime pay
-        double overtimePay = salaire.getHeuresSupplementaires() * 
-                           salaire.getTauxHeuresSupplementaires() * 
-                           OVERTIME_RATE;
+        return calculateSalary(salaire, (String) null);
+    }
+
+    /**
+     * Calculates the total salary with all components, with the rates of the period (see RateTables)
+     * @param salaire The salary object to calculate
+     * @param typeContrat The employee's contract type, for contract specific rates; null for the general ones
+     * @return The calculated salary object with all components
+     */
+    public static Salaire calculateSalary(Salaire salaire, String typeContrat) {
+        return calculateSalary(salaire, rulesFor(salaire, typeContrat));
+    }
+
+    /**
+     * Calculates the total salary with all components, with the given rates (e.g. simulated ones)
+     * @param salaire The salary object to calculate
+     * @param rules The contribution and tax rules to apply
+     * @return The calculated salary object with all components
+     */
+    public static Salaire calculateSalary(Salaire salaire, RateTables.Rules rules) {
+        // Amounts in centimes (see Money): each component is rounded once, so net + deductions == gross
+        // Calculate overtime pay (the overtime rate already includes the premium, see getOvertimeHourlyRate)
+        long overtimePay = Money.ofDouble(salaire.getHeuresSupplementaires() *
+                           salaire.getTauxHeuresSupplementaires());
 
         // Calculate base gross salary
-        double baseGross = salaire.getMontant() + overtimePay + 
-                          salaire.getPrimes() + salaire.getAvantages();
+        long baseGross = Money.ofDouble(salaire.getMontant()) + overtimePay +
+                         Money.ofDouble(salaire.getPrimes()) + Money.ofDouble(salaire.getAvantages());
 
         // Calculate deductions
-        double cnssDeduction = baseGross * CNSS_RATE;
-        double amoDeduction = baseGross * AMO_RATE;
-        double taxableIncome = baseGross - cnssDeduction - amoDeduction;
-        double taxDeduction = taxableIncome * TAX_RATE;
+        long cnssDeduction = rules.cnss(baseGross);
+        long amoDeduction = rules.amo(baseGross);
+        long taxableIncome = baseGross - cnssDeduction - amoDeduction;
+        long taxDeduction = rules.incomeTax(taxableIncome);
 
         // Set all components
-        salaire.setCotisations(cnssDeduction + amoDeduction);
-        salaire.setRetenues(taxDeduction);
+        salaire.setCotisations(Money.toDouble(cnssDeduction + amoDeduction));
+        salaire.setRetenues(Money.toDouble(taxDeduction));
+
+        // Stored amounts, as persisted by SalaireDAO
+        salaire.setSalaireBrut(Money.toDouble(baseGross));
+        salaire.setDeductions(Money.toDouble(cnssDeduction + amoDeduction + taxDeduction));
+        salaire.setSalaireNet(Money.toDouble(Math.max(0, baseGross - cnssDeduction - amoDeduction - taxDeduction)));
 
         return salaire;
     }
 
+    private static RateTables.Rules rulesFor(Salaire salaire, String typeContrat) {
+        if (salaire.getMois() >= 1 && salaire.getMois() <= 12 && salaire.getAnnee() > 0) {
+            return RateTables.getInstance().rulesFor(salaire.getMois(), salaire.getAnnee(), typeContrat);
+        }
+        // Period not entered yet: current rates
+        LocalDate today = LocalDate.now();
+        return RateTables.getInstance().rulesFor(today.getMonthValue(), today.getYear(), typeContrat);
+    }
+
     /**
      * Validates if a salary record is for a valid period
      * @param mois Month (1-12)
@@ -86,12 +118,34 @@ public class SalaryCalculator {
         return workingDays;
     }
 
+    /**
+     * Calculates the standard hours of a month (working days x payroll.hoursPerDay)
+     * @param mois Month (1-12)
+     * @param annee Year
+     * @return Hours above which worked time counts as overtime
+     */
+    public static double getStandardHoursInMonth(int mois, int annee) {
+        double hoursPerDay = AppConfig.getInt("payroll.hoursPerDay", 8);
+        return getWorkingDaysInMonth(mois, annee) * hoursPerDay;
+    }
+
+    /**
+     * Calculates the hourly rate paid for overtime
+     * @param montant Monthly base salary
+     * @param mois Month (1-12)
+     * @param annee Year
+     * @return Base hourly rate increased by the overtime premium
+     */
+    public static double getOvertimeHourlyRate(double montant, int mois, int annee) {
+        return montant / getStandardHoursInMonth(mois, annee) * OVERTIME_RATE;
+    }
+
     /**
      * Formats a salary amount with currency symbol
      * @param amount The amount to format
      * @return Formatted string with currency symbol
      */
     public static String formatSalary(double amount) {
-        return String.format("%,.2f MAD", amount);
+        return Money.format(Money.ofDouble(amount), Money.MAD);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,591 @@
+package com.employeemanagement.views;
+
+import com.employeemanagement.config.AppConfig;
+import com.employeemanagement.dao.ChangeSet;
+import com.employeemanagement.dao.Page;
+import com.employeemanagement.utils.AppLogger;
+import com.employeemanagement.utils.BackgroundTasks;
+
+import javax.swing.table.AbstractTableModel;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.logging.Level;
+
+/**
+ * Table model that loads its rows on demand, page by page, as the table asks for them.
+ * The row count comes from a COUNT query; rows are read with keyset pages in the background and
+ * only a bounded number of them (ui.cachedRows) is kept, least recently displayed first out.
+ * Cells of rows not loaded yet show a placeholder until their page arrives.
+ * <p>
+ * The table is split into contiguous segments, each remembering the cursor it starts at. Scrolling
+ * far ahead creates large segments (up to db.maxPageSize rows) to reach the target quickly;
+ * segments already known can be reloaded directly from their cursor.
+ * <p>
+ * With {@link #setChangeTracking}, a refresh only reads the rows changed since the previous one and
+ * applies them as row insert/update/delete events, so the selection and scroll position are kept.
+ * A changed row goes into the segment whose key range holds it; segments whose rows were dropped
+ * from memory are resized when reloaded, against the last row they held.
+ * All methods must be called on the EDT; queries run on {@link BackgroundTasks}.
+ */
+public class LazyTableModel<T> extends AbstractTableModel {
+    public interface CountLoader {
+        int count() throws SQLException;
+    }
+
+    public interface PageLoader<T> {
+        Page<T> load(String cursor, int pageSize) throws SQLException;
+    }
+
+    public interface ChangeLoader<T> {
+        ChangeSet<T> load(Timestamp since) throws SQLException;
+    }
+
+    public interface ColumnValue<T> {
+        Object get(T row, int column);
+    }
+
+    private static final Object LOADING = "…";
+
+    private final String[] columns;
+    private final CountLoader counter;
+    private final PageLoader<T> loader;
+    private final ColumnValue<T> values;
+    private Consumer<Exception> errorHandler = e -> { };
+
+    // Change tracking, see setChangeTracking
+    private ChangeLoader<T> changes;
+    private ToIntFunction<T> idOf;
+    private Comparator<T> order;
+    private Predicate<T> filter;
+    private Timestamp asOf; // database time of the last refresh
+    private ToIntFunction<T> referenceOf; // see setReferenceNames
+    private BiConsumer<T, String> referenceName;
+
+    private final List<Segment> segments = new ArrayList<>(); // contiguous from row 0
+    private final LinkedHashMap<Segment, List<T>> contents = new LinkedHashMap<>(16, 0.75f, true); // LRU
+    private final Set<Segment> loading = new HashSet<>();
+    private int cachedRows;
+    private int rowCount;
+    private boolean walking;
+    private boolean refreshing; // no page is read while a refresh is pending, it would already hold the changes
+    private boolean deferred; // rows were asked for while refreshing
+    private boolean failed; // stop loading after an error until the next refresh
+    private int generation; // results of loads started before a refresh are dropped
+    private final String taskKey = "table-refresh-" + System.identityHashCode(this);
+
+    public LazyTableModel(String[] columns, CountLoader counter, PageLoader<T> loader, ColumnValue<T> values) {
+        this.columns = columns.clone();
+        this.counter = counter;
+        this.loader = loader;
+        this.values = values;
+    }
+
+    /**
+     * Called on the EDT when a background load fails
+     */
+    public void setErrorHandler(Consumer<Exception> errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Enables incremental refreshes
+     * @param order Order of the page loader's rows
+     * @param filter Rows shown by the table, e.g. active employees: changed rows not matching it are removed
+     */
+    public void setChangeTracking(ChangeLoader<T> changes, ToIntFunction<T> idOf, Comparator<T> order,
+                                  Predicate<T> filter) {
+        this.changes = changes;
+        this.idOf = idOf;
+        this.order = order;
+        this.filter = filter;
+    }
+
+    /**
+     * Keeps a name shown from a referenced table (e.g. the employee of a salary) up to date on refreshes,
+     * for the rows in memory; requires {@link #setChangeTracking}
+     * @param referenceOf Id of the referenced row
+     * @param referenceName Sets the new name on a row
+     */
+    public void setReferenceNames(ToIntFunction<T> referenceOf, BiConsumer<T, String> referenceName) {
+        this.referenceOf = referenceOf;
+        this.referenceName = referenceName;
+    }
+
+    /**
+     * Applies the rows changed since the previous refresh, or reloads the row count and drops loaded
+     * pages when changes are not tracked, too many or unknown
+     */
+    public void refresh() {
+        if (changes == null || asOf == null || failed) {
+            reload();
+            return;
+        }
+        int refreshGeneration = startRefresh();
+        Timestamp since = asOf;
+        BackgroundTasks.getInstance().submit(taskKey, () -> changes.load(since), changeSet -> {
+            if (refreshGeneration != generation) {
+                return;
+            }
+            if (!changeSet.isComplete()) {
+                reload();
+                return;
+            }
+            asOf = changeSet.getAsOf();
+            refreshing = false;
+            apply(changeSet);
+            if (deferred && rowCount > 0) {
+                fireTableRowsUpdated(0, rowCount - 1); // ask again for the rows not loaded
+            }
+            deferred = false;
+        }, this::fail);
+    }
+
+    /**
+     * Reloads the row count and drops loaded pages; rows are fetched again as they are displayed
+     */
+    public void reload() {
+        int refreshGeneration = startRefresh();
+        BackgroundTasks.getInstance().submit(taskKey, () -> {
+            // Time taken first: changes made during the count are applied by the next refresh
+            Timestamp start = changes != null ? changes.load(null).getAsOf() : null;
+            return new Reload(start, counter.count());
+        }, result -> {
+            if (refreshGeneration == generation) {
+                asOf = result.asOf;
+                reset(result.count);
+            }
+        }, this::fail);
+    }
+
+    /**
+     * @return The row object, or null if its page is not loaded
+     */
+    public T getRow(int row) {
+        Segment segment = findSegment(row);
+        List<T> rows = segment != null ? contents.get(segment) : null;
+        int index = segment != null ? row - segment.firstRow : -1;
+        return rows != null && index < rows.size() ? rows.get(index) : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Segment segment = findSegment(row);
+        if (segment == null) {
+            walkTo(row);
+            return LOADING;
+        }
+        List<T> rows = contents.get(segment);
+        if (rows == null) {
+            load(segment);
+            return LOADING;
+        }
+        int index = row - segment.firstRow;
+        return index < rows.size() ? values.get(rows.get(index), column) : LOADING;
+    }
+
+    private int startRefresh() {
+        refreshing = true;
+        walking = false;
+        loading.clear();
+        return ++generation;
+    }
+
+    private void reset(int count) {
+        segments.clear();
+        contents.clear();
+        loading.clear();
+        cachedRows = 0;
+        walking = false;
+        refreshing = false;
+        deferred = false;
+        failed = false;
+        rowCount = count;
+        fireTableDataChanged();
+    }
+
+    private Segment findSegment(int row) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Segment segment = segments.get(mid);
+            if (row < segment.firstRow) {
+                high = mid - 1;
+            } else if (row >= segment.firstRow + segment.size) {
+                low = mid + 1;
+            } else {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reloads a known segment from its start cursor
+     */
+    private void load(Segment segment) {
+        deferred |= refreshing;
+        if (failed || refreshing || !loading.add(segment)) {
+            return;
+        }
+        int loadGeneration = generation;
+        BackgroundTasks.getInstance().submit(null, () -> loader.load(segment.cursor, segment.size), page -> {
+            if (loadGeneration != generation) {
+                return;
+            }
+            loading.remove(segment);
+            List<T> rows = new ArrayList<>(page.getItems());
+            if (order != null && segment.next != null) {
+                // Rows deleted while the segment was not in memory let rows of the next segment in
+                while (!rows.isEmpty() && order.compare(rows.get(rows.size() - 1), segment.last) > 0) {
+                    rows.remove(rows.size() - 1);
+                }
+            } else if (segment.next == null && page.hasNext()) {
+                segment.next = page.getNextCursor(); // rows added after the end: walk on from here
+                segment.last = rows.get(rows.size() - 1);
+            }
+            resize(segment, rows.size());
+            store(segment, rows);
+            if (segment.size > 0) {
+                fireTableRowsUpdated(segment.firstRow, Math.min(segment.firstRow + segment.size, rowCount) - 1);
+            }
+        }, e -> {
+            if (loadGeneration == generation) {
+                fail(e);
+            }
+        });
+    }
+
+    /**
+     * Reads segments after the last known one until the given row is covered
+     */
+    private void walkTo(int targetRow) {
+        deferred |= refreshing;
+        if (failed || refreshing || walking || isComplete()) {
+            return;
+        }
+        walking = true;
+        int walkGeneration = generation;
+        int pageSize = Math.max(1, AppConfig.getInt("ui.pageSize", 100));
+        int maxStride = Math.max(pageSize, AppConfig.getInt("db.maxPageSize", 1000));
+        Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        int startRow = last == null ? 0 : last.firstRow + last.size;
+        String startCursor = last == null ? null : last.next;
+
+        BackgroundTasks.getInstance().submit(null, () -> {
+            Walk walk = new Walk();
+            int firstRow = startRow;
+            String cursor = startCursor;
+            while (true) {
+                int distance = targetRow - firstRow;
+                // Large strides up to the page holding the target, then a regular page
+                int size = distance < pageSize ? pageSize : Math.min(maxStride, distance - distance % pageSize);
+                Page<T> page = loader.load(cursor, size);
+                walk.segments.add(new Segment(firstRow, page.size(), cursor, page.getNextCursor(),
+                        page.isEmpty() ? null : page.getItems().get(page.size() - 1)));
+                walk.rows.add(page.getItems());
+                if (!page.hasNext() || page.isEmpty() || targetRow < firstRow + page.size()) {
+                    return walk;
+                }
+                firstRow += page.size();
+                cursor = page.getNextCursor();
+            }
+        }, walk -> {
+            if (walkGeneration != generation) {
+                return;
+            }
+            walking = false;
+            for (int i = 0; i < walk.segments.size(); i++) {
+                segments.add(walk.segments.get(i));
+                store(walk.segments.get(i), new ArrayList<>(walk.rows.get(i)));
+            }
+            adjustRowCount();
+        }, e -> {
+            if (walkGeneration == generation) {
+                fail(e);
+            }
+        });
+    }
+
+    private boolean isComplete() {
+        return !segments.isEmpty() && segments.get(segments.size() - 1).next == null;
+    }
+
+    /**
+     * The COUNT may be stale when rows are added or removed while browsing: trust the pages
+     */
+    private void adjustRowCount() {
+        Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        int known = last == null ? 0 : last.firstRow + last.size;
+        if ((isComplete() && known != rowCount) || known > rowCount) {
+            rowCount = isComplete() ? known : known + 1;
+            fireTableDataChanged();
+        } else {
+            fireTableRowsUpdated(0, rowCount - 1);
+        }
+    }
+
+    /**
+     * Applies changed rows: updates in place when the row keeps its position, otherwise removes it and
+     * inserts it where it now belongs. Deleted rows that are not in memory are left to segment reloads.
+     */
+    private void apply(ChangeSet<T> changeSet) {
+        Map<Integer, Location> located = locateLoadedRows();
+        List<Location> removals = new ArrayList<>();
+        List<T> insertions = new ArrayList<>();
+
+        for (Integer id : changeSet.getDeletedIds()) {
+            Location location = located.remove(id);
+            if (location != null) {
+                removals.add(location);
+            }
+        }
+        for (T row : changeSet.getModified()) {
+            Location location = located.remove(idOf.applyAsInt(row));
+            boolean shown = filter.test(row);
+            if (location != null && shown && order.compare(location.rows.get(location.index), row) == 0) {
+                location.rows.set(location.index, row);
+                int updated = location.segment.firstRow + location.index;
+                fireTableRowsUpdated(updated, updated);
+                continue;
+            }
+            if (location != null) {
+                removals.add(location);
+            }
+            if (shown) {
+                insertions.add(row);
+            }
+        }
+
+        // Bottom up so that the locations still hold
+        removals.sort((a, b) -> Integer.compare(b.segment.firstRow + b.index, a.segment.firstRow + a.index));
+        for (Location location : removals) {
+            location.rows.remove(location.index);
+            cachedRows--;
+            int removed = location.segment.firstRow + location.index;
+            shift(location.segment, -1);
+            fireTableRowsDeleted(removed, removed);
+        }
+        for (T row : insertions) {
+            insert(row);
+        }
+        if (referenceOf != null && !changeSet.getReferenceNames().isEmpty()) {
+            renameLoadedRows(changeSet.getReferenceNames());
+        }
+    }
+
+    private void renameLoadedRows(Map<Integer, String> names) {
+        for (Map.Entry<Segment, List<T>> entry : contents.entrySet()) {
+            List<T> rows = entry.getValue();
+            for (int i = 0; i < rows.size(); i++) {
+                String name = names.get(referenceOf.applyAsInt(rows.get(i)));
+                if (name != null) {
+                    referenceName.accept(rows.get(i), name);
+                    int updated = entry.getKey().firstRow + i;
+                    fireTableRowsUpdated(updated, updated);
+                }
+            }
+        }
+    }
+
+    private Map<Integer, Location> locateLoadedRows() {
+        Map<Integer, Location> located = new HashMap<>(cachedRows * 2);
+        for (Map.Entry<Segment, List<T>> entry : contents.entrySet()) {
+            List<T> rows = entry.getValue();
+            for (int i = 0; i < rows.size(); i++) {
+                located.put(idOf.applyAsInt(rows.get(i)), new Location(entry.getKey(), rows, i));
+            }
+        }
+        return located;
+    }
+
+    private void insert(T row) {
+        Segment segment = segmentFor(row);
+        if (segment == null) {
+            // After the rows read so far: it will be read when the table is scrolled there
+            rowCount++;
+            fireTableRowsInserted(rowCount - 1, rowCount - 1);
+            return;
+        }
+        List<T> rows = contents.get(segment);
+        int inserted;
+        if (rows != null) {
+            int index = insertionPoint(rows, row);
+            rows.add(index, row);
+            cachedRows++;
+            inserted = segment.firstRow + index;
+        } else {
+            inserted = segment.firstRow + segment.size; // not in memory: the reload puts it in place
+        }
+        shift(segment, 1);
+        fireTableRowsInserted(inserted, inserted);
+    }
+
+    /**
+     * @return The segment whose key range holds the row, null if it comes after the rows read so far
+     */
+    private Segment segmentFor(T row) {
+        int low = 0;
+        int high = segments.size() - 1;
+        if (high >= 0 && segments.get(high).last == null) {
+            high--; // empty last segment
+        }
+        Segment found = null;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Segment segment = segments.get(mid);
+            if (order.compare(row, segment.last) <= 0) {
+                found = segment;
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        if (found == null && isComplete()) {
+            found = segments.get(segments.size() - 1);
+        }
+        return found;
+    }
+
+    private int insertionPoint(List<T> rows, T row) {
+        int low = 0;
+        int high = rows.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order.compare(rows.get(mid), row) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Grows or shrinks a segment, moving the following ones
+     */
+    private void shift(Segment segment, int delta) {
+        segment.size += delta;
+        for (int i = segments.indexOf(segment) + 1; i < segments.size(); i++) {
+            segments.get(i).firstRow += delta;
+        }
+        rowCount += delta;
+    }
+
+    private void resize(Segment segment, int size) {
+        int oldSize = segment.size;
+        if (size == oldSize) {
+            return;
+        }
+        shift(segment, size - oldSize);
+        if (size < oldSize) {
+            fireTableRowsDeleted(segment.firstRow + size, segment.firstRow + oldSize - 1);
+        } else {
+            fireTableRowsInserted(segment.firstRow + oldSize, segment.firstRow + size - 1);
+        }
+    }
+
+    private void store(Segment segment, List<T> rows) {
+        List<T> previous = contents.put(segment, rows);
+        cachedRows += rows.size() - (previous != null ? previous.size() : 0);
+
+        int maxRows = Math.max(AppConfig.getInt("ui.cachedRows", 2000), rows.size());
+        Iterator<Map.Entry<Segment, List<T>>> eldestFirst = contents.entrySet().iterator();
+        while (cachedRows > maxRows && eldestFirst.hasNext()) {
+            Map.Entry<Segment, List<T>> eldest = eldestFirst.next();
+            if (eldest.getKey() != segment) {
+                cachedRows -= eldest.getValue().size();
+                eldestFirst.remove();
+            }
+        }
+    }
+
+    private void fail(Exception e) {
+        failed = true;
+        walking = false;
+        refreshing = false;
+        loading.clear();
+        AppLogger.getInstance().log(Level.SEVERE, "Error loading table page", e);
+        errorHandler.accept(e);
+    }
+
+    private static final class Reload {
+        private final Timestamp asOf;
+        private final int count;
+
+        private Reload(Timestamp asOf, int count) {
+            this.asOf = asOf;
+            this.count = count;
+        }
+    }
+
+    /**
+     * Segments read by one walk, with their rows
+     */
+    private final class Walk {
+        private final List<Segment> segments = new ArrayList<>();
+        private final List<List<T>> rows = new ArrayList<>();
+    }
+
+    /**
+     * Position of a row in memory
+     */
+    private final class Location {
+        private final Segment segment;
+        private final List<T> rows;
+        private final int index;
+
+        private Location(Segment segment, List<T> rows, int index) {
+            this.segment = segment;
+            this.rows = rows;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Contiguous block of rows and the cursor to read it again
+     */
+    private final class Segment {
+        private int firstRow;
+        private int size;
+        private final String cursor; // null for the first segment
+        private String next; // null for the last segment
+        private T last; // last row when read: upper bound of the segment's keys, null if empty
+
+        private Segment(int firstRow, int size, String cursor, String next, T last) {
+            this.firstRow = firstRow;
+            this.size = size;
+            this.cursor = cursor;
+            this.next = next;
+            this.last = last;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.employeemanagement.views;
+
+import com.employeemanagement.dao.ChangeSet;
+import com.employeemanagement.utils.AppLogger;
+import com.employeemanagement.utils.BackgroundTasks;
+
+import javax.swing.table.AbstractTableModel;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.logging.Level;
+
+/**
+ * Table model for small tables loaded at once (services, users).
+ * A refresh only reads the rows changed since the previous one and applies them as row
+ * insert/update/delete events, so the selection and scroll position are kept.
+ * All methods must be called on the EDT; queries run on {@link BackgroundTasks}.
+ */
+public class ListTableModel<T> extends AbstractTableModel {
+    public interface ListLoader<T> {
+        List<T> load() throws SQLException;
+    }
+
+    private final String[] columns;
+    private final ListLoader<T> loader;
+    private final LazyTableModel.ChangeLoader<T> changes;
+    private final ToIntFunction<T> idOf;
+    private final Comparator<T> order;
+    private final LazyTableModel.ColumnValue<T> values;
+    private Consumer<Exception> errorHandler = e -> { };
+    private ToIntFunction<T> referenceOf; // see setReferenceNames
+    private BiConsumer<T, String> referenceName;
+
+    private final List<T> rows = new ArrayList<>();
+    private Timestamp asOf; // database time of the last refresh, null to reload everything
+    private final String taskKey = "list-refresh-" + System.identityHashCode(this);
+
+    /**
+     * @param order Order of the loader's rows
+     */
+    public ListTableModel(String[] columns, ListLoader<T> loader, LazyTableModel.ChangeLoader<T> changes,
+                          ToIntFunction<T> idOf, Comparator<T> order, LazyTableModel.ColumnValue<T> values) {
+        this.columns = columns.clone();
+        this.loader = loader;
+        this.changes = changes;
+        this.idOf = idOf;
+        this.order = order;
+        this.values = values;
+    }
+
+    /**
+     * Called on the EDT when a background load fails
+     */
+    public void setErrorHandler(Consumer<Exception> errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Keeps a name shown from a referenced table (e.g. the employee of a user) up to date on refreshes
+     * @param referenceOf Id of the referenced row
+     * @param referenceName Sets the new name on a row
+     */
+    public void setReferenceNames(ToIntFunction<T> referenceOf, BiConsumer<T, String> referenceName) {
+        this.referenceOf = referenceOf;
+        this.referenceName = referenceName;
+    }
+
+    /**
+     * Applies the rows changed since the previous refresh, or reloads everything the first time
+     * and when there are too many changes
+     */
+    public void refresh() {
+        if (asOf == null) {
+            reload();
+            return;
+        }
+        Timestamp since = asOf;
+        BackgroundTasks.getInstance().submit(taskKey, () -> changes.load(since), changeSet -> {
+            if (!changeSet.isComplete()) {
+                reload();
+                return;
+            }
+            asOf = changeSet.getAsOf();
+            apply(changeSet);
+        }, this::fail);
+    }
+
+    /**
+     * Reloads all rows
+     */
+    public void reload() {
+        BackgroundTasks.getInstance().submit(taskKey, () -> {
+            // Time taken first: changes made during the load are applied by the next refresh
+            Timestamp start = changes.load(null).getAsOf();
+            List<T> loaded = loader.load();
+            return new Reload<>(start, loaded);
+        }, result -> {
+            asOf = result.asOf;
+            rows.clear();
+            rows.addAll(result.rows);
+            fireTableDataChanged();
+        }, this::fail);
+    }
+
+    public T getRow(int row) {
+        return rows.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return values.get(rows.get(row), column);
+    }
+
+    private void apply(ChangeSet<T> changeSet) {
+        for (Integer id : changeSet.getDeletedIds()) {
+            int index = indexOf(id);
+            if (index >= 0) {
+                rows.remove(index);
+                fireTableRowsDeleted(index, index);
+            }
+        }
+        for (T row : changeSet.getModified()) {
+            int index = indexOf(idOf.applyAsInt(row));
+            if (index >= 0 && order.compare(rows.get(index), row) == 0) {
+                rows.set(index, row);
+                fireTableRowsUpdated(index, index);
+                continue;
+            }
+            if (index >= 0) {
+                rows.remove(index);
+                fireTableRowsDeleted(index, index);
+            }
+            int insertion = 0;
+            while (insertion < rows.size() && order.compare(rows.get(insertion), row) < 0) {
+                insertion++;
+            }
+            rows.add(insertion, row);
+            fireTableRowsInserted(insertion, insertion);
+        }
+        Map<Integer, String> names = changeSet.getReferenceNames();
+        if (referenceOf != null && !names.isEmpty()) {
+            for (int i = 0; i < rows.size(); i++) {
+                String name = names.get(referenceOf.applyAsInt(rows.get(i)));
+                if (name != null) {
+                    referenceName.accept(rows.get(i), name);
+                    fireTableRowsUpdated(i, i);
+                }
+            }
+        }
+    }
+
+    private int indexOf(int id) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (idOf.applyAsInt(rows.get(i)) == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void fail(Exception e) {
+        asOf = null;
+        AppLogger.getInstance().log(Level.SEVERE, "Error loading table", e);
+        errorHandler.accept(e);
+    }
+
+    private static final class Reload<T> {
+        private final Timestamp asOf;
+        private final List<T> rows;
+
+        private Reload(Timestamp asOf, List<T> rows) {
+            this.asOf = asOf;
+            this.rows = rows;
+        }
+    }
+}
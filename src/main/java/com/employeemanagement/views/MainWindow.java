@@ -9,8 +9,6 @@ import java.util.logging.Level;
 import javax.swing.*;
 import javax.swing.table.*;
 import java.awt.*;
-import java.sql.SQLException;
-import java.util.List;
 import java.util.Optional;
 
 public class MainWindow extends JFrame {
@@ -101,14 +99,25 @@ public class MainWindow extends JFrame {
         JPanel panel = new JPanel(new BorderLayout());
         UIStyleManager.stylePanel(panel);
         String[] columns = {"ID", "Nom", "Prénom", "Poste", "Service", "Date Embauche", "Salaire Base", "Statut"};
-        DefaultTableModel model = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        LazyTableModel<Employe> model = new LazyTableModel<>(columns, employeDAO::countActive, employeDAO::findPage,
+                (emp, column) -> {
+                    switch (column) {
+                        case 0: return emp.getIdEmploye();
+                        case 1: return emp.getNom();
+                        case 2: return emp.getPrenom();
+                        case 3: return emp.getPoste();
+                        case 4: return emp.getServiceName();
+                        case 5: return emp.getDateEmbauche();
+                        case 6: return Money.format(Money.ofDouble(emp.getSalaireDeBase()), Money.EURO);
+                        default: return emp.isActif() ? "Actif" : "Inactif";
+                    }
+                });
+        model.setChangeTracking(employeDAO::findChangesSince, Employe::getIdEmploye, EmployeDAO.PAGE_ORDER,
+                emp -> "ACTIF".equals(emp.getStatut()));
+        model.setReferenceNames(Employe::getServiceId, Employe::setServiceName);
+        model.setErrorHandler(e -> showError("Erreur lors du chargement: " + e.getMessage()));
 
-        JTable table = createTable(model);
+        JTable table = createLazyTable(model);
         panel.add(new JScrollPane(table), BorderLayout.CENTER);
         panel.add(createEmployeButtonPanel(table, model), BorderLayout.SOUTH);
         refreshEmployeTable(model);
@@ -116,7 +125,7 @@ public class MainWindow extends JFrame {
         return panel;
     }
 
-    private JPanel createEmployeButtonPanel(JTable table, DefaultTableModel model) {
+    private JPanel createEmployeButtonPanel(JTable table, LazyTableModel<Employe> model) {
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 5));
         UIStyleManager.stylePanel(buttonPanel);
 
@@ -128,10 +137,9 @@ public class MainWindow extends JFrame {
         JButton editButton = new JButton("Modifier");
         UIStyleManager.styleButton(editButton);
         editButton.addActionListener(e -> {
-            int selectedRow = table.getSelectedRow();
-            if (selectedRow >= 0) {
-                int employeId = (Integer) model.getValueAt(selectedRow, 0);
-                showEmployeDialog(employeId, model);
+            Employe selected = getSelectedRow(table, model);
+            if (selected != null) {
+                showEmployeDialog(selected.getIdEmploye(), model);
             } else {
                 showMessage("Veuillez sélectionner un employé");
             }
@@ -143,79 +151,81 @@ public class MainWindow extends JFrame {
         deleteButton.addActionListener(e -> deleteEmploye(table, model));
         buttonPanel.add(deleteButton);
 
+        JButton exportButton = new JButton("Exporter PDF");
+        UIStyleManager.styleButton(exportButton);
+        exportButton.addActionListener(e -> exportEmployes(exportButton));
+        buttonPanel.add(exportButton);
+
         JButton refreshButton = new JButton("Actualiser");
         UIStyleManager.styleButton(refreshButton);
-        refreshButton.addActionListener(e -> refreshEmployeTable(model));
+        refreshButton.addActionListener(e -> {
+            EmployeDAO.invalidateCache(); // explicit refresh: pick up changes made from other workstations
+            refreshEmployeTable(model);
+        });
         buttonPanel.add(refreshButton);
 
         return buttonPanel;
     }
 
-    private void showEmployeDialog(Integer employeId, DefaultTableModel model) {
-        try {
-            Optional<Employe> employe = employeId != null ? employeDAO.findById(employeId) : Optional.empty();
-            EmployeDialog dialog = new EmployeDialog(this, employe);
-            dialog.setVisible(true);
-            if (dialog.isConfirmed()) {
-                refreshEmployeTable(model);
-            }
-        } catch (Exception ex) {
-            showError("Erreur: " + ex.getMessage());
-        }
+    private void showEmployeDialog(Integer employeId, LazyTableModel<Employe> model) {
+        BackgroundTasks.getInstance().submit(null,
+                () -> employeId != null ? employeDAO.findById(employeId) : Optional.<Employe>empty(),
+                employe -> {
+                    EmployeDialog dialog = new EmployeDialog(this, employe);
+                    dialog.setVisible(true);
+                    if (dialog.isConfirmed()) {
+                        refreshEmployeTable(model);
+                    }
+                },
+                ex -> showError("Erreur: " + ex.getMessage()));
     }
 
-    private void deleteEmploye(JTable table, DefaultTableModel model) {
-        int selectedRow = table.getSelectedRow();
-        if (selectedRow >= 0) {
-            int employeId = (Integer) model.getValueAt(selectedRow, 0);
+    private void deleteEmploye(JTable table, LazyTableModel<Employe> model) {
+        Employe selected = getSelectedRow(table, model);
+        if (selected != null) {
+            int employeId = selected.getIdEmploye();
             if (confirmAction("Êtes-vous sûr de vouloir supprimer cet employé?")) {
-                try {
-                    employeDAO.delete(employeId);
-                    refreshEmployeTable(model);
-                    showMessage("Employé supprimé avec succès");
-                } catch (Exception ex) {
-                    showError("Erreur: " + ex.getMessage());
-                }
+                BackgroundTasks.getInstance().run(null, () -> {
+                            employeDAO.delete(employeId);
+                            PayslipCache.getInstance().purgeEmployee(employeId); // do not keep their payslips on disk
+                        },
+                        () -> {
+                            refreshEmployeTable(model);
+                            showMessage("Employé supprimé avec succès");
+                        },
+                        ex -> showError("Erreur: " + ex.getMessage()));
             }
         } else {
             showMessage("Veuillez sélectionner un employé");
         }
     }
 
-    private void refreshEmployeTable(DefaultTableModel model) {
-        SwingWorker<List<Employe>, Void> worker = new SwingWorker<>() {
-            @Override
-            protected List<Employe> doInBackground() throws Exception {
-                return employeDAO.findAll();
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    model.setRowCount(0);
-                    List<Employe> employes = get();
-                    for (Employe emp : employes) {
-                        model.addRow(new Object[]{
-                                emp.getIdEmploye(),
-                                emp.getNom(),
-                                emp.getPrenom(),
-                                emp.getPoste(),
-                                emp.getServiceName(),
-                                emp.getDateEmbauche(),
-                                String.format("%.2f €", emp.getSalaireDeBase()),
-                                emp.isActif() ? "Actif" : "Inactif"
-                        });
-                    }
-                } catch (Exception e) {
-                    AppLogger.getInstance().log(Level.SEVERE, "Error loading employees", e);
-                    showError("Erreur lors du chargement: " + e.getMessage());
-                }
+    /**
+     * Exports the active employees to PDF, streamed from the database in the background
+     */
+    private void exportEmployes(JButton exportButton) {
+        java.io.File file = chooseExportFile("Exporter la liste des employés", "employes.pdf");
+        if (file == null) {
+            return;
+        }
+        exportButton.setEnabled(false);
+        BackgroundTasks.getInstance().run(null, () -> {
+            try (java.util.stream.Stream<Employe> employes = employeDAO.streamAllActive()) {
+                PdfExporter.exportEmployees(employes, file.getAbsolutePath());
             }
-        };
-        worker.execute();
+        }, () -> {
+            exportButton.setEnabled(true);
+            showMessage("Liste des employés exportée:\n" + file.getAbsolutePath());
+        }, ex -> {
+            exportButton.setEnabled(true);
+            AppLogger.getInstance().log(Level.SEVERE, "Error exporting employees", ex);
+            showError("Erreur lors de l'export: " + ex.getMessage());
+        });
     }
 
-    // ... [Similar SwingWorker implementations for other refresh methods]
+    private void refreshEmployeTable(LazyTableModel<Employe> model) {
+        model.refresh();
+    }
 
     private JPanel createUserPanel() {
         if (!currentUser.getRole().equals("ADMIN")) {
@@ -225,12 +235,18 @@ public class MainWindow extends JFrame {
         JPanel panel = new JPanel(new BorderLayout());
         UIStyleManager.stylePanel(panel);
         String[] columns = {"ID", "Nom d'utilisateur", "Rôle", "Employé associé"};
-        DefaultTableModel model = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        ListTableModel<Utilisateur> model = new ListTableModel<>(columns, utilisateurDAO::findAll,
+                utilisateurDAO::findChangesSince, Utilisateur::getIdUtilisateur, UtilisateurDAO.PAGE_ORDER,
+                (user, column) -> {
+                    switch (column) {
+                        case 0: return user.getIdUtilisateur();
+                        case 1: return user.getNomUtilisateur();
+                        case 2: return user.getRole();
+                        default: return user.getEmployeNom();
+                    }
+                });
+        model.setReferenceNames(Utilisateur::getIdEmploye, Utilisateur::setEmployeNom);
+        model.setErrorHandler(e -> showError("Erreur lors du chargement des utilisateurs: " + e.getMessage()));
 
         JTable table = createTable(model);
         panel.add(new JScrollPane(table), BorderLayout.CENTER);
@@ -263,18 +279,15 @@ public class MainWindow extends JFrame {
             int selectedRow = table.getSelectedRow();
             if (selectedRow >= 0) {
                 int userId = (Integer) model.getValueAt(selectedRow, 0);
-                try {
-                    Optional<Utilisateur> user = utilisateurDAO.findById(userId);
-                    user.ifPresent(u -> {
-                        UtilisateurDialog dialog = new UtilisateurDialog(this, u);
-                        dialog.setVisible(true);
-                        if (dialog.isConfirmed()) {
-                            refreshUserTable(model);
-                        }
-                    });
-                } catch (Exception ex) {
-                    showError("Erreur lors du chargement de l'utilisateur: " + ex.getMessage());
-                }
+                BackgroundTasks.getInstance().submit(null, () -> utilisateurDAO.findById(userId),
+                        user -> user.ifPresent(u -> {
+                            UtilisateurDialog dialog = new UtilisateurDialog(this, u);
+                            dialog.setVisible(true);
+                            if (dialog.isConfirmed()) {
+                                refreshUserTable(model);
+                            }
+                        }),
+                        ex -> showError("Erreur lors du chargement de l'utilisateur: " + ex.getMessage()));
             } else {
                 showMessage("Veuillez sélectionner un utilisateur à modifier.");
             }
@@ -292,13 +305,12 @@ public class MainWindow extends JFrame {
             if (selectedRow >= 0) {
                 int userId = (Integer) model.getValueAt(selectedRow, 0);
                 if (confirmAction("Êtes-vous sûr de vouloir supprimer cet utilisateur ?")) {
-                    try {
-                        utilisateurDAO.delete(userId);
-                        refreshUserTable(model);
-                        showMessage("Utilisateur supprimé avec succès.");
-                    } catch (Exception ex) {
-                        showError("Erreur lors de la suppression de l'utilisateur: " + ex.getMessage());
-                    }
+                    BackgroundTasks.getInstance().run(null, () -> utilisateurDAO.delete(userId),
+                            () -> {
+                                refreshUserTable(model);
+                                showMessage("Utilisateur supprimé avec succès.");
+                            },
+                            ex -> showError("Erreur lors de la suppression de l'utilisateur: " + ex.getMessage()));
                 }
             } else {
                 showMessage("Veuillez sélectionner un utilisateur à supprimer.");
@@ -317,33 +329,8 @@ public class MainWindow extends JFrame {
         return panel;
     }
 
-    private void refreshUserTable(DefaultTableModel model) {
-        SwingWorker<List<Utilisateur>, Void> worker = new SwingWorker<>() {
-            @Override
-            protected List<Utilisateur> doInBackground() throws Exception {
-                return utilisateurDAO.findAll();
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    model.setRowCount(0);
-                    List<Utilisateur> users = get();
-                    for (Utilisateur user : users) {
-                        model.addRow(new Object[]{
-                                user.getIdUtilisateur(),
-                                user.getNomUtilisateur(),
-                                user.getRole(),
-                                user.getEmployeNom()
-                        });
-                    }
-                } catch (Exception e) {
-                    AppLogger.getInstance().log(Level.SEVERE, "Error loading users", e);
-                    showError("Erreur lors du chargement des utilisateurs: " + e.getMessage());
-                }
-            }
-        };
-        worker.execute();
+    private void refreshUserTable(ListTableModel<Utilisateur> model) {
+        model.refresh();
     }
 
     private JPanel createServicePanel() {
@@ -351,12 +338,16 @@ public class MainWindow extends JFrame {
         UIStyleManager.stylePanel(panel);
 
         String[] columns = {"ID", "Nom", "Description"};
-        DefaultTableModel model = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        ListTableModel<Service> model = new ListTableModel<>(columns, serviceDAO::findAll,
+                serviceDAO::findChangesSince, Service::getIdService, ServiceDAO.PAGE_ORDER,
+                (service, column) -> {
+                    switch (column) {
+                        case 0: return service.getIdService();
+                        case 1: return service.getNom();
+                        default: return service.getDescription();
+                    }
+                });
+        model.setErrorHandler(e -> JOptionPane.showMessageDialog(this, "Erreur lors du chargement: " + e.getMessage()));
         JTable table = new JTable(model);
         UIStyleManager.styleTable(table);
         table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -390,18 +381,17 @@ public class MainWindow extends JFrame {
             int selectedRow = table.getSelectedRow();
             if (selectedRow >= 0) {
                 int serviceId = (Integer) model.getValueAt(selectedRow, 0);
-                try {
-                    Optional<Service> service = serviceDAO.findById(serviceId);
-                    if (service.isPresent()) {
-                        ServiceDialog dialog = new ServiceDialog(this, service);
-                        dialog.setVisible(true);
-                        if (dialog.isConfirmed()) {
-                            refreshServiceTable(model);
-                        }
-                    }
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(this, "Erreur: " + ex.getMessage());
-                }
+                BackgroundTasks.getInstance().submit(null, () -> serviceDAO.findById(serviceId),
+                        service -> {
+                            if (service.isPresent()) {
+                                ServiceDialog dialog = new ServiceDialog(this, service);
+                                dialog.setVisible(true);
+                                if (dialog.isConfirmed()) {
+                                    refreshServiceTable(model);
+                                }
+                            }
+                        },
+                        ex -> JOptionPane.showMessageDialog(this, "Erreur: " + ex.getMessage()));
             } else {
                 JOptionPane.showMessageDialog(this, "Veuillez sélectionner un service");
             }
@@ -423,13 +413,12 @@ public class MainWindow extends JFrame {
                         "Confirmation", JOptionPane.YES_NO_OPTION);
 
                 if (confirm == JOptionPane.YES_OPTION) {
-                    try {
-                        serviceDAO.delete(serviceId);
-                        refreshServiceTable(model);
-                        JOptionPane.showMessageDialog(this, "Service supprimé avec succès");
-                    } catch (Exception ex) {
-                        JOptionPane.showMessageDialog(this, "Erreur: " + ex.getMessage());
-                    }
+                    BackgroundTasks.getInstance().run(null, () -> serviceDAO.delete(serviceId),
+                            () -> {
+                                refreshServiceTable(model);
+                                JOptionPane.showMessageDialog(this, "Service supprimé avec succès");
+                            },
+                            ex -> JOptionPane.showMessageDialog(this, "Erreur: " + ex.getMessage()));
                 }
             } else {
                 JOptionPane.showMessageDialog(this, "Veuillez sélectionner un service");
@@ -439,7 +428,10 @@ public class MainWindow extends JFrame {
 
         JButton refreshButton = new JButton("Actualiser");
         UIStyleManager.styleButton(refreshButton);
-        refreshButton.addActionListener(e -> refreshServiceTable(model));
+        refreshButton.addActionListener(e -> {
+            ServiceDAO.invalidateCache(); // explicit refresh: pick up changes made from other workstations
+            refreshServiceTable(model);
+        });
         buttonPanel.add(refreshButton);
 
         panel.add(buttonPanel, BorderLayout.SOUTH);
@@ -449,31 +441,31 @@ public class MainWindow extends JFrame {
         return panel;
     }
 
-    private void refreshServiceTable(DefaultTableModel model) {
-        model.setRowCount(0);
-        try {
-            List<Service> services = serviceDAO.findAll();
-            for (Service service : services) {
-                if (service != null) {
-                    model.addRow(new Object[]{
-                            service.getIdService(),
-                            service.getNom(),
-                            service.getDescription()
-                    });
-                }
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Erreur lors du chargement: " + e.getMessage());
-        }
+    private void refreshServiceTable(ListTableModel<Service> model) {
+        model.refresh();
     }
 
-    private JTable createTable(DefaultTableModel model) {
+    private JTable createTable(TableModel model) {
         JTable table = new JTable(model);
         table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         UIStyleManager.styleTable(table);
         return table;
     }
 
+    private JTable createLazyTable(LazyTableModel<?> model) {
+        JTable table = createTable(model);
+        table.setRowSorter(null); // sorting would load every row; the order comes from the paged query
+        return table;
+    }
+
+    /**
+     * @return The selected row object, or null if nothing is selected or its page is still loading
+     */
+    private <T> T getSelectedRow(JTable table, LazyTableModel<T> model) {
+        int selectedRow = table.getSelectedRow();
+        return selectedRow >= 0 ? model.getRow(selectedRow) : null;
+    }
+
     private boolean confirmAction(String message) {
         return JOptionPane.showConfirmDialog(this, message,
                 "Confirmation", JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION;
@@ -499,13 +491,8 @@ public class MainWindow extends JFrame {
         UIStyleManager.stylePanel(panel);
 
         String[] columns = {"ID", "Employé", "Mois", "Année", "Salaire Net"};
-        DefaultTableModel model = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
-        JTable table = createTable(model);
+        LazyTableModel<Salaire> model = createSalaireModel(columns);
+        JTable table = createLazyTable(model);
         panel.add(new JScrollPane(table), BorderLayout.CENTER);
 
         JPanel buttonPanel = new JPanel(new FlowLayout());
@@ -533,21 +520,18 @@ public class MainWindow extends JFrame {
             editButton.setEnabled(false);
         }
         editButton.addActionListener(e -> {
-            int selectedRow = table.getSelectedRow();
-            if (selectedRow >= 0) {
-                int id = (Integer) model.getValueAt(selectedRow, 0);
-                try {
-                    Optional<Salaire> salaire = salaireDAO.findById(id);
-                    salaire.ifPresent(s -> {
-                        SalaireDialog dialog = new SalaireDialog(this, Optional.of(s));
-                        dialog.setVisible(true);
-                        if (dialog.isConfirmed()) {
-                            refreshSalaireTable(model);
-                        }
-                    });
-                } catch (Exception ex) {
-                    showError("Erreur: " + ex.getMessage());
-                }
+            Salaire selected = getSelectedRow(table, model);
+            if (selected != null) {
+                int id = selected.getIdSalaire();
+                BackgroundTasks.getInstance().submit(null, () -> salaireDAO.findById(id),
+                        salaire -> salaire.ifPresent(s -> {
+                            SalaireDialog dialog = new SalaireDialog(this, Optional.of(s));
+                            dialog.setVisible(true);
+                            if (dialog.isConfirmed()) {
+                                refreshSalaireTable(model);
+                            }
+                        }),
+                        ex -> showError("Erreur: " + ex.getMessage()));
             } else {
                 showMessage("Veuillez sélectionner un salaire");
             }
@@ -561,17 +545,16 @@ public class MainWindow extends JFrame {
             deleteButton.setEnabled(false);
         }
         deleteButton.addActionListener(e -> {
-            int selectedRow = table.getSelectedRow();
-            if (selectedRow >= 0) {
-                int id = (Integer) model.getValueAt(selectedRow, 0);
+            Salaire selected = getSelectedRow(table, model);
+            if (selected != null) {
+                int id = selected.getIdSalaire();
                 if (confirmAction("Confirmer la suppression de ce salaire ?")) {
-                    try {
-                        salaireDAO.delete(id);
-                        refreshSalaireTable(model);
-                        showMessage("Salaire supprimé avec succès");
-                    } catch (Exception ex) {
-                        showError("Erreur: " + ex.getMessage());
-                    }
+                    BackgroundTasks.getInstance().run(null, () -> salaireDAO.delete(id),
+                            () -> {
+                                refreshSalaireTable(model);
+                                showMessage("Salaire supprimé avec succès");
+                            },
+                            ex -> showError("Erreur: " + ex.getMessage()));
                 }
             } else {
                 showMessage("Veuillez sélectionner un salaire");
@@ -579,6 +562,42 @@ public class MainWindow extends JFrame {
         });
         buttonPanel.add(deleteButton);
 
+        JButton payrollButton = new JButton("Calculer la paie");
+        UIStyleManager.styleButton(payrollButton);
+        // Disable for EMPLOYEE, RH and MANAGER roles
+        if (currentUser.getRole().equals("EMPLOYEE") || currentUser.getRole().equals("RH") || currentUser.getRole().equals("MANAGER")) {
+            payrollButton.setEnabled(false);
+        }
+        payrollButton.addActionListener(e -> runPayroll(model, payrollButton));
+        buttonPanel.add(payrollButton);
+
+        JButton payslipsButton = new JButton("Fiches de paie");
+        UIStyleManager.styleButton(payslipsButton);
+        // Same restriction as the payroll run: the archive holds the payslips of every employee
+        if (currentUser.getRole().equals("EMPLOYEE") || currentUser.getRole().equals("RH") || currentUser.getRole().equals("MANAGER")) {
+            payslipsButton.setEnabled(false);
+        }
+        payslipsButton.addActionListener(e -> generatePayslips(payslipsButton));
+        buttonPanel.add(payslipsButton);
+
+        JButton simulationButton = new JButton("Simulation");
+        UIStyleManager.styleButton(simulationButton);
+        // Same restriction as the payroll run: the simulation shows the payroll of every service
+        if (currentUser.getRole().equals("EMPLOYEE") || currentUser.getRole().equals("RH") || currentUser.getRole().equals("MANAGER")) {
+            simulationButton.setEnabled(false);
+        }
+        simulationButton.addActionListener(e -> simulatePayroll(simulationButton));
+        buttonPanel.add(simulationButton);
+
+        JButton exportSalairesButton = new JButton("Exporter");
+        UIStyleManager.styleButton(exportSalairesButton);
+        // The export holds the salaries of every employee of the month
+        if (currentUser.getRole().equals("EMPLOYEE")) {
+            exportSalairesButton.setEnabled(false);
+        }
+        exportSalairesButton.addActionListener(e -> exportSalaires(exportSalairesButton));
+        buttonPanel.add(exportSalairesButton);
+
         JButton refreshButton = new JButton("Actualiser");
         UIStyleManager.styleButton(refreshButton);
         refreshButton.addActionListener(e -> refreshSalaireTable(model));
@@ -591,50 +610,299 @@ public class MainWindow extends JFrame {
     }
 
 
-    private void refreshSalaireTable(DefaultTableModel model) {
-        model.setRowCount(0);
-        
-        // Capture current user info for the SwingWorker thread
-        final String userRole = currentUser.getRole();
-        final int employeeId = currentUser.getIdEmploye(); // Get employee ID here
+    /**
+     * Asks for a period and runs the payroll of all active employees in the background
+     */
+    private void runPayroll(LazyTableModel<Salaire> model, JButton payrollButton) {
+        java.time.LocalDate now = java.time.LocalDate.now();
+        JSpinner moisSpinner = new JSpinner(new SpinnerNumberModel(now.getMonthValue(), 1, 12, 1));
+        JSpinner anneeSpinner = new JSpinner(new SpinnerNumberModel(now.getYear(), 2000, now.getYear() + 1, 1));
+        anneeSpinner.setEditor(new JSpinner.NumberEditor(anneeSpinner, "#"));
+        JPanel periodPanel = new JPanel(new GridLayout(2, 2, 5, 5));
+        periodPanel.add(new JLabel("Mois:"));
+        periodPanel.add(moisSpinner);
+        periodPanel.add(new JLabel("Année:"));
+        periodPanel.add(anneeSpinner);
+        if (JOptionPane.showConfirmDialog(this, periodPanel, "Calculer la paie",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+        int mois = (Integer) moisSpinner.getValue();
+        int annee = (Integer) anneeSpinner.getValue();
+
+        ProgressMonitor monitor = new ProgressMonitor(this, "Calcul de la paie " + mois + "/" + annee, "", 0, 100);
+        monitor.setMillisToDecideToPopup(0);
+        payrollButton.setEnabled(false);
+
+        BackgroundTasks.getInstance().submit(null, () -> new PayrollRunner().run(mois, annee, (phase, done, total) -> {
+            // Computation is the first half of the bar, saving the second half
+            int progress = (phase == PayrollRunner.Phase.CALCUL ? 0 : 50) + (total == 0 ? 50 : done * 50 / total);
+            String note = String.format("%s: %d / %d", phase == PayrollRunner.Phase.CALCUL
+                    ? "Calcul" : "Enregistrement", done, total);
+            SwingUtilities.invokeLater(() -> {
+                monitor.setProgress(progress);
+                monitor.setNote(note);
+            });
+        }), result -> {
+            monitor.close();
+            payrollButton.setEnabled(true);
+            refreshSalaireTable(model);
+            String message = String.format("Paie %d/%d terminée: %d salaires enregistrés, %d échecs%n" +
+                            "Durée: %.1f s (%.0f employés/s)", mois, annee, result.getSucceeded(),
+                    result.getFailed(), result.getTotalMillis() / 1000.0, result.getThroughput());
+            if (result.isResumed()) {
+                message += String.format("%nReprise d'une exécution interrompue: %d employés déjà traités",
+                        result.getSkipped());
+            }
+            if (!result.getErrors().isEmpty()) {
+                message += "\n\n" + String.join("\n", result.getErrors().subList(0,
+                        Math.min(10, result.getErrors().size())));
+            }
+            showMessage(message);
+        }, e -> {
+            monitor.close();
+            payrollButton.setEnabled(true);
+            AppLogger.getInstance().log(Level.SEVERE, "Error running payroll", e);
+            showError("Erreur lors du calcul de la paie: " + e.getMessage());
+        });
+    }
+
+    /**
+     * Asks for a period and a destination, then generates the payslips of the month in the background
+     */
+    private void generatePayslips(JButton payslipsButton) {
+        java.time.LocalDate now = java.time.LocalDate.now();
+        JSpinner moisSpinner = new JSpinner(new SpinnerNumberModel(now.getMonthValue(), 1, 12, 1));
+        JSpinner anneeSpinner = new JSpinner(new SpinnerNumberModel(now.getYear(), 2000, now.getYear() + 1, 1));
+        anneeSpinner.setEditor(new JSpinner.NumberEditor(anneeSpinner, "#"));
+        JComboBox<String> outputCombo = new JComboBox<>(new String[]{"Archive ZIP", "Un dossier par service"});
+        JPanel optionsPanel = new JPanel(new GridLayout(3, 2, 5, 5));
+        optionsPanel.add(new JLabel("Mois:"));
+        optionsPanel.add(moisSpinner);
+        optionsPanel.add(new JLabel("Année:"));
+        optionsPanel.add(anneeSpinner);
+        optionsPanel.add(new JLabel("Sortie:"));
+        optionsPanel.add(outputCombo);
+        if (JOptionPane.showConfirmDialog(this, optionsPanel, "Fiches de paie",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+        int mois = (Integer) moisSpinner.getValue();
+        int annee = (Integer) anneeSpinner.getValue();
+        PayslipBatch.Output output = outputCombo.getSelectedIndex() == 0
+                ? PayslipBatch.Output.ZIP : PayslipBatch.Output.SERVICE_DIRECTORIES;
+
+        JFileChooser fileChooser = new JFileChooser();
+        if (output == PayslipBatch.Output.ZIP) {
+            fileChooser.setDialogTitle("Enregistrer l'archive des fiches de paie");
+            fileChooser.setSelectedFile(new java.io.File(String.format("fiches_de_paie_%02d-%d.zip", mois, annee)));
+        } else {
+            fileChooser.setDialogTitle("Choisir le dossier des fiches de paie");
+            fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        }
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        java.nio.file.Path target = fileChooser.getSelectedFile().toPath();
+        if (output == PayslipBatch.Output.ZIP && !target.getFileName().toString().toLowerCase().endsWith(".zip")) {
+            target = target.resolveSibling(target.getFileName() + ".zip");
+        }
+        java.nio.file.Path destination = target;
+
+        ProgressMonitor monitor = new ProgressMonitor(this, "Fiches de paie " + mois + "/" + annee, "", 0, 100);
+        monitor.setMillisToDecideToPopup(0);
+        payslipsButton.setEnabled(false);
+
+        BackgroundTasks.getInstance().submit(null, () -> new PayslipBatch().run(mois, annee, output, destination,
+                (done, total) -> {
+                    int progress = total == 0 ? 100 : done * 100 / total;
+                    String note = String.format("Fiches: %d / %d", done, total);
+                    SwingUtilities.invokeLater(() -> {
+                        monitor.setProgress(progress);
+                        monitor.setNote(note);
+                    });
+                }), result -> {
+            monitor.close();
+            payslipsButton.setEnabled(true);
+            String message = String.format("Fiches de paie %d/%d: %d générées (%d depuis le cache), %d échecs%n" +
+                            "Durée: %.1f s (%.0f pages/s)%n%s", mois, annee, result.getGenerated(),
+                    result.getCached(), result.getFailed(), result.getMillis() / 1000.0, result.getPagesPerSecond(), result.getTarget());
+            if (!result.getErrors().isEmpty()) {
+                message += "\n\n" + String.join("\n", result.getErrors().subList(0,
+                        Math.min(10, result.getErrors().size())));
+            }
+            showMessage(message);
+        }, e -> {
+            monitor.close();
+            payslipsButton.setEnabled(true);
+            AppLogger.getInstance().log(Level.SEVERE, "Error generating payslips", e);
+            showError("Erreur lors de la génération des fiches de paie: " + e.getMessage());
+        });
+    }
+
+    /**
+     * Asks for hypothetical raises and rates, then compares the payroll of the month with and without them.
+     * Nothing is saved.
+     */
+    private void simulatePayroll(JButton simulationButton) {
+        simulationButton.setEnabled(false);
+        BackgroundTasks.getInstance().submit(null, serviceDAO::findAll, services -> {
+            simulationButton.setEnabled(true);
+            simulatePayroll(simulationButton, services);
+        }, ex -> {
+            simulationButton.setEnabled(true);
+            AppLogger.getInstance().log(Level.SEVERE, "Error loading services", ex);
+            showError("Erreur lors du chargement des services: " + ex.getMessage());
+        });
+    }
+
+    private void simulatePayroll(JButton simulationButton, java.util.List<Service> services) {
+        java.time.LocalDate now = java.time.LocalDate.now();
+        JSpinner moisSpinner = new JSpinner(new SpinnerNumberModel(now.getMonthValue(), 1, 12, 1));
+        JSpinner anneeSpinner = new JSpinner(new SpinnerNumberModel(now.getYear(), 2000, now.getYear() + 1, 1));
+        anneeSpinner.setEditor(new JSpinner.NumberEditor(anneeSpinner, "#"));
+        JSpinner raiseSpinner = new JSpinner(new SpinnerNumberModel(0.0, -50.0, 100.0, 0.5));
+        JSpinner premiumSpinner = new JSpinner(new SpinnerNumberModel(
+                (SalaryCalculator.OVERTIME_RATE - 1) * 100, 0.0, 200.0, 5.0));
+        JTextField ratesField = new JTextField(20);
+        JButton ratesButton = new JButton("Parcourir...");
+        ratesButton.addActionListener(e -> {
+            JFileChooser fileChooser = new JFileChooser();
+            fileChooser.setDialogTitle("Barèmes à simuler");
+            if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+                ratesField.setText(fileChooser.getSelectedFile().getAbsolutePath());
+            }
+        });
+        JPanel ratesPanel = new JPanel(new BorderLayout(5, 0));
+        ratesPanel.add(ratesField, BorderLayout.CENTER);
+        ratesPanel.add(ratesButton, BorderLayout.EAST);
 
-        SwingWorker<List<Salaire>, Void> worker = new SwingWorker<>() {
+        DefaultTableModel raisesModel = new DefaultTableModel(new String[]{"Service", "Augmentation (%)"}, 0) {
             @Override
-            protected List<Salaire> doInBackground() throws Exception {
-                List<Salaire> salaires;
-                if (userRole.equals("EMPLOYEE")) {
-                    // Use the captured employeeId
-                    salaires = salaireDAO.findByEmployeeId(employeeId);
-                } else {
-                    // Fetch all salaries for other roles
-                    salaires = salaireDAO.findAll();
-                }
-                return salaires;
+            public boolean isCellEditable(int row, int column) {
+                return column == 1;
             }
 
             @Override
-            protected void done() {
-                try {
-                    model.setRowCount(0);
-                    List<Salaire> salaires = get();
-                    for (Salaire salaire : salaires) {
-                        if (salaire != null) {
-                            model.addRow(new Object[]{
-                                    salaire.getIdSalaire(),
-                                    salaire.getEmployeNom(),
-                                    salaire.getMois(),
-                                    salaire.getAnnee(),
-                                    String.format("%.2f €", salaire.getStoredSalaireNet())
-                            });
-                        }
-                    }
-                } catch (Exception e) {
-                    AppLogger.getInstance().log(Level.SEVERE, "Error loading salaries", e);
-                    showError("Erreur lors du chargement des salaires: " + e.getMessage());
-                }
+            public Class<?> getColumnClass(int column) {
+                return column == 1 ? Double.class : String.class;
             }
         };
-        worker.execute();
+        for (Service service : services) {
+            raisesModel.addRow(new Object[]{service.getNom(), null});
+        }
+        JTable raisesTable = new JTable(raisesModel);
+        JScrollPane raisesScroll = new JScrollPane(raisesTable);
+        raisesScroll.setPreferredSize(new Dimension(350, 150));
+
+        JPanel fieldsPanel = new JPanel(new GridLayout(5, 2, 5, 5));
+        fieldsPanel.add(new JLabel("Mois:"));
+        fieldsPanel.add(moisSpinner);
+        fieldsPanel.add(new JLabel("Année:"));
+        fieldsPanel.add(anneeSpinner);
+        fieldsPanel.add(new JLabel("Augmentation générale (%):"));
+        fieldsPanel.add(raiseSpinner);
+        fieldsPanel.add(new JLabel("Majoration heures sup. (%):"));
+        fieldsPanel.add(premiumSpinner);
+        fieldsPanel.add(new JLabel("Barèmes (facultatif):"));
+        fieldsPanel.add(ratesPanel);
+        JPanel optionsPanel = new JPanel(new BorderLayout(5, 5));
+        optionsPanel.add(fieldsPanel, BorderLayout.NORTH);
+        optionsPanel.add(new JLabel("Augmentation par service (vide: augmentation générale):"), BorderLayout.CENTER);
+        optionsPanel.add(raisesScroll, BorderLayout.SOUTH);
+        if (JOptionPane.showConfirmDialog(this, optionsPanel, "Simulation de la paie",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+        if (raisesTable.isEditing()) {
+            raisesTable.getCellEditor().stopCellEditing();
+        }
+        int mois = (Integer) moisSpinner.getValue();
+        int annee = (Integer) anneeSpinner.getValue();
+
+        PayrollSimulator.Scenario scenario = new PayrollSimulator.Scenario()
+                .raise((Double) raiseSpinner.getValue())
+                .overtimePremium(1 + (Double) premiumSpinner.getValue() / 100);
+        for (int row = 0; row < services.size(); row++) {
+            Object raise = raisesModel.getValueAt(row, 1);
+            if (raise != null) {
+                scenario.raise(services.get(row).getIdService(), (Double) raise);
+            }
+        }
+        String ratesFile = ratesField.getText().trim();
+
+        simulationButton.setEnabled(false);
+        BackgroundTasks.getInstance().submit(null, () -> {
+            if (!ratesFile.isEmpty()) {
+                scenario.rateTables(RateTables.withOverrides(java.nio.file.Paths.get(ratesFile)));
+            }
+            return new PayrollSimulator().simulate(mois, annee, scenario);
+        }, result -> {
+            simulationButton.setEnabled(true);
+            JTextArea reportArea = new JTextArea(formatSimulation(result), 20, 100);
+            reportArea.setEditable(false);
+            reportArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+            UIStyleManager.styleTextArea(reportArea);
+            JOptionPane.showMessageDialog(this, new JScrollPane(reportArea), "Simulation de la paie " + mois + "/" + annee,
+                    JOptionPane.INFORMATION_MESSAGE);
+        }, e -> {
+            simulationButton.setEnabled(true);
+            AppLogger.getInstance().log(Level.SEVERE, "Error simulating payroll", e);
+            showError("Erreur lors de la simulation de la paie: " + e.getMessage());
+        });
+    }
+
+    private static String formatSimulation(PayrollSimulationResult result) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-24s %6s %20s %20s %8s %20s %20s%n", "Service", "Empl.",
+                "Brut actuel", "Brut simulé", "Var. %", "Net actuel", "Net simulé"));
+        for (java.util.Map.Entry<String, PayrollSimulationResult.Totals> entry : result.getByService().entrySet()) {
+            appendSimulationLine(sb, entry.getKey(), entry.getValue());
+        }
+        sb.append("-".repeat(124)).append('\n');
+        PayrollSimulationResult.Totals total = result.getTotal();
+        appendSimulationLine(sb, "Total", total);
+        sb.append(String.format("%nCotisations: %s -> %s%nImpôt sur le revenu: %s -> %s%nCalculé en %d ms",
+                Money.format(total.getCotisationsActuelles(), Money.MAD), Money.format(total.getCotisationsSimulees(), Money.MAD),
+                Money.format(total.getImpotActuel(), Money.MAD), Money.format(total.getImpotSimule(), Money.MAD),
+                result.getMillis()));
+        return sb.toString();
+    }
+
+    private static void appendSimulationLine(StringBuilder sb, String name, PayrollSimulationResult.Totals totals) {
+        sb.append(String.format("%-24.24s %6d %20s %20s %+8.2f %20s %20s%n", name, totals.getEmployes(),
+                Money.format(totals.getBrutActuel(), Money.MAD), Money.format(totals.getBrutSimule(), Money.MAD),
+                totals.getVariationBrut(), Money.format(totals.getNetActuel(), Money.MAD),
+                Money.format(totals.getNetSimule(), Money.MAD)));
+    }
+
+    /**
+     * Salaries of the current employee for the EMPLOYEE role, all salaries otherwise
+     */
+    private LazyTableModel<Salaire> createSalaireModel(String[] columns) {
+        final int employeeId = currentUser.getIdEmploye();
+        boolean ownOnly = currentUser.getRole().equals("EMPLOYEE");
+        LazyTableModel<Salaire> model = new LazyTableModel<>(columns,
+                ownOnly ? () -> salaireDAO.countByEmployeeId(employeeId) : salaireDAO::count,
+                ownOnly ? (cursor, size) -> salaireDAO.findPageByEmployeeId(employeeId, cursor, size) : salaireDAO::findPage,
+                (salaire, column) -> {
+                    switch (column) {
+                        case 0: return salaire.getIdSalaire();
+                        case 1: return salaire.getEmployeNom();
+                        case 2: return salaire.getMois();
+                        case 3: return salaire.getAnnee();
+                        default: return Money.format(Money.ofDouble(salaire.getStoredSalaireNet()), Money.EURO);
+                    }
+                });
+        model.setChangeTracking(salaireDAO::findChangesSince, Salaire::getIdSalaire, SalaireDAO.PAGE_ORDER,
+                salaire -> !ownOnly || salaire.getEmployeId() == employeeId);
+        model.setReferenceNames(Salaire::getEmployeId, Salaire::setEmployeNom);
+        model.setErrorHandler(e -> showError("Erreur lors du chargement des salaires: " + e.getMessage()));
+        return model;
+    }
+
+    private void refreshSalaireTable(LazyTableModel<Salaire> model) {
+        model.refresh();
     }
 
 
@@ -643,13 +911,8 @@ public class MainWindow extends JFrame {
         UIStyleManager.stylePanel(panel);
 
         String[] columns = {"ID", "Employé", "Date", "Heure d'entrée", "Heure de départ"};
-        DefaultTableModel model = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
-        JTable table = createTable(model);
+        LazyTableModel<Pointage> model = createPointageModel(columns);
+        JTable table = createLazyTable(model);
         panel.add(new JScrollPane(table), BorderLayout.CENTER);
 
         JPanel buttonPanel = new JPanel(new FlowLayout());
@@ -675,23 +938,19 @@ public class MainWindow extends JFrame {
             editButton.setEnabled(false);
         }
         editButton.addActionListener(e -> {
-            int selectedRow = table.getSelectedRow();
-            if (selectedRow >= 0) {
-                int id = (Integer) model.getValueAt(selectedRow, 0);
-                Optional<Pointage> pointage = Optional.empty();
-                try {
-                    pointage = pointageDAO.findById(id);
-                } catch (SQLException ex) {
-                    throw new RuntimeException(ex);
-                }
-                pointage.ifPresent(p -> {
-                    JDialog genericDialog = new PointageDialog((Frame) this, Optional.of(p));
-                    PointageDialog dialog = (PointageDialog) genericDialog;
-                    dialog.setVisible(true);
-                    if (dialog.isConfirmed()) {
-                        refreshPointageTable(model);
-                    }
-                });
+            Pointage selected = getSelectedRow(table, model);
+            if (selected != null) {
+                int id = selected.getIdPointage();
+                BackgroundTasks.getInstance().submit(null, () -> pointageDAO.findById(id),
+                        pointage -> pointage.ifPresent(p -> {
+                            JDialog genericDialog = new PointageDialog((Frame) this, Optional.of(p));
+                            PointageDialog dialog = (PointageDialog) genericDialog;
+                            dialog.setVisible(true);
+                            if (dialog.isConfirmed()) {
+                                refreshPointageTable(model);
+                            }
+                        }),
+                        ex -> showError("Erreur: " + ex.getMessage()));
             } else {
                 showMessage("Veuillez sélectionner un pointage");
             }
@@ -704,17 +963,16 @@ public class MainWindow extends JFrame {
             deleteButton.setEnabled(false);
         }
         deleteButton.addActionListener(e -> {
-            int selectedRow = table.getSelectedRow();
-            if (selectedRow >= 0) {
-                int id = (Integer) model.getValueAt(selectedRow, 0);
+            Pointage selected = getSelectedRow(table, model);
+            if (selected != null) {
+                int id = selected.getIdPointage();
                 if (confirmAction("Confirmer la suppression de ce pointage ?")) {
-                    try {
-                        pointageDAO.delete(id);
-                        refreshPointageTable(model);
-                        showMessage("Pointage supprimé avec succès");
-                    } catch (Exception ex) {
-                        showError("Erreur: " + ex.getMessage());
-                    }
+                    BackgroundTasks.getInstance().run(null, () -> pointageDAO.delete(id),
+                            () -> {
+                                refreshPointageTable(model);
+                                showMessage("Pointage supprimé avec succès");
+                            },
+                            ex -> showError("Erreur: " + ex.getMessage()));
                 }
             } else {
                 showMessage("Veuillez sélectionner un pointage");
@@ -722,6 +980,23 @@ public class MainWindow extends JFrame {
         });
         buttonPanel.add(deleteButton);
 
+        JButton importButton = new JButton("Importer");
+        UIStyleManager.styleButton(importButton);
+        // Badge-reader files hold the pointages of every employee
+        if (currentUser.getRole().equals("EMPLOYEE")) {
+            importButton.setEnabled(false);
+        }
+        importButton.addActionListener(e -> importPointages(model, importButton));
+        buttonPanel.add(importButton);
+
+        JButton exportPointagesButton = new JButton("Exporter");
+        UIStyleManager.styleButton(exportPointagesButton);
+        if (currentUser.getRole().equals("EMPLOYEE")) {
+            exportPointagesButton.setEnabled(false);
+        }
+        exportPointagesButton.addActionListener(e -> exportPointages(exportPointagesButton));
+        buttonPanel.add(exportPointagesButton);
+
         JButton refreshButton = new JButton("Actualiser");
         UIStyleManager.styleButton(refreshButton);
         refreshButton.addActionListener(e -> refreshPointageTable(model));
@@ -734,48 +1009,160 @@ public class MainWindow extends JFrame {
     }
 
 
-    private void refreshPointageTable(DefaultTableModel model) {
-        model.setRowCount(0);
+    /**
+     * Exports the salaries of one month to CSV, streamed from the database in the background
+     */
+    private void exportSalaires(JButton exportButton) {
+        int[] period = askPeriod("Exporter les salaires");
+        if (period == null) {
+            return;
+        }
+        java.io.File file = chooseExportFile("Exporter les salaires",
+                String.format("salaires_%02d-%d.csv", period[0], period[1]));
+        if (file == null) {
+            return;
+        }
+        exportButton.setEnabled(false);
+        BackgroundTasks.getInstance().submit(null, () -> {
+            try (java.util.stream.Stream<Salaire> salaires = salaireDAO.streamByPeriod(period[0], period[1])) {
+                return CsvExporter.exportSalaires(salaires, file.getAbsolutePath());
+            }
+        }, rows -> {
+            exportButton.setEnabled(true);
+            showMessage(String.format("%d salaires exportés:%n%s", rows, file.getAbsolutePath()));
+        }, ex -> {
+            exportButton.setEnabled(true);
+            AppLogger.getInstance().log(Level.SEVERE, "Error exporting salaries", ex);
+            showError("Erreur lors de l'export: " + ex.getMessage());
+        });
+    }
+
+    /**
+     * Exports the pointages of one month to CSV, streamed from the database in the background
+     */
+    private void exportPointages(JButton exportButton) {
+        int[] period = askPeriod("Exporter les pointages");
+        if (period == null) {
+            return;
+        }
+        java.io.File file = chooseExportFile("Exporter les pointages",
+                String.format("pointages_%02d-%d.csv", period[0], period[1]));
+        if (file == null) {
+            return;
+        }
+        java.time.YearMonth month = java.time.YearMonth.of(period[1], period[0]);
+        exportButton.setEnabled(false);
+        BackgroundTasks.getInstance().submit(null, () -> {
+            try (java.util.stream.Stream<Pointage> pointages =
+                         pointageDAO.streamByPeriod(month.atDay(1), month.atEndOfMonth())) {
+                return CsvExporter.exportPointages(pointages, file.getAbsolutePath());
+            }
+        }, rows -> {
+            exportButton.setEnabled(true);
+            showMessage(String.format("%d pointages exportés:%n%s", rows, file.getAbsolutePath()));
+        }, ex -> {
+            exportButton.setEnabled(true);
+            AppLogger.getInstance().log(Level.SEVERE, "Error exporting pointages", ex);
+            showError("Erreur lors de l'export: " + ex.getMessage());
+        });
+    }
 
-        // Capture current user info for the SwingWorker thread
-        final String userRole = currentUser.getRole();
-        final int employeeId = currentUser.getIdEmploye(); // Get employee ID here
+    /**
+     * @return {mois, annee}, or null if cancelled
+     */
+    private int[] askPeriod(String title) {
+        java.time.LocalDate now = java.time.LocalDate.now();
+        JSpinner moisSpinner = new JSpinner(new SpinnerNumberModel(now.getMonthValue(), 1, 12, 1));
+        JSpinner anneeSpinner = new JSpinner(new SpinnerNumberModel(now.getYear(), 2000, now.getYear() + 1, 1));
+        anneeSpinner.setEditor(new JSpinner.NumberEditor(anneeSpinner, "#"));
+        JPanel periodPanel = new JPanel(new GridLayout(2, 2, 5, 5));
+        periodPanel.add(new JLabel("Mois:"));
+        periodPanel.add(moisSpinner);
+        periodPanel.add(new JLabel("Année:"));
+        periodPanel.add(anneeSpinner);
+        if (JOptionPane.showConfirmDialog(this, periodPanel, title,
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE) != JOptionPane.OK_OPTION) {
+            return null;
+        }
+        return new int[]{(Integer) moisSpinner.getValue(), (Integer) anneeSpinner.getValue()};
+    }
 
-        SwingWorker<List<Pointage>, Void> worker = new SwingWorker<>() {
-            @Override
-            protected List<Pointage> doInBackground() throws Exception {
-                List<Pointage> pointages;
-                if (userRole.equals("EMPLOYEE")) {
-                    // Use the captured employeeId
-                    pointages = pointageDAO.findByEmployeeId(employeeId);
-                } else {
-                    // Fetch all pointages for other roles
-                    pointages = pointageDAO.findAll();
-                }
-                return pointages;
+    /**
+     * @return The file to write, or null if cancelled
+     */
+    private java.io.File chooseExportFile(String title, String defaultName) {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle(title);
+        fileChooser.setSelectedFile(new java.io.File(defaultName));
+        return fileChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION ? fileChooser.getSelectedFile() : null;
+    }
+
+    /**
+     * Asks for a badge-reader CSV file and imports its pointages in the background
+     */
+    private void importPointages(LazyTableModel<Pointage> model, JButton importButton) {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Importer les pointages des badgeuses");
+        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("Fichiers CSV", "csv", "txt"));
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        java.nio.file.Path file = fileChooser.getSelectedFile().toPath();
+
+        ProgressMonitor monitor = new ProgressMonitor(this, "Import de " + file.getFileName(), "", 0, 100);
+        monitor.setMillisToDecideToPopup(0);
+        importButton.setEnabled(false);
+
+        BackgroundTasks.getInstance().submit(null, () -> new PointageImporter().importFile(file, (done, total) -> {
+            int progress = total == 0 ? 100 : (int) (done * 100 / total);
+            SwingUtilities.invokeLater(() -> monitor.setProgress(progress));
+        }), result -> {
+            monitor.close();
+            importButton.setEnabled(true);
+            refreshPointageTable(model);
+            String message = String.format("Import terminé: %d lignes, %d pointages importés, %d rejetés%n" +
+                            "Durée: %.1f s (%.0f lignes/s)", result.getLines(), result.getImported(),
+                    result.getRejected(), result.getMillis() / 1000.0, result.getLinesPerSecond());
+            if (result.getRejectReport() != null) {
+                message += "\nLignes rejetées: " + result.getRejectReport() + "\n\n" + String.join("\n",
+                        result.getErrors().subList(0, Math.min(10, result.getErrors().size())));
             }
+            showMessage(message);
+        }, e -> {
+            monitor.close();
+            importButton.setEnabled(true);
+            AppLogger.getInstance().log(Level.SEVERE, "Error importing pointages", e);
+            showError("Erreur lors de l'import des pointages: " + e.getMessage());
+        });
+    }
 
-            @Override
-            protected void done() {
-                try {
-                    model.setRowCount(0);
-                    List<Pointage> pointages = get();
-                    for (Pointage p : pointages) {
-                        model.addRow(new Object[]{
-                                p.getIdPointage(),
-                                p.getEmployeNom(),
-                                p.getDate(),
-                                p.getHeureArrivee(),
-                                p.getHeureDepart()
-                        });
+    /**
+     * Pointages of the current employee for the EMPLOYEE role, all pointages otherwise
+     */
+    private LazyTableModel<Pointage> createPointageModel(String[] columns) {
+        final int employeeId = currentUser.getIdEmploye();
+        boolean ownOnly = currentUser.getRole().equals("EMPLOYEE");
+        LazyTableModel<Pointage> model = new LazyTableModel<>(columns,
+                ownOnly ? () -> pointageDAO.countByEmployeeId(employeeId) : pointageDAO::count,
+                ownOnly ? (cursor, size) -> pointageDAO.findPageByEmployeeId(employeeId, cursor, size) : pointageDAO::findPage,
+                (p, column) -> {
+                    switch (column) {
+                        case 0: return p.getIdPointage();
+                        case 1: return p.getEmployeNom();
+                        case 2: return p.getDate();
+                        case 3: return p.getHeureArrivee();
+                        default: return p.getHeureDepart();
                     }
-                } catch (Exception e) {
-                    AppLogger.getInstance().log(Level.SEVERE, "Error loading pointages", e);
-                    showError("Erreur lors du chargement des pointages: " + e.getMessage());
-                }
-            }
-        };
-        worker.execute();
+                });
+        model.setChangeTracking(pointageDAO::findChangesSince, Pointage::getIdPointage, PointageDAO.PAGE_ORDER,
+                p -> !ownOnly || p.getEmployeId() == employeeId);
+        model.setReferenceNames(Pointage::getEmployeId, Pointage::setEmployeNom);
+        model.setErrorHandler(e -> showError("Erreur lors du chargement des pointages: " + e.getMessage()));
+        return model;
+    }
+
+    private void refreshPointageTable(LazyTableModel<Pointage> model) {
+        model.refresh();
     }
 
 }
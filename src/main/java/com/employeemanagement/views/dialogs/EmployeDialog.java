@@ -4,6 +4,7 @@ import com.employeemanagement.dao.EmployeDAO;
 import com.employeemanagement.dao.ServiceDAO;
 import com.employeemanagement.models.Employe;
 import com.employeemanagement.models.Service;
+import com.employeemanagement.utils.BackgroundTasks;
 import com.employeemanagement.utils.PdfExporter;
 import com.employeemanagement.utils.ValidationUtil;
 import com.employeemanagement.utils.UIStyleManager;
@@ -14,7 +15,6 @@ import java.awt.event.ActionEvent;                      // Swing est une bibliot
 import java.io.File;                                    //des interfaces utilisateur avec des fenêtres, boutons, tableaux, menus, etc.
 import java.sql.Date;
 import java.time.LocalDate;
-import java.util.List;
 import java.util.Optional;
 
 public class EmployeDialog extends JDialog {
@@ -167,14 +167,27 @@ public class EmployeDialog extends JDialog {
     }
 
     private void loadServices() {
-        try {
-            List<Service> services = serviceDAO.findAll();
+        BackgroundTasks.getInstance().submit(null, serviceDAO::findAll, services -> {
             serviceCombo.removeAllItems();
             services.forEach(serviceCombo::addItem);
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Erreur lors du chargement des services: " + e.getMessage(),
-                    "Erreur", JOptionPane.ERROR_MESSAGE);
+            selectService();
+        }, e -> JOptionPane.showMessageDialog(this,
+                "Erreur lors du chargement des services: " + e.getMessage(),
+                "Erreur", JOptionPane.ERROR_MESSAGE));
+    }
+
+    /**
+     * Selects the employee's service, once the services are loaded
+     */
+    private void selectService() {
+        if (employe.getIdEmploye() == 0) {
+            return;
+        }
+        for (int i = 0; i < serviceCombo.getItemCount(); i++) {
+            if (serviceCombo.getItemAt(i).getIdService() == employe.getServiceId()) {
+                serviceCombo.setSelectedIndex(i);
+                break;
+            }
         }
     }
 
@@ -186,13 +199,7 @@ public class EmployeDialog extends JDialog {
             salaireField.setText(String.format("%.2f", employe.getSalaireDeBase()));
             dateSpinner.setValue(Date.valueOf(employe.getDateEmbauche()));
 
-            // Select the employee's service
-            for (int i = 0; i < serviceCombo.getItemCount(); i++) {
-                if (serviceCombo.getItemAt(i).getIdService() == employe.getServiceId()) {
-                    serviceCombo.setSelectedIndex(i);
-                    break;
-                }
-            }
+            selectService();
 
             // Populate new fields
             cinField.setText(employe.getCin());
@@ -247,9 +254,17 @@ public class EmployeDialog extends JDialog {
             employe.setTypeContrat(typeContratField.getText().trim());
 
             // Save to database
-            employeDAO.save(employe);
-            confirmed = true;
-            dispose();
+            JButton saveButton = (JButton) e.getSource();
+            saveButton.setEnabled(false);
+            BackgroundTasks.getInstance().run(null, () -> employeDAO.save(employe), () -> {
+                confirmed = true;
+                dispose();
+            }, ex -> {
+                saveButton.setEnabled(true);
+                JOptionPane.showMessageDialog(this,
+                        "Erreur lors de l'enregistrement: " + ex.getMessage(),
+                        "Erreur", JOptionPane.ERROR_MESSAGE);
+            });
 
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(this,
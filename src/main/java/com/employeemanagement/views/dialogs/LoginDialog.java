@@ -2,17 +2,19 @@ package com.employeemanagement.views.dialogs;
 
 import com.employeemanagement.dao.UtilisateurDAO;
 import com.employeemanagement.models.Utilisateur;
-import com.employeemanagement.utils.PasswordUtil;
+import com.employeemanagement.utils.BackgroundTasks;
 import com.employeemanagement.utils.UIStyleManager;
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.KeyEvent;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * Secure authentication dialog with multiple login attempts and password policy enforcement
+ * Secure authentication dialog with multiple login attempts and password policy enforcement.
+ * The password check (BCrypt) runs in the background; it can be cancelled while in progress.
  */
 public final class LoginDialog extends JDialog {
     private static final int MAX_ATTEMPTS = 3;
@@ -25,6 +27,9 @@ public final class LoginDialog extends JDialog {
     private Optional<Utilisateur> currentUser = Optional.empty();
     private Timer inactivityTimer;
     private JLabel attemptsRemainingLabel;
+    private JButton loginButton;
+    private final JProgressBar progressBar = new JProgressBar();
+    private Future<Optional<Utilisateur>> pendingLogin;
 
     public LoginDialog(JFrame parent) {
         super(parent, "Connexion", true);
@@ -81,12 +86,19 @@ public final class LoginDialog extends JDialog {
         // Button panel
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 15));
         UIStyleManager.stylePanel(buttonPanel);
-        JButton loginButton = createLoginButton();
+        loginButton = createLoginButton();
         JButton cancelButton = createCancelButton();
 
         buttonPanel.add(loginButton);
         buttonPanel.add(cancelButton);
 
+        progressBar.setStringPainted(true);
+        progressBar.setString("");
+        JPanel southPanel = new JPanel(new BorderLayout());
+        UIStyleManager.stylePanel(southPanel);
+        southPanel.add(progressBar, BorderLayout.NORTH);
+        southPanel.add(buttonPanel, BorderLayout.CENTER);
+
         // Info panel
         JPanel infoPanel = new JPanel(new BorderLayout());
         UIStyleManager.stylePanel(infoPanel);
@@ -101,7 +113,7 @@ public final class LoginDialog extends JDialog {
         // Assembly
         mainPanel.add(infoPanel, BorderLayout.NORTH);
         mainPanel.add(formPanel, BorderLayout.CENTER);
-        mainPanel.add(buttonPanel, BorderLayout.SOUTH);
+        mainPanel.add(southPanel, BorderLayout.SOUTH);
         add(mainPanel);
 
         // Keyboard focus
@@ -119,7 +131,13 @@ public final class LoginDialog extends JDialog {
     private JButton createCancelButton() {
         JButton button = new JButton("Annuler");
         UIStyleManager.styleButton(button);
-        button.addActionListener(e -> dispose());
+        button.addActionListener(e -> {
+            if (pendingLogin != null) {
+                cancelPendingLogin(); // back to the form
+            } else {
+                dispose();
+            }
+        });
         return button;
     }
 
@@ -148,23 +166,59 @@ public final class LoginDialog extends JDialog {
             return;
         }
 
-        try {
-            UtilisateurDAO userDAO = new UtilisateurDAO();
-            System.out.println("LoginDialog.authenticate - Plain password string: " + new String(password));
-            Optional<Utilisateur> user = userDAO.authenticate(username, new String(password));
+        String plainPassword = new String(password);
+        Arrays.fill(password, '\0');
+        setBusy(true);
+        // Callbacks run on the EDT after the assignment below; a cancelled attempt is no longer pendingLogin
+        AtomicReference<Future<Optional<Utilisateur>>> attempt = new AtomicReference<>();
+        pendingLogin = BackgroundTasks.getInstance().submit("login",
+                () -> new UtilisateurDAO().authenticate(username, plainPassword),
+                user -> {
+                    if (attempt.get() != pendingLogin) {
+                        return; // cancelled, or replaced by a newer attempt
+                    }
+                    pendingLogin = null;
+                    setBusy(false);
+                    clearPasswordField();
+                    if (user.isPresent()) {
+                        handleSuccessfulLogin(user.get());
+                    } else {
+                        handleFailedLogin();
+                    }
+                },
+                e -> {
+                    if (attempt.get() != pendingLogin) {
+                        return;
+                    }
+                    pendingLogin = null;
+                    setBusy(false);
+                    clearPasswordField();
+                    handleSystemError(e);
+                });
+        attempt.set(pendingLogin);
+    }
 
-            if (user.isPresent()) {
-                handleSuccessfulLogin(user.get());
-            } else {
-                handleFailedLogin();
-            }
-        } catch (Exception e) {
-            handleSystemError(e);
-        } finally {
+    /**
+     * Abandons the password check in progress; its result is ignored
+     */
+    private void cancelPendingLogin() {
+        if (pendingLogin != null) {
+            pendingLogin.cancel(true);
+            pendingLogin = null;
+            setBusy(false);
             clearPasswordField();
         }
     }
 
+    private void setBusy(boolean busy) {
+        usernameField.setEnabled(!busy);
+        passwordField.setEnabled(!busy);
+        loginButton.setEnabled(!busy);
+        progressBar.setIndeterminate(busy);
+        progressBar.setString(busy ? "Vérification en cours..." : "");
+        setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+    }
+
     private boolean validateInput(String username, char[] password) {
         if (username.isEmpty() || password.length == 0) {
             showWarning("Veuillez saisir un nom d'utilisateur et un mot de passe", "Champs requis");
@@ -215,6 +269,7 @@ public final class LoginDialog extends JDialog {
     }
 
     private void cancelLogin() {
+        cancelPendingLogin();
         authenticated = false;
         if (inactivityTimer != null) {
             inactivityTimer.stop();
@@ -232,6 +287,10 @@ public final class LoginDialog extends JDialog {
 
     @Override
     public void dispose() {
+        if (pendingLogin != null) {
+            pendingLogin.cancel(true);
+            pendingLogin = null;
+        }
         clearPasswordField();
         super.dispose();
     }
@@ -4,6 +4,7 @@ import com.employeemanagement.dao.EmployeDAO;
 import com.employeemanagement.dao.PointageDAO;
 import com.employeemanagement.models.Employe;
 import com.employeemanagement.models.Pointage;
+import com.employeemanagement.utils.BackgroundTasks;
 import com.employeemanagement.utils.DateUtils;
 import com.employeemanagement.utils.UIStyleManager;
 import com.employeemanagement.utils.ValidationUtil;
@@ -17,7 +18,6 @@ import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Date;
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -138,9 +138,16 @@ public class PointageDialog extends JDialog {
                 Pointage pointageToSave = getPointage();
 
                 // Save to database
-                pointageDAO.save(pointageToSave);
-                confirmed = true;
-                dispose();
+                saveButton.setEnabled(false);
+                BackgroundTasks.getInstance().run(null, () -> pointageDAO.save(pointageToSave), () -> {
+                    confirmed = true;
+                    dispose();
+                }, ex -> {
+                    saveButton.setEnabled(true);
+                    JOptionPane.showMessageDialog(this,
+                            "Erreur lors de l'enregistrement du pointage: " + ex.getMessage(),
+                            "Erreur", JOptionPane.ERROR_MESSAGE);
+                });
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(this,
                         "Erreur lors de l'enregistrement du pointage: " + ex.getMessage(),
@@ -160,28 +167,32 @@ public class PointageDialog extends JDialog {
     }
 
     private void loadEmployes() {
-        try {
-            List<Employe> employes = employeDAO.getAllActiveEmployes(); // Assuming this method exists
+        BackgroundTasks.getInstance().submit(null, employeDAO::getAllActiveEmployes, employes -> {
             employeCombo.removeAllItems();
             for (Employe emp : employes) {
                 employeCombo.addItem(emp);
             }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Erreur lors du chargement des employés: " + e.getMessage(),
-                    "Erreur", JOptionPane.ERROR_MESSAGE);
-        }
+            selectEmploye(pointage);
+        }, e -> JOptionPane.showMessageDialog(this,
+                "Erreur lors du chargement des employés: " + e.getMessage(),
+                "Erreur", JOptionPane.ERROR_MESSAGE));
     }
 
-    private void populateFields(Pointage pointage) {
-        // Populate fields from the Pointage object
-        // Assuming Employe is correctly represented in the ComboBox
+    /**
+     * Selects the pointage's employee, once the employees are loaded
+     */
+    private void selectEmploye(Pointage pointage) {
         for (int i = 0; i < employeCombo.getItemCount(); i++) {
             if (employeCombo.getItemAt(i).getIdEmploye() == pointage.getEmployeId()) {
                 employeCombo.setSelectedIndex(i);
                 break;
             }
         }
+    }
+
+    private void populateFields(Pointage pointage) {
+        // Populate fields from the Pointage object
+        selectEmploye(pointage);
         // Convert LocalDate to Date for the spinner
         dateSpinner.setValue(Date.from(pointage.getDate().atStartOfDay(ZoneId.systemDefault()).toInstant()));
         // Convert LocalTime to Date for the spinners - need to combine with a date
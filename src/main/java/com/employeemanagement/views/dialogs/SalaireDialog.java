@@ -4,14 +4,16 @@ import com.employeemanagement.dao.EmployeDAO;
 import com.employeemanagement.dao.SalaireDAO;
 import com.employeemanagement.models.Employe;
 import com.employeemanagement.models.Salaire;
+import com.employeemanagement.utils.AppLogger;
+import com.employeemanagement.utils.BackgroundTasks;
 import com.employeemanagement.utils.DateUtils;
 import com.employeemanagement.utils.UIStyleManager;
 import com.employeemanagement.utils.ValidationUtil;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.List;
 import java.util.Optional;
+import java.util.logging.Level;
 
 public class SalaireDialog extends JDialog {
     private boolean confirmed = false;
@@ -103,7 +105,7 @@ public class SalaireDialog extends JDialog {
 
         JButton saveButton = new JButton("Enregistrer");
         UIStyleManager.styleButton(saveButton);
-        saveButton.addActionListener(e -> save());
+        saveButton.addActionListener(e -> save(saveButton));
         buttonPanel.add(saveButton);
 
         JButton cancelButton = new JButton("Annuler");
@@ -117,28 +119,32 @@ public class SalaireDialog extends JDialog {
     }
 
     private void loadEmployes() {
-        try {
-            List<Employe> employes = employeDAO.getAllActiveEmployes(); // Assuming this method exists
+        BackgroundTasks.getInstance().submit(null, employeDAO::getAllActiveEmployes, employes -> {
             employeCombo.removeAllItems();
             for (Employe emp : employes) {
                 employeCombo.addItem(emp);
             }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Erreur lors du chargement des employés: " + e.getMessage(),
-                    "Erreur", JOptionPane.ERROR_MESSAGE);
-        }
+            salaire.ifPresent(this::selectEmploye);
+        }, e -> JOptionPane.showMessageDialog(this,
+                "Erreur lors du chargement des employés: " + e.getMessage(),
+                "Erreur", JOptionPane.ERROR_MESSAGE));
     }
 
-    private void populateFields(Salaire salaire) {
-        // Populate fields from the Salaire object
-        // Assuming Employe is correctly represented in the ComboBox
+    /**
+     * Selects the salary's employee, once the employees are loaded
+     */
+    private void selectEmploye(Salaire salaire) {
         for (int i = 0; i < employeCombo.getItemCount(); i++) {
             if (employeCombo.getItemAt(i).getIdEmploye() == salaire.getEmployeId()) {
                 employeCombo.setSelectedIndex(i);
                 break;
             }
         }
+    }
+
+    private void populateFields(Salaire salaire) {
+        // Populate fields from the Salaire object
+        selectEmploye(salaire);
         moisSpinner.setValue(salaire.getMois());
         anneeSpinner.setValue(salaire.getAnnee());
         montantField.setText(String.valueOf(salaire.getMontant()));
@@ -192,7 +198,7 @@ public class SalaireDialog extends JDialog {
         return currentSalaire;
     }
 
-    private void save() {
+    private void save(JButton saveButton) {
         if (validateInput()) {
             // Add check for selected employee
             if (employeCombo.getSelectedItem() == null) {
@@ -231,10 +237,17 @@ public class SalaireDialog extends JDialog {
                 }
 
                 // Save to database
-                salaireDAO.save(salaireToSave);
-                System.out.println("Salaire saved successfully.");
-                confirmed = true;
-                dispose();
+                saveButton.setEnabled(false);
+                BackgroundTasks.getInstance().run(null, () -> salaireDAO.save(salaireToSave), () -> {
+                    AppLogger.getInstance().log(Level.FINE, "Salaire saved for employee {}", salaireToSave.getEmployeId());
+                    confirmed = true;
+                    dispose();
+                }, ex -> {
+                    saveButton.setEnabled(true);
+                    JOptionPane.showMessageDialog(this,
+                            "Erreur lors de l'enregistrement du salaire: " + ex.getMessage(),
+                            "Erreur", JOptionPane.ERROR_MESSAGE);
+                });
             } catch (Exception ex) {
                 ex.printStackTrace();
                 JOptionPane.showMessageDialog(this,
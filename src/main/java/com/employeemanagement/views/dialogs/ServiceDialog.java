@@ -2,6 +2,7 @@ package com.employeemanagement.views.dialogs;
 
 import com.employeemanagement.dao.ServiceDAO;
 import com.employeemanagement.models.Service;
+import com.employeemanagement.utils.BackgroundTasks;
 import com.employeemanagement.utils.ValidationUtil;
 import com.employeemanagement.utils.UIStyleManager;
 
@@ -69,7 +70,7 @@ public class ServiceDialog extends JDialog {
         
         JButton saveButton = new JButton("Enregistrer");
         UIStyleManager.styleButton(saveButton);
-        saveButton.addActionListener(e -> save());
+        saveButton.addActionListener(e -> save(saveButton));
         buttonPanel.add(saveButton);
 
         JButton cancelButton = new JButton("Annuler");
@@ -85,7 +86,7 @@ public class ServiceDialog extends JDialog {
         descriptionArea.setText(service.getDescription());
     }
 
-    private void save() {
+    private void save(JButton saveButton) {
         try {
             validateFields();
 
@@ -93,9 +94,17 @@ public class ServiceDialog extends JDialog {
             currentService.setNom(nomField.getText().trim());
             currentService.setDescription(descriptionArea.getText().trim());
 
-            serviceDAO.save(currentService);
-            confirmed = true;
-            dispose();
+            saveButton.setEnabled(false);
+            BackgroundTasks.getInstance().run(null, () -> serviceDAO.save(currentService), () -> {
+                confirmed = true;
+                dispose();
+            }, e -> {
+                saveButton.setEnabled(true);
+                JOptionPane.showMessageDialog(this,
+                        "Erreur: " + e.getMessage(),
+                        "Erreur d'enregistrement",
+                        JOptionPane.ERROR_MESSAGE);
+            });
 
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this,
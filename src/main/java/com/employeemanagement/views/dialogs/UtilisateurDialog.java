@@ -4,13 +4,13 @@ import com.employeemanagement.dao.EmployeDAO;
 import com.employeemanagement.dao.UtilisateurDAO;
 import com.employeemanagement.models.Employe;
 import com.employeemanagement.models.Utilisateur;
+import com.employeemanagement.utils.BackgroundTasks;
 import com.employeemanagement.utils.PasswordUtil;
 import com.employeemanagement.utils.UIStyleManager;
 import com.employeemanagement.utils.ValidationUtil;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.List;
 import java.util.Optional;
 import java.util.Vector;
 
@@ -85,7 +85,7 @@ public class UtilisateurDialog extends JDialog {
         
         JButton saveButton = new JButton("Enregistrer");
         UIStyleManager.styleButton(saveButton);
-        saveButton.addActionListener(e -> saveUser());
+        saveButton.addActionListener(e -> saveUser(saveButton));
         buttonPanel.add(saveButton);
 
         JButton cancelButton = new JButton("Annuler");
@@ -99,16 +99,30 @@ public class UtilisateurDialog extends JDialog {
     }
 
     private void loadEmployes() {
-        try {
-            List<Employe> employes = employeDAO.getAllActiveEmployes(); // Assuming this method exists
+        BackgroundTasks.getInstance().submit(null, employeDAO::getAllActiveEmployes, employes -> {
             employeCombo.removeAllItems();
             for (Employe emp : employes) {
                 employeCombo.addItem(emp);
             }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Erreur lors du chargement des employés: " + e.getMessage(),
-                    "Erreur", JOptionPane.ERROR_MESSAGE);
+            selectEmploye();
+        }, e -> JOptionPane.showMessageDialog(this,
+                "Erreur lors du chargement des employés: " + e.getMessage(),
+                "Erreur", JOptionPane.ERROR_MESSAGE));
+    }
+
+    /**
+     * Selects the user's employee, once the employees are loaded
+     */
+    private void selectEmploye() {
+        if (user == null) {
+            return;
+        }
+        for (int i = 0; i < employeCombo.getItemCount(); i++) {
+            Employe emp = employeCombo.getItemAt(i);
+            if (emp != null && user.getIdEmploye() == emp.getIdEmploye()) {
+                employeCombo.setSelectedIndex(i);
+                break;
+            }
         }
     }
 
@@ -118,13 +132,7 @@ public class UtilisateurDialog extends JDialog {
             // Note: We don't populate the password field for security reasons
             roleCombo.setSelectedItem(user.getRole());
             // Select the corresponding employee in the combo box
-            for (int i = 0; i < employeCombo.getItemCount(); i++) {
-                Employe emp = employeCombo.getItemAt(i);
-                if (emp != null && user.getIdEmploye() == emp.getIdEmploye()) {
-                    employeCombo.setSelectedIndex(i);
-                    break;
-                }
-            }
+            selectEmploye();
         }
     }
 
@@ -154,7 +162,7 @@ public class UtilisateurDialog extends JDialog {
         return true;
     }
 
-    private void saveUser() {
+    private void saveUser(JButton saveButton) {
         if (validateInput()) {
             try {
                 String username = usernameField.getText().trim();
@@ -163,27 +171,36 @@ public class UtilisateurDialog extends JDialog {
                 String role = (String) roleCombo.getSelectedItem();
                 Employe selectedEmploye = (Employe) employeCombo.getSelectedItem();
 
-                if (user == null) {
-                    // Create new user
-                    Utilisateur newUser = new Utilisateur();
-                    newUser.setNomUtilisateur(username);
-                    newUser.setMotDePasse(PasswordUtil.hashPassword(password));
-                    newUser.setRole(role);
-                    newUser.setIdEmploye(selectedEmploye.getIdEmploye());
-                    utilisateurDAO.save(newUser);
-                } else {
-                    // Update existing user
-                    user.setNomUtilisateur(username);
-                    if (password.length() > 0) {
-                         user.setMotDePasse(PasswordUtil.hashPassword(password));
+                // Hashing and saving both run in the background
+                saveButton.setEnabled(false);
+                BackgroundTasks.getInstance().run(null, () -> {
+                    if (user == null) {
+                        // Create new user
+                        Utilisateur newUser = new Utilisateur();
+                        newUser.setNomUtilisateur(username);
+                        newUser.setMotDePasse(PasswordUtil.hashPassword(password));
+                        newUser.setRole(role);
+                        newUser.setIdEmploye(selectedEmploye.getIdEmploye());
+                        utilisateurDAO.save(newUser);
+                    } else {
+                        // Update existing user
+                        user.setNomUtilisateur(username);
+                        if (password.length() > 0) {
+                             user.setMotDePasse(PasswordUtil.hashPassword(password));
+                        }
+                        user.setRole(role);
+                        user.setIdEmploye(selectedEmploye.getIdEmploye());
+                        utilisateurDAO.update(user);
                     }
-                    user.setRole(role);
-                    user.setIdEmploye(selectedEmploye.getIdEmploye());
-                    utilisateurDAO.update(user);
-                }
-
-                confirmed = true;
-                dispose();
+                }, () -> {
+                    confirmed = true;
+                    dispose();
+                }, ex -> {
+                    saveButton.setEnabled(true);
+                    JOptionPane.showMessageDialog(this,
+                            "Erreur lors de l'enregistrement de l'utilisateur: " + ex.getMessage(),
+                            "Erreur", JOptionPane.ERROR_MESSAGE);
+                });
 
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(this,
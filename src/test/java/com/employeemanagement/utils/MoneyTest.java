@@ -0,0 +1,67 @@
+package com.employeemanagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @Test
+    void ofDoubleRoundsHalvesAwayFromZero() {
+        assertEquals(13, Money.ofDouble(0.125));
+        assertEquals(-13, Money.ofDouble(-0.125));
+        assertEquals(12, Money.ofDouble(0.124));
+        assertEquals(-12, Money.ofDouble(-0.124));
+    }
+
+    @Test
+    void ofDoubleAbsorbsBinaryRepresentationError() {
+        // 1.005 and 2.675 are stored slightly below the half
+        assertEquals(101, Money.ofDouble(1.005));
+        assertEquals(268, Money.ofDouble(2.675));
+        assertEquals(-101, Money.ofDouble(-1.005));
+    }
+
+    @Test
+    void ofDoubleRejectsInvalidAmounts() {
+        assertThrows(IllegalArgumentException.class, () -> Money.ofDouble(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Money.ofDouble(Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> Money.ofDouble(1e20));
+    }
+
+    @Test
+    void applyRateRoundsHalvesAwayFromZero() {
+        assertEquals(75, Money.applyRate(150, 5000));
+        assertEquals(1, Money.applyRate(1, 5000));   // 0.5 centime
+        assertEquals(2, Money.applyRate(3, 5000));   // 1.5 centimes
+        assertEquals(-1, Money.applyRate(-1, 5000));
+        assertEquals(-2, Money.applyRate(-3, 5000));
+        assertEquals(700, Money.applyRate(10_000, 700));
+    }
+
+    @Test
+    void applyRateDetectsOverflow() {
+        assertThrows(ArithmeticException.class, () -> Money.applyRate(Long.MAX_VALUE / 2, 10_000));
+    }
+
+    @Test
+    void formatGroupsThousands() {
+        assertEquals("1 234 567,89 MAD", Money.format(123_456_789, Money.MAD));
+        assertEquals("999,00 MAD", Money.format(99_900, Money.MAD));
+        assertEquals("-1 000,05 €", Money.format(-100_005, Money.EURO));
+    }
+
+    @Test
+    void formatPlainHasNoGrouping() {
+        assertEquals("12345,67", Money.formatPlain(1_234_567));
+        assertEquals("-0,05", Money.formatPlain(-5));
+        assertEquals("0,00", Money.formatPlain(0));
+    }
+
+    @Test
+    void roundKeepsTwoDecimals() {
+        assertEquals(1.01, Money.round(1.005));
+        assertEquals(-0.13, Money.round(-0.125));
+    }
+}
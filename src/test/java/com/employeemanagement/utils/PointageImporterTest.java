@@ -0,0 +1,207 @@
+package com.employeemanagement.utils;
+
+import com.employeemanagement.dao.BatchResult;
+import com.employeemanagement.dao.EmployeDAO;
+import com.employeemanagement.dao.PointageDAO;
+import com.employeemanagement.models.Employe;
+import com.employeemanagement.models.Pointage;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Line splitting and parsing of the badge-reader import, with the database replaced by in-memory DAOs
+ */
+class PointageImporterTest {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final List<Pointage> saved = new ArrayList<>();
+
+    private final EmployeDAO employeDAO = new EmployeDAO() {
+        @Override
+        public List<Employe> loadActive() {
+            List<Employe> employes = new ArrayList<>();
+            for (int id = 1; id <= 3; id++) {
+                Employe employe = new Employe();
+                employe.setIdEmploye(id);
+                employes.add(employe);
+            }
+            return employes;
+        }
+    };
+
+    private final PointageDAO pointageDAO = new PointageDAO() {
+        @Override
+        public BatchResult upsertAll(Collection<Pointage> pointages) {
+            saved.addAll(pointages);
+            return new BatchResult(pointages.size());
+        }
+    };
+
+    private PointageImportResult importBytes(byte[] content) throws IOException, SQLException {
+        Path directory = Files.createTempDirectory("pointages");
+        Path file = directory.resolve("pointages.csv");
+        Files.write(file, content);
+        return new PointageImporter(employeDAO, pointageDAO).importFile(file);
+    }
+
+    private PointageImportResult importText(String content) throws IOException, SQLException {
+        return importBytes(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertPointage(Pointage pointage, int employeId, String date, String arrivee, String depart) {
+        assertEquals(employeId, pointage.getEmployeId());
+        assertEquals(LocalDate.parse(date), pointage.getDate());
+        assertEquals(LocalTime.parse(arrivee), pointage.getHeureArrivee());
+        assertEquals(depart != null ? LocalTime.parse(depart) : null, pointage.getHeureDepart());
+    }
+
+    @Test
+    void headerIsSkipped() throws Exception {
+        PointageImportResult result = importText("employe;date;arrivee;depart\n1;2024-01-15;08:00;17:00\n");
+
+        assertEquals(1, result.getLines());
+        assertEquals(0, result.getRejected());
+        assertEquals(1, saved.size());
+        assertPointage(saved.get(0), 1, "2024-01-15", "08:00", "17:00");
+    }
+
+    @Test
+    void byteOrderMarkIsSkipped() throws Exception {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        content.write(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF});
+        content.write("2;15/01/2024;08:30;16:45\n".getBytes(StandardCharsets.UTF_8));
+
+        PointageImportResult result = importBytes(content.toByteArray());
+
+        assertEquals(0, result.getRejected());
+        assertEquals(1, saved.size());
+        assertPointage(saved.get(0), 2, "2024-01-15", "08:30", "16:45");
+    }
+
+    @Test
+    void byteOrderMarkBeforeHeaderIsSkipped() throws Exception {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        content.write(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF});
+        content.write("employe;date;arrivee;depart\r\n1;2024-01-15;08:00;17:00\r\n".getBytes(StandardCharsets.UTF_8));
+
+        PointageImportResult result = importBytes(content.toByteArray());
+
+        assertEquals(1, result.getLines());
+        assertEquals(0, result.getRejected());
+        assertEquals(1, saved.size());
+    }
+
+    @Test
+    void crlfLineBreaksAndMissingDepartures() throws Exception {
+        PointageImportResult result = importText("1;2024-01-15;08:00;17:00\r\n2;2024-01-15;09:00;\r\n"
+                + "3;2024-01-15;10:00\r\n\r\n");
+
+        assertEquals(3, result.getLines());
+        assertEquals(0, result.getRejected());
+        assertPointage(saved.get(0), 1, "2024-01-15", "08:00", "17:00");
+        assertPointage(saved.get(1), 2, "2024-01-15", "09:00", null);
+        assertPointage(saved.get(2), 3, "2024-01-15", "10:00", null);
+    }
+
+    @Test
+    void lastLineWithoutLineBreakIsRead() throws Exception {
+        PointageImportResult result = importText("1;2024-01-15;08:00;17:00\n2;2024-01-16;08:00:30;17:15:00");
+
+        assertEquals(2, result.getLines());
+        assertPointage(saved.get(1), 2, "2024-01-16", "08:00:30", "17:15");
+    }
+
+    @Test
+    void blanksAndQuotesAroundFieldsAreIgnored() throws Exception {
+        importText(" \"1\" ; 2024-01-15 ;\t08:00 ; \"17:00\" \n");
+
+        assertEquals(1, saved.size());
+        assertPointage(saved.get(0), 1, "2024-01-15", "08:00", "17:00");
+    }
+
+    @Test
+    void invalidLinesAreRejectedWithTheirNumber() throws Exception {
+        PointageImportResult result = importText("1;2024-01-15;08:00;17:00\n"
+                + "9;2024-01-15;08:00;17:00\n"         // unknown employee
+                + "1;2024-13-01;08:00;17:00\n"         // invalid date
+                + "1;2024-01-15;8h;17:00\n"            // invalid time
+                + "1;2024-01-15\n"                     // missing columns
+                + "1;2024-01-15;18:00;17:00\n");       // departure before arrival
+
+        assertEquals(6, result.getLines());
+        assertEquals(5, result.getRejected());
+        assertEquals(1, saved.size());
+        assertTrue(result.getErrors().get(0).startsWith("Ligne 2:"));
+        assertTrue(Files.isRegularFile(result.getRejectReport()));
+        assertEquals(6, Files.readAllLines(result.getRejectReport(), StandardCharsets.UTF_8).size());
+    }
+
+    @Test
+    void tooLongLineIsRejectedOnce() throws Exception {
+        StringBuilder content = new StringBuilder("1;2024-01-15;08:00;17:00\n");
+        content.append("2;").append("x".repeat(BUFFER_SIZE * 2 + 100)).append('\n');
+        content.append("3;2024-01-15;08:00;17:00\n");
+
+        PointageImportResult result = importText(content.toString());
+
+        assertEquals(3, result.getLines());
+        assertEquals(1, result.getRejected());
+        assertTrue(result.getErrors().get(0).startsWith("Ligne 2:"));
+        assertEquals(2, saved.size());
+        assertPointage(saved.get(1), 3, "2024-01-15", "08:00", "17:00");
+    }
+
+    @Test
+    void tooLongLastLineIsRejectedOnce() throws Exception {
+        PointageImportResult result = importText("1;2024-01-15;08:00;17:00\n" + "y".repeat(BUFFER_SIZE + 10));
+
+        assertEquals(2, result.getLines());
+        assertEquals(1, result.getRejected());
+        assertEquals(1, saved.size());
+    }
+
+    @Test
+    void linesSplitAcrossBufferReadsAreParsedWhole() throws Exception {
+        // Lines of varying length, so that line breaks fall at different offsets of each buffer read
+        StringBuilder content = new StringBuilder();
+        List<String[]> expected = new ArrayList<>();
+        for (int i = 0; content.length() < BUFFER_SIZE * 3; i++) {
+            int employeId = i % 3 + 1;
+            String date = LocalDate.of(2024, 1, 1).plusDays(i % 300).toString();
+            String arrivee = String.format("%02d:%02d", 6 + i % 4, i % 60);
+            String depart = i % 5 == 0 ? null : String.format("%02d:%02d:%02d", 14 + i % 8, (i * 7) % 60, i % 60);
+            content.append(" ".repeat(i % 7)).append(employeId).append(';').append(date).append(';')
+                    .append(arrivee).append(';').append(depart != null ? depart : "")
+                    .append(i % 2 == 0 ? "\n" : "\r\n");
+            expected.add(new String[]{Integer.toString(employeId), date, arrivee, depart});
+        }
+        // A line straddling the end of the first buffer read
+        assertTrue(content.charAt(BUFFER_SIZE - 1) != '\n');
+
+        PointageImportResult result = importText(content.toString());
+
+        assertEquals(expected.size(), result.getLines());
+        assertEquals(0, result.getRejected());
+        assertNull(result.getRejectReport());
+        assertEquals(expected.size(), saved.size());
+        for (int i = 0; i < expected.size(); i++) {
+            String[] line = expected.get(i);
+            assertPointage(saved.get(i), Integer.parseInt(line[0]), line[1], line[2], line[3]);
+        }
+    }
+}
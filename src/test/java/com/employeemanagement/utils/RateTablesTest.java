@@ -0,0 +1,136 @@
+package com.employeemanagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RateTablesTest {
+
+    private static Properties tables(String... keyValues) {
+        Properties properties = new Properties();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            properties.setProperty(keyValues[i], keyValues[i + 1]);
+        }
+        return properties;
+    }
+
+    private static Properties baseTables() {
+        return tables(
+                "2024-01-01.cnss.rate", "7",
+                "2024-01-01.cnss.ceiling", "6000",
+                "2024-01-01.amo.rate", "2",
+                "2024-01-01.amo.ceiling", "0",
+                "2024-01-01.ir.brackets", "0:0, 1000:10, 2000:20");
+    }
+
+    @Test
+    void incomeTaxAccumulatesLowerBrackets() {
+        RateTables.Rules rules = RateTables.compile(baseTables()).rulesFor(1, 2024, null);
+
+        assertEquals(0, rules.incomeTax(0));
+        assertEquals(0, rules.incomeTax(-500));
+        assertEquals(0, rules.incomeTax(100_000));                // 1000.00: top of the 0% bracket
+        assertEquals(5_000, rules.incomeTax(150_000));            // 500.00 at 10%
+        assertEquals(10_000, rules.incomeTax(200_000));           // 1000.00 at 10%
+        assertEquals(20_000, rules.incomeTax(250_000));           // + 500.00 at 20%
+    }
+
+    @Test
+    void contributionsAreCappedByTheirCeiling() {
+        RateTables.Rules rules = RateTables.compile(baseTables()).rulesFor(1, 2024, null);
+
+        assertEquals(35_000, rules.cnss(500_000));
+        assertEquals(42_000, rules.cnss(1_000_000));              // 7% of the 6000.00 ceiling
+        assertEquals(20_000, rules.amo(1_000_000));               // no ceiling
+    }
+
+    @Test
+    void periodBeforeTheFirstTableIsRefused() {
+        RateTables tables = RateTables.compile(baseTables());
+
+        assertThrows(IllegalArgumentException.class, () -> tables.rulesFor(12, 2023, null));
+    }
+
+    @Test
+    void versionAppliesUntilTheNextOne() {
+        Properties properties = baseTables();
+        properties.setProperty("2025-07-01.cnss.rate", "8");
+        RateTables tables = RateTables.compile(properties);
+
+        assertEquals(2, tables.getVersionCount());
+        assertEquals(7_000, tables.rulesFor(1, 2024, null).cnss(100_000));
+        assertEquals(7_000, tables.rulesFor(6, 2025, null).cnss(100_000));
+        assertEquals(8_000, tables.rulesFor(7, 2025, null).cnss(100_000));
+        assertEquals(8_000, tables.rulesFor(3, 2030, null).cnss(100_000));
+        // Rules not redefined are inherited
+        assertEquals(20_000, tables.rulesFor(7, 2025, null).incomeTax(250_000));
+    }
+
+    @Test
+    void unknownOrMissingContractFallsBackToGeneralRules() {
+        Properties properties = baseTables();
+        properties.setProperty("2024-01-01.contrat.Stage.cnss.rate", "0");
+        RateTables tables = RateTables.compile(properties);
+        RateTables.Rules general = tables.rulesFor(1, 2024, null);
+
+        assertSame(general, tables.rulesFor(1, 2024, "CDI"));
+        assertEquals(0, tables.rulesFor(1, 2024, "Stage").cnss(100_000));
+        assertEquals(0, tables.rulesFor(1, 2024, "STAGE").cnss(100_000));
+        // The other rules of the contract come from the general ones
+        assertEquals(2_000, tables.rulesFor(1, 2024, "Stage").amo(100_000));
+    }
+
+    @Test
+    void contractOverridesAreCarriedToLaterVersions() {
+        Properties properties = baseTables();
+        properties.setProperty("2024-01-01.contrat.Stage.cnss.rate", "0");
+        properties.setProperty("2025-01-01.cnss.rate", "8");
+        properties.setProperty("2025-01-01.amo.rate", "3");
+        RateTables tables = RateTables.compile(properties);
+
+        RateTables.Rules stage = tables.rulesFor(1, 2025, "Stage");
+        assertEquals(0, stage.cnss(100_000));
+        assertEquals(3_000, stage.amo(100_000)); // general change of the new version still applies
+        assertEquals(8_000, tables.rulesFor(1, 2025, null).cnss(100_000));
+    }
+
+    @Test
+    void laterContractOverrideReplacesTheInheritedOne() {
+        Properties properties = baseTables();
+        properties.setProperty("2024-01-01.contrat.Stage.cnss.rate", "0");
+        properties.setProperty("2025-01-01.contrat.stage.cnss.rate", "1");
+        RateTables tables = RateTables.compile(properties);
+
+        assertEquals(0, tables.rulesFor(12, 2024, "Stage").cnss(100_000));
+        assertEquals(1_000, tables.rulesFor(1, 2025, "Stage").cnss(100_000));
+    }
+
+    @Test
+    void invalidTablesAreRefused() {
+        Properties notFirstOfMonth = baseTables();
+        notFirstOfMonth.setProperty("2025-01-15.cnss.rate", "8");
+        assertThrows(IllegalStateException.class, () -> RateTables.compile(notFirstOfMonth));
+
+        Properties unknownRule = baseTables();
+        unknownRule.setProperty("2024-01-01.cnss.taux", "8");
+        assertThrows(IllegalStateException.class, () -> RateTables.compile(unknownRule));
+
+        Properties missingRule = baseTables();
+        missingRule.remove("2024-01-01.amo.rate");
+        assertThrows(IllegalStateException.class, () -> RateTables.compile(missingRule));
+
+        Properties decreasingBrackets = baseTables();
+        decreasingBrackets.setProperty("2024-01-01.ir.brackets", "0:0, 2000:10, 1000:20");
+        assertThrows(IllegalStateException.class, () -> RateTables.compile(decreasingBrackets));
+
+        Properties tooManyDecimals = baseTables();
+        tooManyDecimals.setProperty("2024-01-01.cnss.rate", "7.125");
+        assertThrows(IllegalStateException.class, () -> RateTables.compile(tooManyDecimals));
+
+        assertThrows(IllegalStateException.class, () -> RateTables.compile(new Properties()));
+    }
+}
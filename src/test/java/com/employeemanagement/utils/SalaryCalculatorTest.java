@@ -0,0 +1,84 @@
+package com.employeemanagement.utils;
+
+import com.employeemanagement.models.Salaire;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SalaryCalculatorTest {
+
+    private static RateTables.Rules rules(String irBrackets) {
+        Properties properties = new Properties();
+        properties.setProperty("2024-01-01.cnss.rate", "7");
+        properties.setProperty("2024-01-01.cnss.ceiling", "0");
+        properties.setProperty("2024-01-01.amo.rate", "2");
+        properties.setProperty("2024-01-01.amo.ceiling", "0");
+        properties.setProperty("2024-01-01.ir.brackets", irBrackets);
+        return RateTables.compile(properties).rulesFor(1, 2024, null);
+    }
+
+    private static Salaire salaire(double montant, double primes) {
+        return new Salaire(1, 1, 2024, montant, primes, 0);
+    }
+
+    @Test
+    void deductionsFollowTheRules() {
+        Salaire salaire = SalaryCalculator.calculateSalary(salaire(10_000, 0), rules("0:15"));
+
+        assertEquals(10_000.00, salaire.getSalaireBrut());
+        assertEquals(900.00, salaire.getCotisations());           // CNSS 700 + AMO 200
+        assertEquals(1_365.00, salaire.getRetenues());            // 15% of 9100
+        assertEquals(2_265.00, salaire.getDeductions());
+        assertEquals(7_735.00, salaire.getSalaireNet());
+    }
+
+    @Test
+    void grossIncludesOvertimePrimesAndBenefits() {
+        Salaire salaire = salaire(5_000, 250);
+        salaire.setHeuresSupplementaires(10);
+        salaire.setTauxHeuresSupplementaires(35.5);
+        salaire.setAvantages(100);
+
+        SalaryCalculator.calculateSalary(salaire, rules("0:0"));
+
+        assertEquals(5_705.00, salaire.getSalaireBrut());
+        assertEquals(513.45, salaire.getCotisations());            // 9% of 5705
+    }
+
+    @Test
+    void netPlusDeductionsEqualsGrossToTheCentime() {
+        RateTables.Rules rules = rules("0:0, 2500:10, 4166.67:20, 5000:30, 6666.67:34, 15000:38");
+        double[] amounts = {0.01, 1_234.565, 3_333.33, 4_166.675, 9_999.99, 27_182.81};
+        for (double montant : amounts) {
+            Salaire salaire = SalaryCalculator.calculateSalary(salaire(montant, 0.005), rules);
+
+            assertEquals(Money.ofDouble(salaire.getSalaireBrut()),
+                    Money.ofDouble(salaire.getSalaireNet()) + Money.ofDouble(salaire.getDeductions()),
+                    "montant " + montant);
+            assertEquals(Money.ofDouble(salaire.getDeductions()),
+                    Money.ofDouble(salaire.getCotisations()) + Money.ofDouble(salaire.getRetenues()),
+                    "montant " + montant);
+        }
+    }
+
+    @Test
+    void componentsAreRoundedHalfAwayFromZero() {
+        // 0.005 primes round up to one centime before the rates are applied
+        Salaire salaire = SalaryCalculator.calculateSalary(salaire(0.10, 0.005), rules("0:0"));
+
+        assertEquals(0.11, salaire.getSalaireBrut());
+        assertEquals(0.01, salaire.getCotisations());             // 0.77 + 0.22 centimes, each rounded
+        assertEquals(0.10, salaire.getSalaireNet());
+    }
+
+    @Test
+    void bundledTablesApplyToUnknownContracts() {
+        Salaire general = SalaryCalculator.calculateSalary(salaire(10_000, 0));
+        Salaire cdd = SalaryCalculator.calculateSalary(salaire(10_000, 0), "CDD");
+
+        assertEquals(general.getSalaireNet(), cdd.getSalaireNet());
+        assertEquals(general.getDeductions(), cdd.getDeductions());
+    }
+}
@@ -0,0 +1,150 @@
+-- Upgrades an existing employee_management database to the current schema without losing data.
+-- Safe to run several times: each step checks what is already there (setup.sql, by contrast,
+-- drops and recreates every table and is only meant for new installations).
+--   mysql -u root -p < upgrade.sql
+USE employee_management;
+
+DROP PROCEDURE IF EXISTS upgrade_add_column;
+DROP PROCEDURE IF EXISTS upgrade_add_key;
+
+DELIMITER //
+
+-- Adds a column unless the table already has it
+CREATE PROCEDURE upgrade_add_column(IN p_table VARCHAR(64), IN p_column VARCHAR(64), IN p_definition TEXT)
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.COLUMNS
+                   WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = p_table AND COLUMN_NAME = p_column) THEN
+        SET @upgrade_ddl = CONCAT('ALTER TABLE ', p_table, ' ADD COLUMN ', p_column, ' ', p_definition);
+        PREPARE upgrade_stmt FROM @upgrade_ddl;
+        EXECUTE upgrade_stmt;
+        DEALLOCATE PREPARE upgrade_stmt;
+    END IF;
+END //
+
+-- Adds an index (p_definition: 'KEY name (...)' or 'UNIQUE KEY name (...)') unless it exists
+CREATE PROCEDURE upgrade_add_key(IN p_table VARCHAR(64), IN p_key VARCHAR(64), IN p_definition TEXT)
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.STATISTICS
+                   WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = p_table AND INDEX_NAME = p_key) THEN
+        SET @upgrade_ddl = CONCAT('ALTER TABLE ', p_table, ' ADD ', p_definition);
+        PREPARE upgrade_stmt FROM @upgrade_ddl;
+        EXECUTE upgrade_stmt;
+        DEALLOCATE PREPARE upgrade_stmt;
+    END IF;
+END //
+
+DELIMITER ;
+
+-- One pointage per employee and day, required by the PointageDAO upserts (saveAll, upsertAll).
+-- Duplicates are removed first, keeping the most recent row of each employee and day; the removed
+-- rows are copied to pointage_doublon so that they can be checked and restored by hand.
+CREATE TABLE IF NOT EXISTS pointage_doublon (
+    idPointage INT PRIMARY KEY,
+    idEmploye INT NOT NULL,
+    date DATE NOT NULL,
+    heureArrivee TIME NOT NULL,
+    heureDepart TIME,
+    dateArchivage TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)
+);
+INSERT INTO pointage_doublon (idPointage, idEmploye, date, heureArrivee, heureDepart)
+SELECT older.idPointage, older.idEmploye, older.date, older.heureArrivee, older.heureDepart
+FROM pointage older
+WHERE EXISTS (SELECT 1 FROM pointage newer
+              WHERE newer.idEmploye = older.idEmploye AND newer.date = older.date
+                  AND newer.idPointage > older.idPointage);
+SELECT CONCAT(ROW_COUNT(), ' pointage(s) en double archivé(s) dans pointage_doublon') AS message;
+DELETE older FROM pointage older
+    JOIN pointage_doublon archived ON archived.idPointage = older.idPointage;
+CALL upgrade_add_key('pointage', 'uk_pointage_employe_date', 'UNIQUE KEY uk_pointage_employe_date (idEmploye, date)');
+
+-- One salary per employee and month, required by the SalaireDAO upsert used by payroll runs.
+-- Duplicates are removed first, keeping the most recent row of each employee and month; the removed
+-- rows are copied to salaire_doublon so that they can be checked and restored by hand.
+CREATE TABLE IF NOT EXISTS salaire_doublon (
+    idSalaire INT PRIMARY KEY,
+    idEmploye INT NOT NULL,
+    mois INT NOT NULL,
+    annee INT NOT NULL,
+    salaireBrut DECIMAL(10,2) NOT NULL,
+    deductions DECIMAL(10,2) NOT NULL,
+    salaireNet DECIMAL(10,2) NOT NULL,
+    datePaiement DATE NOT NULL,
+    dateArchivage TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)
+);
+INSERT INTO salaire_doublon (idSalaire, idEmploye, mois, annee, salaireBrut, deductions, salaireNet, datePaiement)
+SELECT older.idSalaire, older.idEmploye, older.mois, older.annee, older.salaireBrut, older.deductions,
+       older.salaireNet, older.datePaiement
+FROM salaire older
+WHERE EXISTS (SELECT 1 FROM salaire newer
+              WHERE newer.idEmploye = older.idEmploye AND newer.annee = older.annee
+                  AND newer.mois = older.mois AND newer.idSalaire > older.idSalaire);
+SELECT CONCAT(ROW_COUNT(), ' salaire(s) en double archivé(s) dans salaire_doublon') AS message;
+DELETE older FROM salaire older
+    JOIN salaire_doublon archived ON archived.idSalaire = older.idSalaire;
+CALL upgrade_add_key('salaire', 'uk_salaire_employe_periode', 'UNIQUE KEY uk_salaire_employe_periode (idEmploye, annee, mois)');
+
+-- Keyset pagination indexes used by the DAO findPage queries
+CALL upgrade_add_key('service', 'idx_service_nom', 'KEY idx_service_nom (nom, idService)');
+CALL upgrade_add_key('employe', 'idx_employe_statut_nom', 'KEY idx_employe_statut_nom (statut, nom, prenom, idEmploye)');
+CALL upgrade_add_key('salaire', 'idx_salaire_periode', 'KEY idx_salaire_periode (annee, mois, idSalaire)');
+CALL upgrade_add_key('pointage', 'idx_pointage_date', 'KEY idx_pointage_date (date, idPointage)');
+
+-- Change tracking for the incremental table refreshes (see DAO findChangesSince)
+CALL upgrade_add_column('service', 'dateModification', 'TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3)');
+CALL upgrade_add_column('employe', 'dateModification', 'TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3)');
+CALL upgrade_add_column('utilisateur', 'dateModification', 'TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3)');
+CALL upgrade_add_column('salaire', 'dateModification', 'TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3)');
+CALL upgrade_add_column('pointage', 'dateModification', 'TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3)');
+CALL upgrade_add_key('service', 'idx_service_modification', 'KEY idx_service_modification (dateModification)');
+CALL upgrade_add_key('employe', 'idx_employe_modification', 'KEY idx_employe_modification (dateModification)');
+CALL upgrade_add_key('utilisateur', 'idx_utilisateur_modification', 'KEY idx_utilisateur_modification (dateModification)');
+CALL upgrade_add_key('salaire', 'idx_salaire_modification', 'KEY idx_salaire_modification (dateModification)');
+CALL upgrade_add_key('pointage', 'idx_pointage_modification', 'KEY idx_pointage_modification (dateModification)');
+
+-- Deleted rows
+CREATE TABLE IF NOT EXISTS suppression (
+    idSuppression BIGINT PRIMARY KEY AUTO_INCREMENT,
+    nomTable VARCHAR(30) NOT NULL,
+    idLigne INT NOT NULL,
+    dateSuppression TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    KEY idx_suppression_table_date (nomTable, dateSuppression)
+);
+
+DROP TRIGGER IF EXISTS trg_service_suppression;
+CREATE TRIGGER trg_service_suppression AFTER DELETE ON service
+    FOR EACH ROW INSERT INTO suppression (nomTable, idLigne) VALUES ('service', OLD.idService);
+DROP TRIGGER IF EXISTS trg_employe_suppression;
+CREATE TRIGGER trg_employe_suppression AFTER DELETE ON employe
+    FOR EACH ROW INSERT INTO suppression (nomTable, idLigne) VALUES ('employe', OLD.idEmploye);
+DROP TRIGGER IF EXISTS trg_utilisateur_suppression;
+CREATE TRIGGER trg_utilisateur_suppression AFTER DELETE ON utilisateur
+    FOR EACH ROW INSERT INTO suppression (nomTable, idLigne) VALUES ('utilisateur', OLD.idUtilisateur);
+DROP TRIGGER IF EXISTS trg_salaire_suppression;
+CREATE TRIGGER trg_salaire_suppression AFTER DELETE ON salaire
+    FOR EACH ROW INSERT INTO suppression (nomTable, idLigne) VALUES ('salaire', OLD.idSalaire);
+DROP TRIGGER IF EXISTS trg_pointage_suppression;
+CREATE TRIGGER trg_pointage_suppression AFTER DELETE ON pointage
+    FOR EACH ROW INSERT INTO suppression (nomTable, idLigne) VALUES ('pointage', OLD.idPointage);
+
+-- Keep deletions for db.changeRetentionDays (7). Only runs when the server has event_scheduler=ON.
+DROP EVENT IF EXISTS evt_purge_suppression;
+CREATE EVENT evt_purge_suppression ON SCHEDULE EVERY 1 DAY
+    DO DELETE FROM suppression WHERE dateSuppression < NOW(3) - INTERVAL 7 DAY;
+
+-- Payroll run journal: a run interrupted before TERMINEE is resumed after dernierEmploye (see PayrollRunner)
+CREATE TABLE IF NOT EXISTS paie_execution (
+    idExecution INT PRIMARY KEY AUTO_INCREMENT,
+    mois INT NOT NULL,
+    annee INT NOT NULL,
+    statut VARCHAR(20) NOT NULL,
+    dernierEmploye INT NOT NULL DEFAULT 0,
+    traites INT NOT NULL DEFAULT 0,
+    echecs INT NOT NULL DEFAULT 0,
+    dateDebut TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    dateModification TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    dateFin TIMESTAMP(3) NULL,
+    KEY idx_paie_execution_periode (annee, mois, idExecution)
+);
+
+DROP PROCEDURE upgrade_add_column;
+DROP PROCEDURE upgrade_add_key;